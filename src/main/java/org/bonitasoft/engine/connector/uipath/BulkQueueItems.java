@@ -0,0 +1,139 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bonitasoft.engine.connector.ConnectorException;
+import org.bonitasoft.engine.connector.uipath.model.BulkAddQueueItemsRequest;
+import org.bonitasoft.engine.connector.uipath.model.CommitType;
+import org.bonitasoft.engine.connector.uipath.model.FailedQueueItem;
+import org.bonitasoft.engine.connector.uipath.model.QueueDefinition;
+import org.bonitasoft.engine.connector.uipath.model.QueueItem;
+import org.bonitasoft.engine.connector.uipath.model.QueueItemRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Adds items to a queue with <code>BulkAddQueueItems</code>, and looks up the added items since the bulk endpoint only
+ * reports the items it rejected. References are not unique within a queue, so an added item is identified by its
+ * reference among the items created after the last item of the queue seen before the call.
+ */
+final class BulkQueueItems {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkQueueItems.class.getName());
+
+    private static final int REFERENCE_LOOKUP_SIZE = 50;
+    private static final String QUEUE_ITEM_FIELDS = "Id,Key,Reference";
+    private static final String LAST_ITEM_ORDER = "Id desc";
+
+    private final UIPathClient client;
+    private final String queueName;
+    private volatile Long queueDefinitionId;
+
+    BulkQueueItems(UIPathClient client, String queueName) {
+        this.client = client;
+        this.queueName = queueName;
+    }
+
+    String getQueueName() {
+        return queueName;
+    }
+
+    /**
+     * @return the items that could not be added
+     */
+    List<FailedQueueItem> add(Map<String, String> headers, List<QueueItemRequest> items, CommitType commitType)
+            throws ConnectorException {
+        BulkAddQueueItemsRequest request = new BulkAddQueueItemsRequest()
+                .setQueueName(queueName)
+                .setCommitType(commitType.toString())
+                .setQueueItems(items);
+        List<FailedQueueItem> failures = UIPathClient.await(client.bulkAddQueueItems(headers, request));
+        return failures != null ? failures : Collections.emptyList();
+    }
+
+    /**
+     * To be called before {@link #add(Map, List, CommitType)}.
+     *
+     * @return the id of the most recent item of the queue, 0 when it has none, or <code>null</code> when the queue
+     *         does not exist
+     */
+    Long lastItemId(Map<String, String> headers) throws ConnectorException {
+        Long definitionId = queueDefinitionId(headers);
+        if (definitionId == null) {
+            return null;
+        }
+        List<QueueItem> lastItems = UIPathClient.await(client.queueItems(headers,
+                ODataFilters.eq("QueueDefinitionId", definitionId), "Id", LAST_ITEM_ORDER, 1));
+        return lastItems.isEmpty() ? 0L : lastItems.get(0).getId();
+    }
+
+    /**
+     * @param lastItemId the {@link #lastItemId(Map)} read before the items were added
+     * @return the items created since <code>lastItemId</code>, by reference. A reference shared by several of them,
+     *         e.g. because another client added an item with the same reference meanwhile, is ambiguous and left out.
+     */
+    Map<String, QueueItem> itemsAddedAfter(Map<String, String> headers, long lastItemId,
+            Collection<String> references) throws ConnectorException {
+        if (references.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Long definitionId = queueDefinitionId(headers);
+        if (definitionId == null) {
+            return Collections.emptyMap();
+        }
+        String queueFilter = ODataFilters.and(ODataFilters.eq("QueueDefinitionId", definitionId),
+                ODataFilters.gt("Id", lastItemId));
+        List<String> lookups = new ArrayList<>(references);
+        Map<String, QueueItem> items = new HashMap<>();
+        Set<String> ambiguous = new HashSet<>();
+        for (int from = 0; from < lookups.size(); from += REFERENCE_LOOKUP_SIZE) {
+            List<String> lookup = lookups.subList(from, Math.min(from + REFERENCE_LOOKUP_SIZE, lookups.size()));
+            for (QueueItem item : UIPathClient.await(client.queueItems(headers,
+                    ODataFilters.and(queueFilter, ODataFilters.in("Reference", lookup)), QUEUE_ITEM_FIELDS, null,
+                    null))) {
+                if (items.putIfAbsent(item.getReference(), item) != null) {
+                    ambiguous.add(item.getReference());
+                }
+            }
+        }
+        if (!ambiguous.isEmpty()) {
+            LOGGER.warn("Several items of queue '{}' were added with reference(s) {}, they are not reported.",
+                    queueName, ambiguous);
+            items.keySet().removeAll(ambiguous);
+        }
+        return items;
+    }
+    private Long queueDefinitionId(Map<String, String> headers) throws ConnectorException {
+        if (queueDefinitionId == null) {
+            List<QueueDefinition> definitions = UIPathClient.await(client.queueDefinitions(headers,
+                    ODataFilters.eq("Name", queueName), "Id"));
+            if (!definitions.isEmpty()) {
+                queueDefinitionId = definitions.get(0).getId();
+            }
+        }
+        return queueDefinitionId;
+    }
+
+}
@@ -0,0 +1,269 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.bonitasoft.engine.connector.ConnectorException;
+import org.bonitasoft.engine.connector.uipath.client.ConnectorSettings;
+import org.bonitasoft.engine.connector.uipath.client.SharedExecutors;
+import org.bonitasoft.engine.connector.uipath.model.Job;
+import org.bonitasoft.engine.connector.uipath.model.JobState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process-wide watcher of running jobs. Every tick, the jobs watched on a tenant are checked with one
+ * <code>odata/Jobs?$filter=Id in (...) and State in (...)</code> query per chunk of ids, which only returns the jobs
+ * that reached a terminal state. The load on the Orchestrator grows with the number of tenants, not of jobs.
+ * <p>
+ * When the {@link WebhookReceiver} is running, jobs are completed from pushed events and ticks are spaced by the
+ * webhook fallback interval, only to catch the events that were missed.
+ */
+final class JobStatusPoller {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobStatusPoller.class.getName());
+
+    static final String TERMINAL_STATES_FILTER = ODataFilters.in("State", Arrays.asList(
+            JobState.SUCCESSFUL.toString(), JobState.FAULTED.toString(), JobState.STOPPED.toString()));
+
+    private static final JobStatusPoller SHARED = new JobStatusPoller(
+            () -> WebhookReceiver.isRunning() ? ConnectorSettings.webhookFallbackPollInterval()
+                    : ConnectorSettings.jobPollInterval(),
+            SharedExecutors.scheduler(), SharedExecutors.background());
+
+    /**
+     * Provides fresh authentication headers at each tick, as watched jobs may outlive a token.
+     */
+    @FunctionalInterface
+    interface HeadersProvider {
+
+        Map<String, String> headers() throws ConnectorException;
+    }
+
+    private final ConcurrentMap<List<String>, TenantJobs> tenants = new ConcurrentHashMap<>();
+    private final Supplier<Duration> interval;
+    private final ScheduledExecutorService scheduler;
+    private final Executor executor;
+
+    JobStatusPoller(Supplier<Duration> interval, ScheduledExecutorService scheduler, Executor executor) {
+        this.interval = interval;
+        this.scheduler = scheduler;
+        this.executor = executor;
+    }
+
+    static JobStatusPoller shared() {
+        return SHARED;
+    }
+
+    /**
+     * The client and headers of the latest caller are used for the next ticks of the tenant, and released once no
+     * job is watched on it anymore.
+     *
+     * @param jobKey the key of the job, if known, that pushed events must carry to complete it
+     * @return a future completed with the job once it reaches a terminal state. Cancelling it stops watching the job
+     *         for this caller.
+     */
+    CompletableFuture<Job> watch(List<String> tenantKey, UIPathClient client, HeadersProvider headers,
+            long jobId, String jobKey) {
+        CompletableFuture<Job> future = new CompletableFuture<>();
+        // registered while holding the tenant entry, so that an idle tenant cannot be evicted in between
+        TenantJobs jobs = tenants.compute(tenantKey, (key, existing) -> {
+            TenantJobs tenantJobs = existing != null ? existing : new TenantJobs(key);
+            tenantJobs.client = client.withoutDeadline();
+            tenantJobs.headers = headers;
+            tenantJobs.add(jobId, jobKey, future);
+            return tenantJobs;
+        });
+        jobs.scheduleTick();
+        return future;
+    }
+
+    /**
+     * Completes the callers waiting for a job known to be finished without waiting for the next tick.
+     *
+     * @return true if someone was waiting for this job
+     */
+    boolean complete(List<String> tenantKey, Job job) {
+        TenantJobs jobs = tenants.get(tenantKey);
+        return jobs != null && jobs.complete(job);
+    }
+
+    /**
+     * Completes the callers waiting for a job on the tenants the job may belong to, for sources that cannot tell
+     * which one it is. Job ids are only unique within a tenant, so the job must also carry the key of the watched
+     * job when it is known.
+     *
+     * @return true if someone was waiting for this job
+     */
+    boolean complete(Predicate<List<String>> tenantFilter, Job job) {
+        boolean completed = false;
+        for (TenantJobs jobs : tenants.values()) {
+            if (tenantFilter.test(jobs.key)) {
+                completed |= jobs.completeMatching(job);
+            }
+        }
+        return completed;
+    }
+
+    int watchedJobs() {
+        return tenants.values().stream().mapToInt(jobs -> jobs.waiters.size()).sum();
+    }
+
+    int watchedTenants() {
+        return tenants.size();
+    }
+
+    void clear() {
+        tenants.values().forEach(jobs -> jobs.waiters.values()
+                .forEach(futures -> futures.forEach(future -> future.cancel(false))));
+        tenants.clear();
+    }
+
+    private final class TenantJobs {
+
+        private final List<String> key;
+        private final ConcurrentMap<Long, Set<CompletableFuture<Job>>> waiters = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Long, String> jobKeys = new ConcurrentHashMap<>();
+        private final AtomicBoolean tickScheduled = new AtomicBoolean();
+        private volatile UIPathClient client;
+        private volatile HeadersProvider headers;
+
+        TenantJobs(List<String> key) {
+            this.key = key;
+        }
+
+        /**
+         * The future is added within the mapping of the job, so that {@link #complete(Job)} either sees it or has
+         * already removed the mapping.
+         */
+        void add(long jobId, String jobKey, CompletableFuture<Job> future) {
+            waiters.compute(jobId, (id, futures) -> {
+                Set<CompletableFuture<Job>> jobFutures = futures != null ? futures : ConcurrentHashMap.newKeySet();
+                jobFutures.add(future);
+                if (jobKey != null) {
+                    jobKeys.put(id, jobKey);
+                }
+                return jobFutures;
+            });
+            future.whenComplete((job, error) -> {
+                if (error != null) {
+                    waiters.computeIfPresent(jobId, (id, futures) -> {
+                        futures.remove(future);
+                        if (futures.isEmpty()) {
+                            jobKeys.remove(id);
+                            return null;
+                        }
+                        return futures;
+                    });
+                }
+            });
+        }
+
+        boolean complete(Job job) {
+            Long jobId = Long.valueOf(job.getId());
+            Set<CompletableFuture<Job>> futures = waiters.remove(jobId);
+            if (futures == null) {
+                return false;
+            }
+            jobKeys.remove(jobId);
+            futures.forEach(future -> future.complete(job));
+            return true;
+        }
+
+        /**
+         * Only completes the watched job if it has the same key, or if its key is unknown.
+         */
+        boolean completeMatching(Job job) {
+            String jobKey = jobKeys.get(Long.valueOf(job.getId()));
+            if (jobKey != null && !jobKey.equals(job.getKey())) {
+                return false;
+            }
+            return complete(job);
+        }
+
+        void scheduleTick() {
+            if (tickScheduled.compareAndSet(false, true)) {
+                scheduler.schedule(() -> executor.execute(this::tick), interval.get().toMillis(),
+                        TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private void tick() {
+            CompletableFuture<Void> polled;
+            try {
+                polled = poll();
+            } catch (ConnectorException | RuntimeException e) {
+                polled = CompletableFuture.failedFuture(e);
+            }
+            polled.whenComplete((result, error) -> {
+                if (error != null) {
+                    LOGGER.warn("Failed to check the state of {} watched job(s), retrying at next tick.",
+                            waiters.size(), error);
+                }
+                tickScheduled.set(false);
+                if (!waiters.isEmpty()) {
+                    scheduleTick();
+                } else {
+                    evictIfIdle();
+                }
+            });
+        }
+
+        /**
+         * Drops the tenant, and with it the client and headers of the last caller, unless a job was registered in
+         * the meantime.
+         */
+        private void evictIfIdle() {
+            tenants.computeIfPresent(key, (k, jobs) -> jobs == this && waiters.isEmpty() ? null : jobs);
+        }
+
+        /**
+         * Chunks are queried concurrently, the tick ends when all of them are answered.
+         */
+        private CompletableFuture<Void> poll() throws ConnectorException {
+            List<Long> ids = new ArrayList<>(waiters.keySet());
+            if (ids.isEmpty()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            Map<String, String> requestHeaders = headers.headers();
+            List<CompletableFuture<Void>> chunks = new ArrayList<>();
+            for (int from = 0; from < ids.size(); from += UIPathGetJobsConnector.JOB_IDS_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from,
+                        Math.min(from + UIPathGetJobsConnector.JOB_IDS_CHUNK_SIZE, ids.size()));
+                chunks.add(client.jobs(requestHeaders,
+                        ODataFilters.and(ODataFilters.in("Id", chunk), TERMINAL_STATES_FILTER),
+                        UIPathGetJobConnector.JOB_FIELDS, null, null)
+                        .thenAccept(jobs -> jobs.forEach(this::complete)));
+            }
+            return CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0]));
+        }
+    }
+
+}
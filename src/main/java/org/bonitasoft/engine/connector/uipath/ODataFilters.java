@@ -0,0 +1,57 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Builds OData <code>$filter</code> expressions sent to the Orchestrator.
+ */
+final class ODataFilters {
+
+    private ODataFilters() {
+    }
+
+    static String eq(String property, Object value) {
+        return String.format("%s eq %s", property, literal(value));
+    }
+
+    static String gt(String property, Object value) {
+        return String.format("%s gt %s", property, literal(value));
+    }
+
+    static String in(String property, Collection<?> values) {
+        return String.format("%s in (%s)", property, values.stream()
+                .map(ODataFilters::literal)
+                .collect(Collectors.joining(",")));
+    }
+
+    static String and(String... expressions) {
+        return Stream.of(expressions)
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(" and "));
+    }
+
+    static String literal(Object value) {
+        if (value instanceof Number) {
+            return value.toString();
+        }
+        return "'" + String.valueOf(value).replace("'", "''") + "'";
+    }
+
+}
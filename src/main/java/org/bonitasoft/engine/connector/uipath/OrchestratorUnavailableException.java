@@ -0,0 +1,44 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath;
+
+import java.time.Instant;
+
+import org.bonitasoft.engine.connector.ConnectorException;
+import org.bonitasoft.engine.connector.uipath.client.CircuitBreakerOpenException;
+
+/**
+ * An Orchestrator call refused without being sent, because recent calls to the same Orchestrator mostly failed or
+ * were too slow.
+ */
+public class OrchestratorUnavailableException extends ConnectorException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Instant retryAt;
+
+    public OrchestratorUnavailableException(String message, CircuitBreakerOpenException cause) {
+        super(String.format("%s: %s", message, cause.getMessage()), cause);
+        this.retryAt = cause.getRetryAt();
+    }
+
+    /**
+     * @return the instant from which calls to the Orchestrator are attempted again
+     */
+    public Instant getRetryAt() {
+        return retryAt;
+    }
+
+}
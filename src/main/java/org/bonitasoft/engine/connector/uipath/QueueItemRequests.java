@@ -0,0 +1,85 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.stream.Collectors;
+
+import org.bonitasoft.engine.connector.ConnectorValidationException;
+import org.bonitasoft.engine.connector.uipath.converters.JsonMappers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+/**
+ * Validation and conversion rules shared by the connectors adding items to a queue.
+ */
+final class QueueItemRequests {
+
+    static final int MAX_REF_LENGTH = 128;
+
+    private QueueItemRequests() {
+    }
+
+    static void checkReference(String reference) throws ConnectorValidationException {
+        if (reference != null && reference.length() > MAX_REF_LENGTH) {
+            throw new ConnectorValidationException(
+                    String.format(
+                            "The maximum length of a queue item reference is %s characters. '%s' is too long (%s chars)",
+                            MAX_REF_LENGTH, reference, reference.length()));
+        }
+    }
+
+    static void checkDateFormat(String dateValue, String input) throws ConnectorValidationException {
+        if (dateValue == null) {
+            return;
+        }
+        try {
+            OffsetDateTime.parse(dateValue);
+        } catch (DateTimeParseException e) {
+            throw new ConnectorValidationException(String
+                    .format("Invalid date format for input '%s'. ISO-8601 date format is expected but found '%s'",
+                            input, dateValue));
+        }
+    }
+
+    /**
+     * Converts a queue item content to its <code>SpecificContent</code>: complex values are serialized in a JSON
+     * string.
+     */
+    static Map<String, Object> specificContent(Map<Object, Object> content) {
+        return content.entrySet().stream().collect(Collectors.toMap(
+                entry -> entry.getKey().toString(),
+                Entry<Object, Object>::getValue))
+                .entrySet()
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey,
+                        e -> {
+                            try {
+                                return isPrimitive(e.getValue()) ? e.getValue()
+                                        : JsonMappers.writer().writeValueAsString(e.getValue());
+                            } catch (JsonProcessingException e1) {
+                                return null;
+                            }
+                        }));
+    }
+
+    private static boolean isPrimitive(Object value) {
+        return value != null && (value instanceof String || value.getClass().isPrimitive());
+    }
+
+}
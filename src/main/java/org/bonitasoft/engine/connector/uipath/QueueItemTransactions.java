@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import org.bonitasoft.engine.connector.ConnectorException;
+import org.bonitasoft.engine.connector.uipath.client.ConnectorSettings;
+import org.bonitasoft.engine.connector.uipath.model.QueueItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Waits for the transactions of added queue items through the <code>queueItem.transactionCompleted</code> events of
+ * the {@link WebhookReceiver}. The items are looked up once after registering, so that a transaction completed before
+ * the registration is not missed.
+ */
+final class QueueItemTransactions {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueueItemTransactions.class.getName());
+
+    static final Set<String> FINAL_STATUSES = new HashSet<>(
+            Arrays.asList("Successful", "Failed", "Abandoned", "Retried", "Deleted"));
+
+    private static final int ID_LOOKUP_SIZE = 50;
+    private static final String STATUS_FIELDS = "Id,Key,Status";
+
+    private QueueItemTransactions() {
+    }
+
+    /**
+     * To be called before adding the items, so that nothing is added when the transactions cannot be awaited.
+     */
+    static WebhookReceiver receiver() throws ConnectorException {
+        if (!WebhookReceiver.startIfConfigured()) {
+            throw new ConnectorException(String.format(
+                    "Waiting for queue item transactions requires the webhook receiver, see system properties '%s' "
+                            + "and '%s'.",
+                    ConnectorSettings.WEBHOOK_PORT, ConnectorSettings.WEBHOOK_SECRET));
+        }
+        return WebhookReceiver.shared();
+    }
+
+    /**
+     * @param items the added items, <code>null</code> for the items that were not added or could not be found back
+     * @return the final status of each item, in the same order, <code>null</code> for the <code>null</code> items and
+     *         the items without key
+     * @throws UIPathTimeoutException when a transaction is not completed within <code>timeout</code>
+     */
+    static List<String> await(WebhookReceiver receiver, List<String> tenantKey, UIPathClient client,
+            Map<String, String> headers, List<QueueItem> items, Duration timeout) throws ConnectorException {
+        Map<Long, CompletableFuture<QueueItem>> futures = new HashMap<>();
+        for (QueueItem item : items) {
+            if (item != null && item.getKey() != null) {
+                futures.computeIfAbsent(item.getId(), id -> receiver.awaitQueueItem(tenantKey, item.getKey()));
+            }
+        }
+        try {
+            completeFinished(client, headers, futures);
+            long deadline = System.nanoTime() + timeout.toNanos();
+            List<String> statuses = new ArrayList<>();
+            for (QueueItem item : items) {
+                CompletableFuture<QueueItem> future = item != null ? futures.get(item.getId()) : null;
+                statuses.add(future != null ? future.get(Math.max(0, deadline - System.nanoTime()),
+                        TimeUnit.NANOSECONDS).getStatus() : null);
+            }
+            return statuses;
+        } catch (TimeoutException e) {
+            List<Long> pending = futures.entrySet().stream()
+                    .filter(entry -> !entry.getValue().isDone())
+                    .map(Map.Entry::getKey)
+                    .sorted()
+                    .collect(Collectors.toList());
+            throw new UIPathTimeoutException(String.format(
+                    "Transaction of queue item(s) %s did not complete within %s ms.", pending, timeout.toMillis()), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectorException("Interrupted while waiting for queue item transactions.", e);
+        } catch (ExecutionException e) {
+            throw new ConnectorException("Failed to wait for queue item transactions.", e.getCause());
+        } finally {
+            futures.values().forEach(future -> future.cancel(false));
+        }
+    }
+
+    /**
+     * The lookup is best effort: the items it misses are still completed by their event.
+     */
+    private static void completeFinished(UIPathClient client, Map<String, String> headers,
+            Map<Long, CompletableFuture<QueueItem>> futures) {
+        List<Long> ids = new ArrayList<>(futures.keySet());
+        for (int from = 0; from < ids.size(); from += ID_LOOKUP_SIZE) {
+            List<Long> lookup = ids.subList(from, Math.min(from + ID_LOOKUP_SIZE, ids.size()));
+            try {
+                for (QueueItem item : UIPathClient.await(client.queueItems(headers, ODataFilters.in("Id", lookup),
+                        STATUS_FIELDS, null, null))) {
+                    CompletableFuture<QueueItem> future = futures.get(item.getId());
+                    if (future != null && FINAL_STATUSES.contains(item.getStatus())) {
+                        future.complete(item);
+                    }
+                }
+            } catch (ConnectorException e) {
+                LOGGER.warn("Failed to look up the status of queue item(s) {}", lookup, e);
+            }
+        }
+    }
+
+}
@@ -14,29 +14,41 @@
  */
 package org.bonitasoft.engine.connector.uipath;
 
-import java.io.IOException;
-import java.time.OffsetDateTime;
-import java.time.format.DateTimeParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import org.bonitasoft.engine.connector.ConnectorException;
 import org.bonitasoft.engine.connector.ConnectorValidationException;
+import org.bonitasoft.engine.connector.uipath.client.ConnectorSettings;
+import org.bonitasoft.engine.connector.uipath.client.MicroBatcher;
+import org.bonitasoft.engine.connector.uipath.client.MicroBatcher.BatchedItem;
 import org.bonitasoft.engine.connector.uipath.model.AddToQueueRequest;
+import org.bonitasoft.engine.connector.uipath.model.CommitType;
+import org.bonitasoft.engine.connector.uipath.model.FailedQueueItem;
 import org.bonitasoft.engine.connector.uipath.model.Priority;
 import org.bonitasoft.engine.connector.uipath.model.QueueItem;
 import org.bonitasoft.engine.connector.uipath.model.QueueItemRequest;
-
-import com.fasterxml.jackson.core.JsonProcessingException;
-
-import retrofit2.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class UIPathAddToQueueConnector extends UIPathConnector {
 
-    private static final int MAX_REF_LENGTH = 128;
+    private static final Logger LOGGER = LoggerFactory.getLogger(UIPathAddToQueueConnector.class.getName());
+
     static final String QUEUE_NAME = "queueName";
     static final String REFERENCE_INPUT = "reference";
     static final String QUEUE_CONTENT = "queueContent";
@@ -45,78 +57,208 @@ public class UIPathAddToQueueConnector extends UIPathConnector {
     static final String DEFER_DATE_INPUT = "deferDate";
     static final String ITEM_ID_OUTPUT = "itemId";
     static final String ITEM_KEY_OUTPUT = "itemKey";
+    static final String BATCHING_INPUT = "batching";
+    static final String WAIT_FOR_TRANSACTION_INPUT = "waitForTransaction";
+    static final String TRANSACTION_TIMEOUT_INPUT = "transactionTimeoutSeconds";
+    static final String ITEM_STATUS_OUTPUT = "itemStatus";
+
+    static final int DEFAULT_TRANSACTION_TIMEOUT = 300;
+
+    /**
+     * Batchers shared by the executions adding items to the same queue of the same tenant, dropped once idle for
+     * {@link ConnectorSettings#queueBatchIdleTimeout()}.
+     */
+    private static final ConcurrentMap<List<Object>, MicroBatcher<BatchRequest, QueueItem>> BATCHERS =
+            new ConcurrentHashMap<>();
 
     @Override
     public void validateInputParameters() throws ConnectorValidationException {
         super.validateInputParameters();
         checkMandatoryStringInput(QUEUE_NAME);
-        Optional<String> reference = getReference();
-        if (reference.isPresent()) {
-            String refValue = reference.get();
-            if (refValue.length() > MAX_REF_LENGTH) {
-                throw new ConnectorValidationException(
-                        String.format(
-                                "The maximum length of a queue item reference is %s characters. '%s' is too long (%s chars)",
-                                MAX_REF_LENGTH, refValue, refValue.length()));
-            }
-        }
-        Optional<String> dueDate = getDueDate();
-        if (dueDate.isPresent()) {
-            validateDateFormat(dueDate.get(), DUE_DATE_INPUT);
-        }
-        Optional<String> deferDate = getDeferDate();
-        if (deferDate.isPresent()) {
-            validateDateFormat(deferDate.get(), DEFER_DATE_INPUT);
-        }
-    }
-
-    private void validateDateFormat(String dateValue, String input) throws ConnectorValidationException {
-        try {
-            OffsetDateTime.parse(dateValue);
-        } catch (DateTimeParseException e) {
-            throw new ConnectorValidationException(String
-                    .format("Invalid date format for input '%s'. ISO-8601 date format is expected but found '%s'",
-                            input, dateValue));
-        }
+        QueueItemRequests.checkReference(getReference().orElse(null));
+        QueueItemRequests.checkDateFormat(getDueDate().orElse(null), DUE_DATE_INPUT);
+        QueueItemRequests.checkDateFormat(getDeferDate().orElse(null), DEFER_DATE_INPUT);
+        checkPositiveIntegerInput(TRANSACTION_TIMEOUT_INPUT);
     }
 
+    /**
+     * When waiting for the transaction, the item status output is set once a robot completed the transaction of the
+     * added item, as notified by the {@link WebhookReceiver}.
+     */
     @Override
     protected void executeBusinessLogic() throws ConnectorException {
+        WebhookReceiver receiver = isWaitingForTransaction() ? QueueItemTransactions.receiver() : null;
         String token = authenticate();
         QueueItemRequest itemData = new QueueItemRequest()
                 .setName(getQueueName())
                 .setPriority(getPriority());
         getReference().ifPresent(itemData::setReference);
-        Optional<Map<Object, Object>> content = getContent();
-        if (content.isPresent()) {
-            Map<String, Object> contentMap = content.get().entrySet().stream().collect(Collectors.toMap(
-                    entry -> entry.getKey().toString(),
-                    Entry<Object, Object>::getValue));
-            itemData.setContent(contentMap.entrySet()
-                    .stream()
-                    .collect(Collectors.toMap(Map.Entry::getKey,
-                            e -> {
-                                try {
-                                    return isPrimitive(e.getValue()) ? e.getValue()
-                                            : mapper.writeValueAsString(e.getValue());
-                                } catch (JsonProcessingException e1) {
-                                    return null;
-                                }
-                            })));
-        }
+        getContent().map(QueueItemRequests::specificContent).ifPresent(itemData::setContent);
         getDueDate().ifPresent(itemData::setDueDate);
         getDeferDate().ifPresent(itemData::setDeferDate);
+        QueueItem item = isBatching() && itemData.getReference() != null
+                ? addToQueueInBatch(token, itemData)
+                : addToQueue(token, new AddToQueueRequest(itemData));
+        setOutputParameter(ITEM_ID_OUTPUT, item != null ? item.getId() : null);
+        setOutputParameter(ITEM_KEY_OUTPUT, item != null ? item.getKey() : null);
+        if (receiver != null) {
+            setOutputParameter(ITEM_STATUS_OUTPUT, QueueItemTransactions.await(receiver, tenantKey(), getClient(),
+                    createAuthenticationHeaders(authenticate()), Collections.singletonList(item),
+                    withinExecutionDeadline(Duration.ofSeconds(getTransactionTimeout()))).get(0));
+        }
+    }
+
+    /**
+     * Hands the item over to the batcher of its queue, and waits for the bulk call that includes it, at most until
+     * the execution deadline. The added item is found back by reference among the items created by the bulk call,
+     * which is why items without reference are never batched.
+     *
+     * @return the added item, or <code>null</code> when it was added but could not be found back
+     */
+    QueueItem addToQueueInBatch(String token, QueueItemRequest itemData) throws ConnectorException {
+        List<Object> key = new ArrayList<>(tenantKey());
+        key.add(getQueueName());
+        UIPathClient client = getClient().withoutDeadline();
+        String queueName = getQueueName();
+        MicroBatcher<BatchRequest, QueueItem> batcher = BATCHERS.computeIfAbsent(key,
+                k -> newBatcher(k, new BulkQueueItems(client, queueName)));
+        Duration timeout = withinExecutionDeadline(ConnectorSettings.queueBatchTimeout());
         try {
-            QueueItem item = addToQueue(token, new AddToQueueRequest(itemData));
-            setOutputParameter(ITEM_ID_OUTPUT, item.getId());
-            setOutputParameter(ITEM_KEY_OUTPUT, item.getKey());
-        } catch (IOException e) {
-            throw new ConnectorException("Failed to add queue item.", e);
+            return batcher.submit(new BatchRequest(createAuthenticationHeaders(token), itemData.setName(null)),
+                    ConnectorSettings.queueBatchOfferTimeout()).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new UIPathTimeoutException(String.format(
+                    "Item with reference '%s' was not added to queue '%s' within %s ms, it may still be added later.",
+                    itemData.getReference(), queueName, timeout.toMillis()), e);
+        } catch (RejectedExecutionException e) {
+            throw new ConnectorException(
+                    String.format("Too many items are waiting to be added to queue '%s': %s", queueName,
+                            e.getMessage()),
+                    e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectorException("Interrupted while adding item to queue.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ConnectorException) {
+                throw (ConnectorException) e.getCause();
+            }
+            throw new ConnectorException("Failed to add queue item.", e.getCause());
         }
     }
 
-    private boolean isPrimitive(Object value) {
-        return value != null && (value instanceof String || value.getClass().isPrimitive());
+    private static MicroBatcher<BatchRequest, QueueItem> newBatcher(List<Object> key, BulkQueueItems queue) {
+        return new MicroBatcher<>(ConnectorSettings.queueBatchMaxSize(),
+                ConnectorSettings.queueBatchMaxDelay(),
+                ConnectorSettings.queueBatchCapacity(),
+                batch -> addBatch(queue, batch),
+                ConnectorSettings.queueBatchIdleTimeout(),
+                batcher -> BATCHERS.computeIfPresent(key, (k, b) -> b == batcher && b.isIdle() ? null : b));
+    }
+
+    /**
+     * Items submitted with different credentials are sent in separate calls. An item whose reference is already used
+     * by another item of the batch is rejected, since both would be found back as the same queue item.
+     */
+    static void addBatch(BulkQueueItems queue, List<BatchedItem<BatchRequest, QueueItem>> batch) {
+        Map<Map<String, String>, List<BatchedItem<BatchRequest, QueueItem>>> byHeaders = batch.stream()
+                .collect(Collectors.groupingBy(batchedItem -> batchedItem.getItem().headers, LinkedHashMap::new,
+                        Collectors.toList()));
+        byHeaders.forEach((headers, items) -> {
+            try {
+                addBatch(queue, headers, items);
+            } catch (ConnectorException e) {
+                items.forEach(item -> item.fail(e));
+            }
+        });
+    }
+
+    private static void addBatch(BulkQueueItems queue, Map<String, String> headers,
+            List<BatchedItem<BatchRequest, QueueItem>> batch) throws ConnectorException {
+        Set<String> batchReferences = new HashSet<>();
+        List<BatchedItem<BatchRequest, QueueItem>> items = new ArrayList<>();
+        for (BatchedItem<BatchRequest, QueueItem> item : batch) {
+            if (batchReferences.add(item.getItem().request.getReference())) {
+                items.add(item);
+            } else {
+                item.fail(new ConnectorException(String.format(
+                        "Another item with reference '%s' is being added to queue '%s' in the same batch.",
+                        item.getItem().request.getReference(), queue.getQueueName())));
+            }
+        }
+        Long lastItemId = lookUpLastItemId(queue, headers);
+        List<FailedQueueItem> failures = queue.add(headers, items.stream()
+                .map(item -> item.getItem().request)
+                .collect(Collectors.toList()), CommitType.PROCESS_ALL_INDEPENDENTLY);
+        Map<String, String> errors = failures.stream()
+                .filter(failure -> failure.getItemData() != null && failure.getItemData().getReference() != null)
+                .collect(Collectors.toMap(failure -> failure.getItemData().getReference(),
+                        failure -> String.valueOf(failure.getErrorMessage()), (a, b) -> a));
+        Set<String> references = items.stream()
+                .map(item -> item.getItem().request.getReference())
+                .filter(reference -> !errors.containsKey(reference))
+                .collect(Collectors.toSet());
+        Map<String, QueueItem> added = lastItemId != null
+                ? lookUpAddedItems(queue, headers, lastItemId, references)
+                : Collections.emptyMap();
+        for (BatchedItem<BatchRequest, QueueItem> item : items) {
+            String reference = item.getItem().request.getReference();
+            if (errors.containsKey(reference)) {
+                item.fail(new ConnectorException(
+                        String.format("Failed to add item to queue: %s", errors.get(reference))));
+            } else {
+                if (!added.containsKey(reference)) {
+                    LOGGER.warn("Item with reference '{}' was added to queue '{}' but could not be found back, "
+                            + "its id and key are not available.", reference, queue.getQueueName());
+                }
+                item.complete(added.get(reference));
+            }
+        }
+    }
+
+    private static Long lookUpLastItemId(BulkQueueItems queue, Map<String, String> headers) {
+        try {
+            return queue.lastItemId(headers);
+        } catch (ConnectorException e) {
+            LOGGER.warn("Failed to look up the last item of queue '{}', the ids and keys of the items added next are "
+                    + "not available.", queue.getQueueName(), e);
+            return null;
+        }
+    }
+
+    /**
+     * The items are already added when they are looked up: a failed lookup must not fail the executions, or their
+     * retries would add the items again.
+     */
+    private static Map<String, QueueItem> lookUpAddedItems(BulkQueueItems queue, Map<String, String> headers,
+            long lastItemId, Set<String> references) {
+        try {
+            return queue.itemsAddedAfter(headers, lastItemId, references);
+        } catch (ConnectorException e) {
+            LOGGER.warn("Failed to look up the {} item(s) added to queue '{}'", references.size(),
+                    queue.getQueueName(), e);
+            return Collections.emptyMap();
+        }
+    }
+
+    static void clearBatchers() {
+        BATCHERS.clear();
+    }
+
+    static int batcherCount() {
+        return BATCHERS.size();
+    }
+
+    boolean isBatching() {
+        return Boolean.TRUE.equals(getInputParameter(BATCHING_INPUT));
+    }
+
+    boolean isWaitingForTransaction() {
+        return Boolean.TRUE.equals(getInputParameter(WAIT_FOR_TRANSACTION_INPUT));
+    }
+
+    int getTransactionTimeout() {
+        Object value = getInputParameter(TRANSACTION_TIMEOUT_INPUT);
+        return value != null ? (Integer) value : DEFAULT_TRANSACTION_TIMEOUT;
     }
 
     String getQueueName() {
@@ -147,14 +289,19 @@ public class UIPathAddToQueueConnector extends UIPathConnector {
         return Optional.ofNullable((String) getInputParameter(DEFER_DATE_INPUT));
     }
 
-    QueueItem addToQueue(String token, AddToQueueRequest request) throws IOException, ConnectorException {
-        Response<QueueItem> response = getService().addQueueItem(createAuthenticationHeaders(token), request).execute();
-        if (!response.isSuccessful()) {
-            throw new ConnectorException(String.format("Failed to add item to queue: %s -%s", 
-                    response.code(), 
-                    getErrorMessage(response)));
+    QueueItem addToQueue(String token, AddToQueueRequest request) throws ConnectorException {
+        return UIPathClient.await(getClient().addQueueItem(createAuthenticationHeaders(token), request));
+    }
+
+    static final class BatchRequest {
+
+        private final Map<String, String> headers;
+        private final QueueItemRequest request;
+
+        BatchRequest(Map<String, String> headers, QueueItemRequest request) {
+            this.headers = headers;
+            this.request = request;
         }
-        return response.body();
     }
 
 }
@@ -0,0 +1,299 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.bonitasoft.engine.connector.ConnectorException;
+import org.bonitasoft.engine.connector.ConnectorValidationException;
+import org.bonitasoft.engine.connector.uipath.model.CommitType;
+import org.bonitasoft.engine.connector.uipath.model.FailedQueueItem;
+import org.bonitasoft.engine.connector.uipath.model.Priority;
+import org.bonitasoft.engine.connector.uipath.model.QueueItem;
+import org.bonitasoft.engine.connector.uipath.model.QueueItemRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Adds a list of items to a queue with <code>BulkAddQueueItems</code> calls of at most <code>batchSize</code> items.
+ * <p>
+ * With <code>AllOrNothing</code>, each batch is added atomically, not the whole list: the batches added before a
+ * failing one are kept, and the items of the following batches are reported as not submitted.
+ * <p>
+ * The Orchestrator only reports the items it could not add. The ids of the added items are looked up by reference
+ * afterwards among the items created by this execution, so items without a reference, or sharing it with another
+ * item created meanwhile, get a <code>null</code> id.
+ * <p>
+ * When waiting for the transactions, the statuses output is set once a robot completed the transaction of every
+ * added item found back, as notified by the {@link WebhookReceiver}.
+ */
+public class UIPathBulkAddQueueItemsConnector extends UIPathConnector {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UIPathBulkAddQueueItemsConnector.class.getName());
+
+    static final String QUEUE_NAME = "queueName";
+    static final String QUEUE_ITEMS = "queueItems";
+    static final String BATCH_SIZE = "batchSize";
+    static final String COMMIT_TYPE = "commitType";
+    static final String WAIT_FOR_TRANSACTIONS = "waitForTransactions";
+    static final String TRANSACTION_TIMEOUT = "transactionTimeoutSeconds";
+    static final String ITEM_IDS_OUTPUT = "itemIds";
+    static final String ITEM_STATUSES_OUTPUT = "itemStatuses";
+    static final String FAILED_ITEMS_OUTPUT = "failedItems";
+
+    // keys of a queue item entry
+    static final String REFERENCE_KEY = "reference";
+    static final String CONTENT_KEY = "content";
+    static final String PRIORITY_KEY = "priority";
+    static final String DUE_DATE_KEY = "dueDate";
+    static final String DEFER_DATE_KEY = "deferDate";
+
+    // keys of a failed item entry
+    static final String INDEX_KEY = "index";
+    static final String ERROR_MESSAGE_KEY = "errorMessage";
+
+    static final int DEFAULT_BATCH_SIZE = 100;
+    static final int DEFAULT_TRANSACTION_TIMEOUT = 300;
+    static final String ROLLED_BACK_MESSAGE = "Not added: another item of the same batch could not be added.";
+    static final String NOT_SUBMITTED_MESSAGE = "Not submitted: a previous batch could not be added.";
+
+    @Override
+    public void validateInputParameters() throws ConnectorValidationException {
+        super.validateInputParameters();
+        checkMandatoryStringInput(QUEUE_NAME);
+        Object items = getInputParameter(QUEUE_ITEMS);
+        if (!(items instanceof List) || ((List<?>) items).isEmpty()) {
+            throw new ConnectorValidationException(this,
+                    String.format("Mandatory parameter '%s' is missing or is not a non empty List.", QUEUE_ITEMS));
+        }
+        List<?> itemList = (List<?>) items;
+        for (int i = 0; i < itemList.size(); i++) {
+            if (!(itemList.get(i) instanceof Map)) {
+                throw new ConnectorValidationException(this,
+                        String.format("Queue item at index %s must be a Map.", i));
+            }
+            Map<?, ?> item = (Map<?, ?>) itemList.get(i);
+            QueueItemRequests.checkReference(stringEntry(item, REFERENCE_KEY, i));
+            stringEntry(item, PRIORITY_KEY, i);
+            QueueItemRequests.checkDateFormat(stringEntry(item, DUE_DATE_KEY, i), DUE_DATE_KEY);
+            QueueItemRequests.checkDateFormat(stringEntry(item, DEFER_DATE_KEY, i), DEFER_DATE_KEY);
+        }
+        if (getBatchSize() <= 0) {
+            throw new ConnectorValidationException(this,
+                    String.format("'%s' parameter must be a positive Integer.", BATCH_SIZE));
+        }
+        if (commitType() == null) {
+            throw new ConnectorValidationException(this,
+                    String.format("Commit type '%s' is not supported. Supported types are: %s", getCommitType(),
+                            Arrays.toString(CommitType.values())));
+        }
+        checkPositiveIntegerInput(TRANSACTION_TIMEOUT);
+    }
+
+    private String stringEntry(Map<?, ?> item, String key, int index) throws ConnectorValidationException {
+        Object value = item.get(key);
+        if (value != null && !(value instanceof String)) {
+            throw new ConnectorValidationException(this,
+                    String.format("'%s' of queue item at index %s must be a String.", key, index));
+        }
+        return (String) value;
+    }
+
+    @Override
+    protected void executeBusinessLogic() throws ConnectorException {
+        WebhookReceiver receiver = isWaitingForTransactions() ? QueueItemTransactions.receiver() : null;
+        String token = authenticate();
+        BulkQueueItems queue = new BulkQueueItems(getClient(), getQueueName());
+        Long lastItemId = queue.lastItemId(createAuthenticationHeaders(token));
+        List<QueueItemRequest> items = getQueueItems();
+        int batchSize = getBatchSize();
+        boolean allOrNothing = commitType() == CommitType.ALL_OR_NOTHING;
+        Map<Integer, String> errors = new TreeMap<>();
+        List<Map<String, Object>> unmatchedFailures = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, items.size());
+            List<FailedQueueItem> failures = bulkAdd(queue, token, items.subList(from, to), from);
+            if (failures.isEmpty()) {
+                continue;
+            }
+            for (FailedQueueItem failure : failures) {
+                int index = indexOf(failure.getItemData(), items, from, to, errors);
+                if (index >= 0) {
+                    errors.put(index, failure.getErrorMessage());
+                } else {
+                    unmatchedFailures.add(failedItem(null, failure.getItemData() != null
+                            ? failure.getItemData().getReference()
+                            : null, failure.getErrorMessage()));
+                }
+            }
+            if (allOrNothing) {
+                for (int index = from; index < items.size(); index++) {
+                    errors.putIfAbsent(index, index < to ? ROLLED_BACK_MESSAGE : NOT_SUBMITTED_MESSAGE);
+                }
+                break;
+            }
+        }
+        LOGGER.debug("{} item(s) out of {} could not be added to queue '{}'",
+                errors.size() + unmatchedFailures.size(), items.size(), getQueueName());
+        List<QueueItem> addedItems = addedItems(queue, token, lastItemId, items, errors.keySet());
+        setOutputParameter(ITEM_IDS_OUTPUT, addedItems.stream()
+                .map(item -> item != null ? item.getId() : null)
+                .collect(Collectors.toList()));
+        List<Map<String, Object>> failedItems = errors.entrySet().stream()
+                .map(e -> failedItem(e.getKey(), items.get(e.getKey()).getReference(), e.getValue()))
+                .collect(Collectors.toList());
+        failedItems.addAll(unmatchedFailures);
+        setOutputParameter(FAILED_ITEMS_OUTPUT, failedItems);
+        if (receiver != null) {
+            setOutputParameter(ITEM_STATUSES_OUTPUT, QueueItemTransactions.await(receiver, tenantKey(), getClient(),
+                    createAuthenticationHeaders(authenticate()), addedItems,
+                    withinExecutionDeadline(Duration.ofSeconds(getTransactionTimeout()))));
+        }
+    }
+
+    private List<FailedQueueItem> bulkAdd(BulkQueueItems queue, String token, List<QueueItemRequest> batch,
+            int submitted) throws ConnectorException {
+        try {
+            return queue.add(createAuthenticationHeaders(token), batch, commitType());
+        } catch (ConnectorException e) {
+            if (submitted == 0) {
+                throw e;
+            }
+            throw new ConnectorException(e.getMessage() + submittedItems(submitted), e.getCause());
+        }
+    }
+
+    private static String submittedItems(int submitted) {
+        return submitted > 0 ? String.format(" (%s item(s) were submitted by previous batches)", submitted) : "";
+    }
+
+    /**
+     * Finds the submitted item a failure refers to, by reference or else by content.
+     */
+    private static int indexOf(QueueItemRequest failed, List<QueueItemRequest> items, int from, int to,
+            Map<Integer, String> errors) {
+        if (failed == null) {
+            return -1;
+        }
+        for (int index = from; index < to; index++) {
+            QueueItemRequest item = items.get(index);
+            if (errors.containsKey(index)) {
+                continue;
+            }
+            if (item.getReference() != null ? item.getReference().equals(failed.getReference())
+                    : failed.getReference() == null && Objects.equals(item.getContent(), failed.getContent())) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private static Map<String, Object> failedItem(Integer index, String reference, String errorMessage) {
+        Map<String, Object> failedItem = new HashMap<>();
+        failedItem.put(INDEX_KEY, index);
+        failedItem.put(REFERENCE_KEY, reference);
+        failedItem.put(ERROR_MESSAGE_KEY, errorMessage);
+        return failedItem;
+    }
+
+    /**
+     * @return the added item of each submitted item, in the same order, <code>null</code> when it was not added or
+     *         could not be found back
+     */
+    List<QueueItem> addedItems(BulkQueueItems queue, String token, Long lastItemId, List<QueueItemRequest> items,
+            Set<Integer> failedIndexes) throws ConnectorException {
+        List<QueueItem> addedItems = new ArrayList<>(Collections.nCopies(items.size(), (QueueItem) null));
+        Set<String> references = new LinkedHashSet<>();
+        for (int index = 0; index < items.size(); index++) {
+            if (!failedIndexes.contains(index) && items.get(index).getReference() != null) {
+                references.add(items.get(index).getReference());
+            }
+        }
+        Map<String, QueueItem> added = lastItemId != null
+                ? queue.itemsAddedAfter(createAuthenticationHeaders(token), lastItemId, references)
+                : Collections.emptyMap();
+        for (int index = 0; index < items.size(); index++) {
+            if (!failedIndexes.contains(index)) {
+                addedItems.set(index, added.get(items.get(index).getReference()));
+            }
+        }
+        return addedItems;
+    }
+
+    List<QueueItemRequest> getQueueItems() {
+        List<QueueItemRequest> requests = new ArrayList<>();
+        for (Object entry : (List<?>) getInputParameter(QUEUE_ITEMS)) {
+            Map<?, ?> item = (Map<?, ?>) entry;
+            QueueItemRequest request = new QueueItemRequest()
+                    .setReference((String) item.get(REFERENCE_KEY))
+                    .setPriority(Optional.ofNullable((String) item.get(PRIORITY_KEY))
+                            .orElse(Priority.NORMAL.toString()))
+                    .setDueDate((String) item.get(DUE_DATE_KEY))
+                    .setDeferDate((String) item.get(DEFER_DATE_KEY));
+            Object content = item.get(CONTENT_KEY);
+            if (content instanceof List) {
+                request.setContent(QueueItemRequests.specificContent(toMap(content)));
+            } else if (content instanceof Map) {
+                request.setContent(QueueItemRequests.specificContent((Map<Object, Object>) content));
+            }
+            requests.add(request);
+        }
+        return requests;
+    }
+
+    boolean isWaitingForTransactions() {
+        return Boolean.TRUE.equals(getInputParameter(WAIT_FOR_TRANSACTIONS));
+    }
+
+    int getTransactionTimeout() {
+        Object value = getInputParameter(TRANSACTION_TIMEOUT);
+        return value != null ? (Integer) value : DEFAULT_TRANSACTION_TIMEOUT;
+    }
+
+    String getQueueName() {
+        return (String) getInputParameter(QUEUE_NAME);
+    }
+
+    int getBatchSize() {
+        Object batchSize = getInputParameter(BATCH_SIZE);
+        return batchSize instanceof Number ? ((Number) batchSize).intValue() : DEFAULT_BATCH_SIZE;
+    }
+
+    String getCommitType() {
+        return Optional.ofNullable((String) getInputParameter(COMMIT_TYPE))
+                .orElse(CommitType.PROCESS_ALL_INDEPENDENTLY.toString());
+    }
+
+    CommitType commitType() {
+        String commitType = getCommitType();
+        return Arrays.stream(CommitType.values())
+                .filter(type -> type.toString().equals(commitType))
+                .findFirst()
+                .orElse(null);
+    }
+
+}
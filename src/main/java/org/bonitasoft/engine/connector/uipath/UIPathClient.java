@@ -0,0 +1,278 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.bonitasoft.engine.connector.ConnectorException;
+import org.bonitasoft.engine.connector.uipath.client.Bulkhead;
+import org.bonitasoft.engine.connector.uipath.client.CircuitBreakerOpenException;
+import org.bonitasoft.engine.connector.uipath.client.ConnectorMetrics;
+import org.bonitasoft.engine.connector.uipath.client.ConnectorSettings;
+import org.bonitasoft.engine.connector.uipath.client.Deadline;
+import org.bonitasoft.engine.connector.uipath.model.AddToQueueRequest;
+import org.bonitasoft.engine.connector.uipath.model.BulkAddQueueItemsRequest;
+import org.bonitasoft.engine.connector.uipath.model.FailedQueueItem;
+import org.bonitasoft.engine.connector.uipath.model.Job;
+import org.bonitasoft.engine.connector.uipath.model.JobRequest;
+import org.bonitasoft.engine.connector.uipath.model.QueueDefinition;
+import org.bonitasoft.engine.connector.uipath.model.QueueItem;
+import org.bonitasoft.engine.connector.uipath.model.Release;
+import org.bonitasoft.engine.connector.uipath.model.Robot;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Non-blocking facade over {@link UIPathService}. Calls are enqueued on the OkHttp dispatcher and return futures, so
+ * that calls can be composed (authentication, then releases and robots, then start) or issued concurrently from a
+ * single thread.
+ * <p>
+ * Futures are completed on OkHttp dispatcher threads: use the <code>*Async</code> variants of the
+ * {@link CompletableFuture} methods for expensive or blocking stages. Unsuccessful responses complete them with a
+ * {@link UIPathResponseException}, and network failures with a {@link ConnectorException} caused by the
+ * {@link IOException}, or a {@link UIPathTimeoutException} when the failure is a timeout. Cancelling a future
+ * cancels its call.
+ * <p>
+ * A client may hold the {@link Deadline} of a connector execution: each call is then given the remaining budget as
+ * call timeout, and fails without being sent once the deadline has expired. Calls to an endpoint of the
+ * {@link UIPathServiceRegistry} are also admitted by its {@link Bulkhead}, and fail right away with a
+ * {@link BulkheadFullException} when it is full. Instances are thread-safe.
+ * <p>
+ * Token requests are the exception: they run on the calling thread, outside the dispatcher and the bulkhead, as the
+ * {@link org.bonitasoft.engine.connector.uipath.client.TokenAuthenticator} renews tokens from dispatcher threads.
+ * Enqueuing the renewal on the dispatcher it is blocking could deadlock the endpoint when every running call is
+ * waiting for a token.
+ */
+public class UIPathClient {
+
+    private static final String CLIENT_CREDENTIALS_GRANT_TYPE = "client_credentials";
+
+    private static final String OKHTTP_CALL_TIMEOUT_MESSAGE = "timeout";
+    private static final String AUTHENTICATION_FAILED = "Authentication failed";
+
+    private final UIPathService service;
+    private final Deadline deadline;
+    private final Bulkhead bulkhead;
+
+    public UIPathClient(UIPathService service) {
+        this(service, null);
+    }
+
+    public UIPathClient(UIPathService service, Deadline deadline) {
+        this(service, deadline, UIPathServiceRegistry.bulkhead(service));
+    }
+
+    private UIPathClient(UIPathService service, Deadline deadline, Bulkhead bulkhead) {
+        this.service = service;
+        this.deadline = deadline;
+        this.bulkhead = bulkhead;
+    }
+
+    /**
+     * @return the deadline of the calls made by this client, or <code>null</code> when they have none
+     */
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * @return a client without deadline over the same service, for components outliving the current execution
+     */
+    public UIPathClient withoutDeadline() {
+        return deadline == null ? this : new UIPathClient(service, null, bulkhead);
+    }
+
+    /**
+     * Blocks until the token is received, at most for {@link ConnectorSettings#authenticationTimeout()}.
+     */
+    public Map<String, String> authenticate(String tenant, String user, String password)
+            throws ConnectorException {
+        return execute(service.authenticate(tenant, user, password), AUTHENTICATION_FAILED);
+    }
+
+    /**
+     * Blocks until the token is received, at most for {@link ConnectorSettings#authenticationTimeout()}.
+     */
+    public Map<String, String> authenticateInCloud(String accountLogicalName, String clientId,
+            String clientSecret, String scope) throws ConnectorException {
+        return execute(service.authenticateInCloudWithClientCredentials(accountLogicalName,
+                CLIENT_CREDENTIALS_GRANT_TYPE, clientId, clientSecret, scope), AUTHENTICATION_FAILED);
+    }
+
+    public CompletableFuture<List<Release>> releases(Map<String, String> headers, String filter, String select) {
+        return call(service.releases(headers, filter, select), "Failed to retrieve releases");
+    }
+
+    public CompletableFuture<List<Robot>> robots(Map<String, String> headers, String filter, String select) {
+        return call(service.robots(headers, filter, select), "Failed to retrieve robots");
+    }
+
+    public CompletableFuture<List<Job>> startJobs(Map<String, String> headers, JobRequest request) {
+        return call(service.startJob(headers, request), "Failed to start job");
+    }
+
+    public CompletableFuture<Job> job(Map<String, String> headers, long id, String select) {
+        return call(service.job(headers, id, select), String.format("Failed to retrieve Job with id='%s'", id));
+    }
+
+    public CompletableFuture<List<Job>> jobs(Map<String, String> headers, String filter, String select,
+            String orderBy, Integer top) {
+        return call(service.jobs(headers, filter, select, orderBy, top), "Failed to retrieve Jobs");
+    }
+
+    public CompletableFuture<QueueItem> addQueueItem(Map<String, String> headers, AddToQueueRequest request) {
+        return call(service.addQueueItem(headers, request), "Failed to add item to queue");
+    }
+
+    public CompletableFuture<List<FailedQueueItem>> bulkAddQueueItems(Map<String, String> headers,
+            BulkAddQueueItemsRequest request) {
+        return call(service.bulkAddQueueItems(headers, request), "Failed to add items to queue");
+    }
+
+    public CompletableFuture<List<QueueDefinition>> queueDefinitions(Map<String, String> headers, String filter,
+            String select) {
+        return call(service.queueDefinitions(headers, filter, select), "Failed to retrieve queue definitions");
+    }
+
+    public CompletableFuture<List<QueueItem>> queueItems(Map<String, String> headers, String filter,
+            String select, String orderBy, Integer top) {
+        return call(service.queueItems(headers, filter, select, orderBy, top), "Failed to retrieve queue items");
+    }
+
+    /**
+     * Blocks until the future completes, for synchronous callers such as connector executions.
+     */
+    public static <T> T await(CompletableFuture<T> future) throws ConnectorException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ConnectorException("Interrupted while waiting for UiPath Orchestrator.", e);
+        } catch (CancellationException e) {
+            throw new ConnectorException("UiPath Orchestrator call was cancelled.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ConnectorException) {
+                throw (ConnectorException) e.getCause();
+            }
+            throw new ConnectorException(e.getCause());
+        }
+    }
+
+    /**
+     * Runs the call on the calling thread, without deadline nor bulkhead.
+     */
+    private static <T> T execute(Call<T> call, String failureMessage) throws ConnectorException {
+        call.timeout().timeout(ConnectorSettings.authenticationTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        Response<T> response;
+        try {
+            response = call.execute();
+        } catch (IOException e) {
+            throw failure(call, failureMessage, e);
+        }
+        if (!response.isSuccessful()) {
+            throw new UIPathResponseException(failureMessage, response.code(), errorBody(response));
+        }
+        return response.body();
+    }
+
+    <T> CompletableFuture<T> call(Call<T> call, String failureMessage) {
+        if (deadline != null) {
+            if (deadline.isExpired()) {
+                return CompletableFuture.failedFuture(deadlineExceeded(failureMessage, null));
+            }
+            long timeoutNanos = call.timeout().timeoutNanos();
+            Duration remaining = timeoutNanos > 0 ? deadline.cap(Duration.ofNanos(timeoutNanos)) : deadline.remaining();
+            call.timeout().timeout(Math.max(1L, remaining.toMillis()), TimeUnit.MILLISECONDS);
+        }
+        if (bulkhead != null && !bulkhead.tryAcquire()) {
+            ConnectorMetrics.increment("bulkhead.rejected");
+            return CompletableFuture.failedFuture(new BulkheadFullException(String.format(
+                    "%s: %s calls already running or queued for %s", failureMessage, bulkhead.getInFlight(),
+                    bulkhead.getName())));
+        }
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.whenComplete((result, error) -> {
+            if (bulkhead != null) {
+                bulkhead.release();
+            }
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        call.enqueue(new Callback<T>() {
+
+            @Override
+            public void onResponse(Call<T> call, Response<T> response) {
+                if (response.isSuccessful()) {
+                    future.complete(response.body());
+                } else {
+                    future.completeExceptionally(
+                            new UIPathResponseException(failureMessage, response.code(), errorBody(response)));
+                }
+            }
+
+            @Override
+            public void onFailure(Call<T> call, Throwable t) {
+                if (deadline != null && deadline.isExpired() && !(t instanceof CircuitBreakerOpenException)) {
+                    future.completeExceptionally(deadlineExceeded(failureMessage, t));
+                } else {
+                    future.completeExceptionally(failure(call, failureMessage, t));
+                }
+            }
+        });
+        return future;
+    }
+
+    private static ConnectorException failure(Call<?> call, String failureMessage, Throwable t) {
+        if (t instanceof CircuitBreakerOpenException) {
+            return new OrchestratorUnavailableException(failureMessage, (CircuitBreakerOpenException) t);
+        }
+        if (t instanceof SocketTimeoutException) {
+            return new UIPathTimeoutException(String.format("%s: no answer from the Orchestrator in time (%s)",
+                    failureMessage, t.getMessage()), t);
+        }
+        if (t instanceof InterruptedIOException && OKHTTP_CALL_TIMEOUT_MESSAGE.equals(t.getMessage())) {
+            return new UIPathTimeoutException(String.format("%s: call timeout of %s ms exceeded", failureMessage,
+                    TimeUnit.NANOSECONDS.toMillis(call.timeout().timeoutNanos())), t);
+        }
+        return new ConnectorException(failureMessage, t);
+    }
+
+    private UIPathTimeoutException deadlineExceeded(String failureMessage, Throwable cause) {
+        return new UIPathTimeoutException(String.format("%s: execution deadline of %s ms exceeded", failureMessage,
+                deadline.getBudget().toMillis()), cause);
+    }
+
+    private static String errorBody(Response<?> response) {
+        try {
+            return response.errorBody() != null ? response.errorBody().string() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+}
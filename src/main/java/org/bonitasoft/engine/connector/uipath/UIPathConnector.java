@@ -1,22 +1,27 @@
 package org.bonitasoft.engine.connector.uipath;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import okhttp3.Interceptor;
-import okhttp3.OkHttpClient;
-import okhttp3.Request;
-import okhttp3.logging.HttpLoggingInterceptor;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.bonitasoft.engine.connector.AbstractConnector;
 import org.bonitasoft.engine.connector.ConnectorException;
 import org.bonitasoft.engine.connector.ConnectorValidationException;
-import org.bonitasoft.engine.connector.uipath.converters.WrappedAttributeConverter;
+import org.bonitasoft.engine.connector.uipath.client.AccessToken;
+import org.bonitasoft.engine.connector.uipath.client.AccessTokenCache;
+import org.bonitasoft.engine.connector.uipath.client.AccessTokenCache.TokenLoader;
+import org.bonitasoft.engine.connector.uipath.client.ConnectorSettings;
+import org.bonitasoft.engine.connector.uipath.client.Deadline;
+import org.bonitasoft.engine.connector.uipath.client.ServiceKey;
+import org.bonitasoft.engine.connector.uipath.client.TokenAuthenticator;
+import org.bonitasoft.engine.connector.uipath.converters.JsonMappers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import retrofit2.Response;
-import retrofit2.Retrofit;
-import retrofit2.Retrofit.Builder;
-import retrofit2.converter.jackson.JacksonConverterFactory;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -40,20 +45,22 @@ public abstract class UIPathConnector extends AbstractConnector {
     static final String SCOPE = "scope";
     static final String TOKEN = "token";
     static final String ORGANIZATION_UNIT_ID = "organizationUnitId";
+    static final String EXECUTION_TIMEOUT = "executionTimeout";
 
     static final String TOKEN_AUTH_TYPE = "Token (Bearer)";
     static final String CLIENT_CREDENTIALS_AUTH_TYPE = "Client credentials (Oauth)";
 
-    private static final String CONTENT_TYPE = "Content-Type";
-    private static final String APPLICATION_JSON = "application/json";
-
     private static final String CLOUD_ORCHESTRATOR_BASE_URL = "https://cloud.uipath.com";
     private static final String TENANT_NAME_HEADER = "X-UIPATH-TenantName";
-    private static final String X_UIPATH_ORGANIZATION_UNIT_ID_HEADER = "X-UIPATH-OrganizationUnitId";
-    private static final String AUTHORIZATION_NAME_HEADER = "Authorization";
+    private static final String AUTHORIZATION_NAME_HEADER = TokenAuthenticator.AUTHORIZATION_HEADER;
+
+    static final AccessTokenCache<List<String>> CLOUD_TOKENS = new AccessTokenCache<>(
+            ConnectorSettings.tokenRefreshAhead());
+    static final AccessTokenCache<List<String>> ON_PREMISE_TOKENS = new AccessTokenCache<>(Duration.ZERO);
 
     protected UIPathService service;
-    protected ObjectMapper mapper = new ObjectMapper();
+    protected UIPathClient client;
+    protected final ObjectWriter writer = JsonMappers.writer();
 
     private static String appendTrailingSlash(String url) {
         return url.endsWith("/") ? url : url + "/";
@@ -86,6 +93,7 @@ public abstract class UIPathConnector extends AbstractConnector {
             checkMandatoryStringInput(USER);
             checkMandatoryStringInput(PASSWORD);
         }
+        checkPositiveIntegerInput(EXECUTION_TIMEOUT);
     }
 
     protected void checkCloudInput() throws ConnectorValidationException {
@@ -114,53 +122,156 @@ public abstract class UIPathConnector extends AbstractConnector {
         }
     }
 
+    protected void checkPositiveIntegerInput(String input) throws ConnectorValidationException {
+        Object value = getInputParameter(input);
+        if (value != null && (!(value instanceof Integer) || (Integer) value <= 0)) {
+            throw new ConnectorValidationException(this,
+                    String.format("'%s' parameter must be a positive Integer", input));
+        }
+    }
+
+    /**
+     * Starts the execution deadline, if any: every Orchestrator call made through {@link #getClient()} from now on
+     * only gets what is left of it.
+     */
     @Override
     public void connect() throws ConnectorException {
         service = createService();
+        Duration executionTimeout = getExecutionTimeout();
+        client = executionTimeout.isZero() ? new UIPathClient(service)
+                : new UIPathClient(service, Deadline.after(executionTimeout));
     }
 
     protected UIPathService getService() {
         return service;
     }
 
+    protected UIPathClient getClient() {
+        return client;
+    }
+
+    /**
+     * @return <code>timeout</code>, or what is left of the execution deadline when it is shorter
+     */
+    protected Duration withinExecutionDeadline(Duration timeout) {
+        Deadline deadline = client != null ? client.getDeadline() : null;
+        return deadline != null ? deadline.cap(timeout) : timeout;
+    }
+
     protected String buildTokenHeader(String token) {
-        return "Bearer " + token;
+        return TokenAuthenticator.BEARER_PREFIX + token;
     }
 
     String authenticate() throws ConnectorException {
-        Response<Map<String, String>> response;
+        if (isCloud()) {
+            if (CLIENT_CREDENTIALS_AUTH_TYPE.equalsIgnoreCase(getCloudAuthType())) {
+                LOGGER.debug("Authenticate in cloud with client credentials");
+                return CLOUD_TOKENS.get(cloudTokenKey(), cloudTokenLoader(), tokenTimeout()).getValue();
+            }
+            LOGGER.debug("Authenticate in cloud with token");
+            return getToken();
+        }
+        LOGGER.debug("Authenticate on premise");
+        return ON_PREMISE_TOKENS.get(onPremiseTokenKey(), onPremiseTokenLoader(), tokenTimeout()).getValue();
+    }
+
+    /**
+     * The shared token request is not bound to the deadline of this execution, only the wait for it is.
+     */
+    private Duration tokenTimeout() {
+        return withinExecutionDeadline(ConnectorSettings.authenticationTimeout());
+    }
+
+    /**
+     * The loader is kept by the cache for background refreshes and renewals, so it only holds the credentials and a
+     * client without the deadline of this execution. Renewals run on dispatcher threads, hence the token request is
+     * executed synchronously, outside the dispatcher and the bulkhead.
+     */
+    private TokenLoader onPremiseTokenLoader() {
+        UIPathClient loaderClient = getClient().withoutDeadline();
+        String url = getUrl();
+        String tenant = getTenant();
+        String user = getUser();
+        String password = getPassword();
+        return () -> {
+            Map<String, String> body = executeAuthentication(() -> loaderClient.authenticate(tenant, user, password),
+                    url, tenant, user);
+            return AccessToken.expiringIn(body.get("result"), ConnectorSettings.onPremiseTokenTtl());
+        };
+    }
+
+    private List<String> onPremiseTokenKey() {
+        return Arrays.asList(getUrl(), getTenant(), getUser(), sha256(getPassword()));
+    }
+
+    private static String sha256(String value) {
         try {
-            if (isCloud()) {
-                if (CLIENT_CREDENTIALS_AUTH_TYPE.equalsIgnoreCase(getCloudAuthType())) {
-                    LOGGER.debug("Authenticate in cloud with client credentials");
-                    response = service.authenticateInCloudWithClientCredentials(
-                            getAccountLogicalName(),
-                            "client_credentials",
-                            getClientId(),
-                            getClientSecret(),
-                            getScope()).execute();
-                } else {
-                    LOGGER.debug("Authenticate in cloud with token");
-                    return getToken();
-                }
-            } else {
-                LOGGER.debug("Authenticate on premise");
-                response = service.authenticate(getTenant(), getUser(), getPassword()).execute();
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder builder = new StringBuilder();
+            for (byte b : hash) {
+                builder.append(String.format("%02x", b));
             }
-        } catch (IOException e) {
-            throw new ConnectorException(
-                    String.format("Failed to authenticate to '%s' on tenant '%s' with user '%s'", getUrl(), getTenant(),
-                            getUser()),
-                    e);
+            return builder.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
-        if (!response.isSuccessful()) {
-            throw new ConnectorException(String.format("Authentication failed: %s - %s",
-                    response.code(),
-                    getErrorMessage(response)));
+    }
+
+    static void clearCaches() {
+        CLOUD_TOKENS.clear();
+        ON_PREMISE_TOKENS.clear();
+    }
+
+    private TokenLoader cloudTokenLoader() {
+        UIPathClient loaderClient = getClient().withoutDeadline();
+        String url = getUrl();
+        String accountLogicalName = getAccountLogicalName();
+        String clientId = getClientId();
+        String clientSecret = getClientSecret();
+        String scope = getScope();
+        return () -> {
+            Map<String, String> body = executeAuthentication(
+                    () -> loaderClient.authenticateInCloud(accountLogicalName, clientId, clientSecret, scope),
+                    url, null, clientId);
+            return AccessToken.expiringIn(body.get("access_token"), parseExpiresIn(body.get("expires_in")));
+        };
+    }
+
+    private List<String> cloudTokenKey() {
+        return Arrays.asList(getAccountLogicalName(), getClientId(), getScope(), sha256(getClientSecret()));
+    }
+
+    private static Duration parseExpiresIn(String expiresIn) {
+        if (expiresIn == null) {
+            return Duration.ZERO;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(expiresIn.trim()));
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Unexpected 'expires_in' value '{}' in token response, the token will not be reused.",
+                    expiresIn);
+            return Duration.ZERO;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Authentication {
+
+        Map<String, String> execute() throws ConnectorException;
+    }
+
+    private static Map<String, String> executeAuthentication(Authentication authentication, String url,
+            String tenant, String user) throws ConnectorException {
+        try {
+            return authentication.execute();
+        } catch (UIPathResponseException | OrchestratorUnavailableException | UIPathTimeoutException
+                | BulkheadFullException e) {
+            throw e;
+        } catch (ConnectorException e) {
+            throw new ConnectorException(
+                    String.format("Failed to authenticate to '%s' on tenant '%s' with user '%s'", url, tenant, user),
+                    e.getCause() != null ? e.getCause() : e);
         }
-        return isCloud()
-                ? response.body().get("access_token")
-                : response.body().get("result");
     }
 
     protected String getErrorMessage(Response<?> response) {
@@ -182,35 +293,25 @@ public abstract class UIPathConnector extends AbstractConnector {
 
     protected UIPathService createService() {
         if (service == null) {
-            OkHttpClient.Builder clientBuilder = new OkHttpClient.Builder();
-            Interceptor jsonHeaderInterceptor = chain -> {
-                Request.Builder requestBuilder = chain.request().newBuilder();
-                requestBuilder.header(CONTENT_TYPE, APPLICATION_JSON);
-                if (isCloud()) {
-                    requestBuilder.header(X_UIPATH_ORGANIZATION_UNIT_ID_HEADER, getOrganizationUnitId());
-                }
-                return chain.proceed(requestBuilder.build());
-            };
-            clientBuilder.addInterceptor(jsonHeaderInterceptor);
-            if (LOGGER.isDebugEnabled()) {
-                HttpLoggingInterceptor loggerInterceptor = new HttpLoggingInterceptor();
-                loggerInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
-                clientBuilder.addInterceptor(loggerInterceptor);
-            }
-            OkHttpClient client = clientBuilder.build();
-            Builder retrofitBuilder = new Retrofit.Builder()
-                    .client(client)
-                    .addConverterFactory(new WrappedAttributeConverter(mapper))
-                    .addConverterFactory(JacksonConverterFactory.create())
-                    .baseUrl(getUrl());
-            if (client != null) {
-                retrofitBuilder.client(client);
-            }
-            service = retrofitBuilder.build().create(UIPathService.class);
+            service = UIPathServiceRegistry.service(serviceKey());
         }
         return service;
     }
 
+    /**
+     * Identifies the tenant and folder targeted by this execution, for data shared between executions.
+     */
+    List<String> tenantKey() {
+        return isCloud()
+                ? Arrays.asList(getUrl(), getTenantLogicalName(), getOrganizationUnitId())
+                : Arrays.asList(getUrl(), getTenant(), null);
+    }
+
+    ServiceKey serviceKey() {
+        return isCloud() ? new ServiceKey(getUrl(), true, getOrganizationUnitId())
+                : new ServiceKey(getUrl(), false, null, getTenant());
+    }
+
     protected Map<Object, Object> toMap(Object inputParameter) {
         Map<Object, Object> result = new HashMap<>();
         for (Object row : (Iterable) inputParameter) {
@@ -225,6 +326,11 @@ public abstract class UIPathConnector extends AbstractConnector {
         return (String) getInputParameter(ORGANIZATION_UNIT_ID);
     }
 
+    Duration getExecutionTimeout() {
+        Integer value = (Integer) getInputParameter(EXECUTION_TIMEOUT);
+        return value != null ? Duration.ofSeconds(value) : ConnectorSettings.executionTimeout();
+    }
+
     String getTenant() {
         return (String) getInputParameter(TENANT);
     }
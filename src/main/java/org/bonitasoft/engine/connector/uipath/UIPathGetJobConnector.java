@@ -14,19 +14,40 @@
  */
 package org.bonitasoft.engine.connector.uipath;
 
-import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 import org.bonitasoft.engine.connector.ConnectorException;
 import org.bonitasoft.engine.connector.ConnectorValidationException;
 import org.bonitasoft.engine.connector.uipath.model.Job;
 
-import retrofit2.Response;
-
 public class UIPathGetJobConnector extends UIPathConnector {
 
     static final String JOB_ID = "jobId";
     static final String JOB_OUTPUT_ARGS = "jobOutputsArgs";
     static final String JOB_STATE = "jobState";
+    static final String EXTRA_FIELDS = "extraFields";
+    static final String JOB_EXTRA_FIELDS = "jobExtraFields";
+
+    /**
+     * Only the fields mapped to outputs are requested, large ones such as the input arguments are opt-in.
+     */
+    static final String JOB_FIELDS = "Id,State,OutputArguments";
+    static final Map<String, Function<Job, String>> EXTRA_FIELD_GETTERS = extraFieldGetters();
+
+    private static Map<String, Function<Job, String>> extraFieldGetters() {
+        Map<String, Function<Job, String>> getters = new LinkedHashMap<>();
+        getters.put("Key", Job::getKey);
+        getters.put("Info", Job::getInfo);
+        getters.put("Source", Job::getSource);
+        getters.put("SourceType", Job::getSourceType);
+        getters.put("InputArguments", Job::getInputArgs);
+        return Collections.unmodifiableMap(getters);
+    }
 
     @Override
     public void validateInputParameters() throws ConnectorValidationException {
@@ -38,32 +59,66 @@ public class UIPathGetJobConnector extends UIPathConnector {
             throw new ConnectorValidationException(this,
                     String.format("Job id input must have a valid number format be is '%s'.", getJobId()));
         }
+        Object extraFields = getInputParameter(EXTRA_FIELDS);
+        if (extraFields != null && !(extraFields instanceof List)) {
+            throw new ConnectorValidationException(this, String.format("'%s' parameter must be a List", EXTRA_FIELDS));
+        }
+        for (String field : getExtraFields()) {
+            if (!EXTRA_FIELD_GETTERS.containsKey(field)) {
+                throw new ConnectorValidationException(this,
+                        String.format("Job field '%s' is not supported. Supported fields are: %s", field,
+                                EXTRA_FIELD_GETTERS.keySet()));
+            }
+        }
     }
 
     @Override
     protected void executeBusinessLogic() throws ConnectorException {
         String token = authenticate();
         try {
-            Job job = job(Long.valueOf(getJobId()), token);
-            String state = job.getState();
-            setOutputParameter(JOB_STATE, state);
-            setOutputParameter(JOB_OUTPUT_ARGS, job.getOutputArgs());
-        } catch (NumberFormatException | IOException e) {
+            setJobOutputs(job(Long.valueOf(getJobId()), token));
+        } catch (NumberFormatException e) {
             throw new ConnectorException(
                     String.format("Failed to get job with id: %s", getJobId()), e);
         }
     }
 
+    void setJobOutputs(Job job) {
+        setOutputParameter(JOB_STATE, job.getState());
+        setOutputParameter(JOB_OUTPUT_ARGS, job.getOutputArgs());
+        Map<String, String> extraFields = new LinkedHashMap<>();
+        for (String field : getExtraFields()) {
+            extraFields.put(field, EXTRA_FIELD_GETTERS.get(field).apply(job));
+        }
+        setOutputParameter(JOB_EXTRA_FIELDS, extraFields);
+    }
+
     String getJobId() {
         return (String) getInputParameter(JOB_ID);
     }
 
-    Job job(long id, String token) throws IOException, ConnectorException {
-        Response<Job> response = getService().job(createAuthenticationHeaders(token), id).execute();
-        if (!response.isSuccessful()) {
-            throw new ConnectorException(String.format("Failed to retrieve Job with id='%s': %s - %s:", id, response.code(), getErrorMessage(response)) );
+    List<String> getExtraFields() {
+        List<String> fields = new ArrayList<>();
+        Object extraFields = getInputParameter(EXTRA_FIELDS);
+        if (extraFields instanceof List) {
+            for (Object field : (List<?>) extraFields) {
+                if (field != null && !field.toString().isBlank()) {
+                    fields.add(field.toString().trim());
+                }
+            }
         }
-        return response.body();
+        return fields;
+    }
+
+    String select() {
+        List<String> fields = new ArrayList<>();
+        fields.add(JOB_FIELDS);
+        fields.addAll(getExtraFields());
+        return String.join(",", fields);
+    }
+
+    Job job(long id, String token) throws ConnectorException {
+        return UIPathClient.await(getClient().job(createAuthenticationHeaders(token), id, select()));
     }
 
 }
@@ -0,0 +1,91 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bonitasoft.engine.connector.ConnectorException;
+import org.bonitasoft.engine.connector.ConnectorValidationException;
+import org.bonitasoft.engine.connector.uipath.model.Job;
+
+/**
+ * Retrieves the state and output arguments of many jobs with <code>odata/Jobs?$filter=Id in (...)</code> queries
+ * of at most {@link #JOB_IDS_CHUNK_SIZE} ids.
+ */
+public class UIPathGetJobsConnector extends UIPathConnector {
+
+    static final String JOB_IDS = "jobIds";
+    static final String JOBS_OUTPUT = "jobs";
+    static final String JOB_STATE = "state";
+    static final String JOB_OUTPUT_ARGS = "outputArguments";
+
+    static final int JOB_IDS_CHUNK_SIZE = 100;
+
+    @Override
+    public void validateInputParameters() throws ConnectorValidationException {
+        super.validateInputParameters();
+        Object jobIds = getInputParameter(JOB_IDS);
+        if (!(jobIds instanceof List)) {
+            throw new ConnectorValidationException(this,
+                    String.format("Mandatory parameter '%s' is missing or is not a List.", JOB_IDS));
+        }
+        for (Object jobId : (List<?>) jobIds) {
+            try {
+                Long.valueOf(String.valueOf(jobId).trim());
+            } catch (NumberFormatException e) {
+                throw new ConnectorValidationException(this,
+                        String.format("Job ids must have a valid number format but '%s' is not.", jobId));
+            }
+        }
+    }
+
+    @Override
+    protected void executeBusinessLogic() throws ConnectorException {
+        String token = authenticate();
+        List<Long> ids = new ArrayList<>(getJobIds());
+        Map<String, Map<String, String>> jobs = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += JOB_IDS_CHUNK_SIZE) {
+            for (Job job : jobs(token, ids.subList(from, Math.min(from + JOB_IDS_CHUNK_SIZE, ids.size())))) {
+                Map<String, String> values = new HashMap<>();
+                values.put(JOB_STATE, job.getState());
+                values.put(JOB_OUTPUT_ARGS, job.getOutputArgs());
+                jobs.put(job.getId(), values);
+            }
+        }
+        setOutputParameter(JOBS_OUTPUT, jobs);
+    }
+
+    List<Job> jobs(String token, List<Long> ids) throws ConnectorException {
+        return UIPathClient.await(getClient().jobs(createAuthenticationHeaders(token), ODataFilters.in("Id", ids),
+                UIPathGetJobConnector.JOB_FIELDS, null, null));
+    }
+
+    /**
+     * Duplicated ids are only requested once.
+     */
+    Set<Long> getJobIds() {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Object jobId : (List<?>) getInputParameter(JOB_IDS)) {
+            ids.add(Long.valueOf(String.valueOf(jobId).trim()));
+        }
+        return ids;
+    }
+
+}
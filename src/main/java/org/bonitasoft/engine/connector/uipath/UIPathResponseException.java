@@ -0,0 +1,43 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath;
+
+import org.bonitasoft.engine.connector.ConnectorException;
+
+/**
+ * An Orchestrator call that completed with an unsuccessful HTTP status.
+ */
+public class UIPathResponseException extends ConnectorException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int code;
+    private final String errorBody;
+
+    public UIPathResponseException(String message, int code, String errorBody) {
+        super(String.format("%s: %s - %s", message, code, errorBody));
+        this.code = code;
+        this.errorBody = errorBody;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public String getErrorBody() {
+        return errorBody;
+    }
+
+}
@@ -18,8 +18,11 @@ import java.util.List;
 import java.util.Map;
 
 import org.bonitasoft.engine.connector.uipath.model.AddToQueueRequest;
+import org.bonitasoft.engine.connector.uipath.model.BulkAddQueueItemsRequest;
+import org.bonitasoft.engine.connector.uipath.model.FailedQueueItem;
 import org.bonitasoft.engine.connector.uipath.model.Job;
 import org.bonitasoft.engine.connector.uipath.model.JobRequest;
+import org.bonitasoft.engine.connector.uipath.model.QueueDefinition;
 import org.bonitasoft.engine.connector.uipath.model.QueueItem;
 import org.bonitasoft.engine.connector.uipath.model.Release;
 import org.bonitasoft.engine.connector.uipath.model.Robot;
@@ -32,6 +35,7 @@ import retrofit2.http.GET;
 import retrofit2.http.HeaderMap;
 import retrofit2.http.POST;
 import retrofit2.http.Path;
+import retrofit2.http.Query;
 
 public interface UIPathService {
 
@@ -51,17 +55,44 @@ public interface UIPathService {
             @Field("scope") String scope);
 
     @GET("odata/Releases")
-    Call<List<Release>> releases(@HeaderMap Map<String, String> headers);
+    Call<List<Release>> releases(@HeaderMap Map<String, String> headers,
+            @Query("$filter") String filter,
+            @Query("$select") String select);
 
     @GET("odata/Robots")
-    Call<List<Robot>> robots(@HeaderMap Map<String, String> headers);
+    Call<List<Robot>> robots(@HeaderMap Map<String, String> headers,
+            @Query("$filter") String filter,
+            @Query("$select") String select);
 
     @POST("odata/Jobs/UiPath.Server.Configuration.OData.StartJobs")
     Call<List<Job>> startJob(@HeaderMap Map<String, String> headers, @Body JobRequest jobRequest);
 
+    @GET("odata/Jobs")
+    Call<List<Job>> jobs(@HeaderMap Map<String, String> headers,
+            @Query("$filter") String filter,
+            @Query("$select") String select,
+            @Query("$orderby") String orderBy,
+            @Query("$top") Integer top);
+
     @GET("odata/Jobs({Id})")
-    Call<Job> job(@HeaderMap Map<String, String> headers, @Path("Id") long id);
+    Call<Job> job(@HeaderMap Map<String, String> headers, @Path("Id") long id, @Query("$select") String select);
 
     @POST("odata/Queues/UiPathODataSvc.AddQueueItem")
     Call<QueueItem> addQueueItem(@HeaderMap Map<String, String> headers, @Body AddToQueueRequest request);
+
+    @POST("odata/Queues/UiPathODataSvc.BulkAddQueueItems")
+    Call<List<FailedQueueItem>> bulkAddQueueItems(@HeaderMap Map<String, String> headers,
+            @Body BulkAddQueueItemsRequest request);
+
+    @GET("odata/QueueDefinitions")
+    Call<List<QueueDefinition>> queueDefinitions(@HeaderMap Map<String, String> headers,
+            @Query("$filter") String filter,
+            @Query("$select") String select);
+
+    @GET("odata/QueueItems")
+    Call<List<QueueItem>> queueItems(@HeaderMap Map<String, String> headers,
+            @Query("$filter") String filter,
+            @Query("$select") String select,
+            @Query("$orderby") String orderBy,
+            @Query("$top") Integer top);
 }
@@ -0,0 +1,264 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bonitasoft.engine.connector.uipath.client.Bulkhead;
+import org.bonitasoft.engine.connector.uipath.client.CircuitBreakerInterceptor;
+import org.bonitasoft.engine.connector.uipath.client.ConnectorSettings;
+import org.bonitasoft.engine.connector.uipath.client.RateLimitInterceptor;
+import org.bonitasoft.engine.connector.uipath.client.RetryInterceptor;
+import org.bonitasoft.engine.connector.uipath.client.ServiceKey;
+import org.bonitasoft.engine.connector.uipath.client.SharedExecutors;
+import org.bonitasoft.engine.connector.uipath.client.TokenAuthenticator;
+import org.bonitasoft.engine.connector.uipath.converters.JsonMappers;
+import org.bonitasoft.engine.connector.uipath.converters.WrappedAttributeConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.logging.HttpLoggingInterceptor;
+import retrofit2.Retrofit;
+import retrofit2.converter.jackson.JacksonConverterFactory;
+
+/**
+ * Hands out one {@link OkHttpClient} and one {@link UIPathService} per Orchestrator endpoint, so that connections,
+ * threads and Retrofit proxies are reused by all the connector executions targeting it.
+ * <p>
+ * Each endpoint is also a bulkhead: its own dispatcher, connection pool and {@link Bulkhead} keep a slow tenant from
+ * holding the threads and sockets of the others, and calls beyond its queue are rejected right away.
+ * <p>
+ * Pool sizes, timeouts, request rates, retry policies and circuit breaker thresholds are read from the system
+ * properties listed in {@link ConnectorSettings} when an endpoint is first used. Dispatchers run on daemon threads
+ * released after a minute of inactivity, so they neither keep the JVM alive nor pin an unused connector classloader
+ * for long.
+ * <p>
+ * Bonita gives connectors no hook when their classloader is discarded, so endpoints unused for
+ * {@link ConnectorSettings#httpIdleRelease()} are released by a background sweep: their connections are closed, they
+ * are dropped from the registry, and the webhook receiver is stopped once no endpoint is left. {@link #shutdown()}
+ * releases everything eagerly.
+ */
+public final class UIPathServiceRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UIPathServiceRegistry.class.getName());
+
+    private static final String CONTENT_TYPE = "Content-Type";
+    private static final String APPLICATION_JSON = "application/json";
+    private static final String X_UIPATH_ORGANIZATION_UNIT_ID_HEADER = "X-UIPATH-OrganizationUnitId";
+
+    private static final long MIN_RELEASE_PERIOD_MILLIS = 1000;
+
+    private static final ConcurrentMap<ServiceKey, Entry> ENTRIES = new ConcurrentHashMap<>();
+    private static final AtomicBoolean RELEASE_SCHEDULED = new AtomicBoolean();
+
+    private UIPathServiceRegistry() {
+    }
+
+    /**
+     * @return the service of the endpoint, after applying the request limits currently configured for it
+     */
+    public static UIPathService service(ServiceKey key) {
+        Entry entry = ENTRIES.computeIfAbsent(key, UIPathServiceRegistry::create);
+        entry.touch();
+        entry.applyLimits();
+        scheduleRelease();
+        return entry.service;
+    }
+
+    /**
+     * @return the bulkhead bounding the calls of a service handed out by this registry, <code>null</code> for other
+     *         services
+     */
+    static Bulkhead bulkhead(UIPathService service) {
+        for (Entry entry : ENTRIES.values()) {
+            if (entry.service == service) {
+                return entry.bulkhead;
+            }
+        }
+        return null;
+    }
+
+    static OkHttpClient client(ServiceKey key) {
+        Entry entry = ENTRIES.computeIfAbsent(key, UIPathServiceRegistry::create);
+        entry.touch();
+        scheduleRelease();
+        return entry.client;
+    }
+
+    /**
+     * Closes every shared client: idle connections are evicted and dispatcher threads are stopped. Circuit breaker
+     * states are forgotten and the webhook receiver is stopped as well.
+     */
+    public static void shutdown() {
+        ENTRIES.values().forEach(Entry::close);
+        ENTRIES.clear();
+        CircuitBreakerInterceptor.reset();
+        WebhookReceiver.stopShared();
+    }
+
+    /**
+     * Drops the endpoints unused for {@link ConnectorSettings#httpIdleRelease()} and closes their connections. Their
+     * dispatchers are left running, since services handed out earlier may still be in use, and their threads stop on
+     * their own. The webhook receiver is stopped once no endpoint is left and no job is watched.
+     */
+    static void releaseIdle() {
+        Duration idleRelease = ConnectorSettings.httpIdleRelease();
+        ENTRIES.forEach((key, entry) -> {
+            if (entry.isIdle(idleRelease) && ENTRIES.remove(key, entry)) {
+                LOGGER.debug("Releasing idle HTTP client for {}", key);
+                entry.release();
+            }
+        });
+        if (ENTRIES.isEmpty()) {
+            WebhookReceiver.stopSharedIfIdle();
+        }
+    }
+
+    private static void scheduleRelease() {
+        if (RELEASE_SCHEDULED.compareAndSet(false, true)) {
+            long period = Math.max(ConnectorSettings.httpIdleRelease().toMillis(), MIN_RELEASE_PERIOD_MILLIS);
+            SharedExecutors.scheduler().schedule(
+                    () -> SharedExecutors.background().execute(UIPathServiceRegistry::releaseTick),
+                    period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static void releaseTick() {
+        RELEASE_SCHEDULED.set(false);
+        try {
+            releaseIdle();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to release idle HTTP clients.", e);
+        }
+        if (!ENTRIES.isEmpty() || WebhookReceiver.isRunning()) {
+            scheduleRelease();
+        }
+    }
+
+    private static Entry create(ServiceKey key) {
+        LOGGER.debug("Creating HTTP client for {}", key);
+        Dispatcher dispatcher = new Dispatcher(SharedExecutors.newDispatcherExecutor(key.toString()));
+        ConnectionPool connectionPool = new ConnectionPool(ConnectorSettings.httpMaxIdleConnections(key.getBaseUrl()),
+                ConnectorSettings.httpKeepAlive().toMillis(), TimeUnit.MILLISECONDS);
+        OkHttpClient.Builder clientBuilder = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(connectionPool)
+                .connectTimeout(ConnectorSettings.httpConnectTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .readTimeout(ConnectorSettings.httpReadTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .writeTimeout(ConnectorSettings.httpWriteTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .callTimeout(ConnectorSettings.httpCallTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        AtomicLong lastUsed = new AtomicLong(System.nanoTime());
+        Interceptor jsonHeaderInterceptor = chain -> {
+            Request.Builder requestBuilder = chain.request().newBuilder();
+            requestBuilder.header(CONTENT_TYPE, APPLICATION_JSON);
+            if (key.isCloud()) {
+                requestBuilder.header(X_UIPATH_ORGANIZATION_UNIT_ID_HEADER, key.getOrganizationUnitId());
+            }
+            return chain.proceed(requestBuilder.build());
+        };
+        clientBuilder.addInterceptor(chain -> {
+            lastUsed.set(System.nanoTime());
+            return chain.proceed(chain.request());
+        });
+        clientBuilder.addInterceptor(RetryInterceptor.fromSettings());
+        clientBuilder.addInterceptor(RateLimitInterceptor.fromSettings(key.getBaseUrl()));
+        clientBuilder.addInterceptor(new CircuitBreakerInterceptor(key.getBaseUrl()));
+        clientBuilder.addInterceptor(jsonHeaderInterceptor);
+        clientBuilder.authenticator(new TokenAuthenticator(
+                Arrays.asList(UIPathConnector.CLOUD_TOKENS, UIPathConnector.ON_PREMISE_TOKENS)));
+        if (LOGGER.isDebugEnabled()) {
+            HttpLoggingInterceptor loggerInterceptor = new HttpLoggingInterceptor();
+            loggerInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
+            clientBuilder.addInterceptor(loggerInterceptor);
+        }
+        OkHttpClient client = clientBuilder.build();
+        UIPathService service = new Retrofit.Builder()
+                .client(client)
+                .addConverterFactory(new WrappedAttributeConverter())
+                .addConverterFactory(JacksonConverterFactory.create(JsonMappers.mapper()))
+                .baseUrl(key.getBaseUrl())
+                .build()
+                .create(UIPathService.class);
+        Entry entry = new Entry(key, client, service, new Bulkhead(key.toString(), 0, 0), lastUsed);
+        entry.applyLimits();
+        return entry;
+    }
+
+    private static final class Entry {
+
+        private final ServiceKey key;
+        private final OkHttpClient client;
+        private final UIPathService service;
+        private final Bulkhead bulkhead;
+        private final AtomicLong lastUsed;
+
+        Entry(ServiceKey key, OkHttpClient client, UIPathService service, Bulkhead bulkhead, AtomicLong lastUsed) {
+            this.key = key;
+            this.client = client;
+            this.service = service;
+            this.bulkhead = bulkhead;
+            this.lastUsed = lastUsed;
+        }
+
+        void touch() {
+            lastUsed.set(System.nanoTime());
+        }
+
+        boolean isIdle(Duration idleRelease) {
+            Dispatcher dispatcher = client.dispatcher();
+            return System.nanoTime() - lastUsed.get() >= idleRelease.toNanos()
+                    && bulkhead.getInFlight() == 0
+                    && dispatcher.runningCallsCount() == 0
+                    && dispatcher.queuedCallsCount() == 0;
+        }
+
+        void applyLimits() {
+            int maxRequests = ConnectorSettings.httpMaxRequests(key.getBaseUrl());
+            int maxRequestsPerHost = ConnectorSettings.httpMaxRequestsPerHost(key.getBaseUrl());
+            int maxQueuedRequests = ConnectorSettings.httpMaxQueuedRequests(key.getBaseUrl());
+            Dispatcher dispatcher = client.dispatcher();
+            if (dispatcher.getMaxRequests() != maxRequests
+                    || dispatcher.getMaxRequestsPerHost() != maxRequestsPerHost
+                    || bulkhead.getMaxQueued() != maxQueuedRequests) {
+                LOGGER.debug("Limiting {} to {} concurrent requests ({} per host) and {} queued ones", key,
+                        maxRequests, maxRequestsPerHost, maxQueuedRequests);
+                dispatcher.setMaxRequests(maxRequests);
+                dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+                bulkhead.resize(maxRequests, maxQueuedRequests);
+            }
+        }
+
+        void release() {
+            client.connectionPool().evictAll();
+        }
+
+        void close() {
+            client.dispatcher().executorService().shutdown();
+            release();
+        }
+    }
+
+}
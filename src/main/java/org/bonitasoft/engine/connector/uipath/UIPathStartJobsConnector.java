@@ -14,7 +14,8 @@
  */
 package org.bonitasoft.engine.connector.uipath;
 
-import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -22,10 +23,21 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.bonitasoft.engine.connector.ConnectorException;
 import org.bonitasoft.engine.connector.ConnectorValidationException;
+import org.bonitasoft.engine.connector.uipath.client.CacheStatistics;
+import org.bonitasoft.engine.connector.uipath.client.ConnectorMetrics;
+import org.bonitasoft.engine.connector.uipath.client.ConnectorSettings;
+import org.bonitasoft.engine.connector.uipath.client.ExpiringCache;
+import org.bonitasoft.engine.connector.uipath.converters.JsonMappers;
 import org.bonitasoft.engine.connector.uipath.model.Job;
 import org.bonitasoft.engine.connector.uipath.model.JobRequest;
 import org.bonitasoft.engine.connector.uipath.model.Release;
@@ -38,8 +50,6 @@ import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 
-import retrofit2.Response;
-
 public class UIPathStartJobsConnector extends UIPathConnector {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(UIPathStartJobsConnector.class.getName());
@@ -54,6 +64,26 @@ public class UIPathStartJobsConnector extends UIPathConnector {
     static final String RUNTIME_TYPE = "runtimeType";
     static final String SOURCE = "source";
 
+    static final String AUTHENTICATION_METRIC = "startJobs.authentication";
+    static final String RELEASES_METRIC = "startJobs.releases";
+    static final String ROBOTS_METRIC = "startJobs.robots";
+    static final String LOOKUPS_METRIC = "startJobs.lookups";
+    static final String START_METRIC = "startJobs.start";
+
+    static final String RELEASE_FIELDS = "Id,Key,ProcessKey,ProcessVersion,CurrentVersion";
+    static final String ROBOT_FIELDS = "Id,Name";
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final Pattern RELEASE_NOT_FOUND_PATTERN = Pattern
+            .compile("release.*(not found|does not exist|not exist)", Pattern.CASE_INSENSITIVE);
+
+    private static final ExpiringCache<List<Object>, List<Release>> RELEASES = new ExpiringCache<>(
+            ConnectorSettings.releasesCacheTtl(), ConnectorSettings.releasesCacheMaxSize());
+    private static final ExpiringCache<List<Object>, Integer> ROBOT_IDS = new ExpiringCache<>(
+            ConnectorSettings.robotsCacheTtl(), ConnectorSettings.robotsCacheRefreshAfter(),
+            ConnectorSettings.robotsCacheMaxSize());
+
+    private boolean releasesFromCache;
+
     @Override
     public void validateInputParameters() throws ConnectorValidationException {
         super.validateInputParameters();
@@ -136,7 +166,7 @@ public class UIPathStartJobsConnector extends UIPathConnector {
             }
             Set<?> nonSerializableValue = map.values().stream().filter(value -> {
                 try {
-                    mapper.writeValueAsString(value);
+                    writer.writeValueAsString(value);
                     return false;
                 } catch (Exception e) {
                     return true;
@@ -156,115 +186,267 @@ public class UIPathStartJobsConnector extends UIPathConnector {
 
     List<Job> startJobs(String token, Release release, List<Integer> robotIds)
             throws ConnectorException {
-        StartInfo startInfo = new StartInfo()
-                .setSource(Source.MANUAL.toString())
-                .setReleaseKey(release.getKey());
-
-        getRuntimeType().ifPresent(startInfo::setRuntimeType);
-        getStrategy().ifPresent(startInfo::setStrategy);
-
-        if (Objects.equals(startInfo.getStrategy(), Strategy.SPECIFIC.toString())) {
-            startInfo.setRobotIds(robotIds);
-        }
-        if (Objects.equals(startInfo.getStrategy(), Strategy.JOBS_COUNT.toString())
-                || Objects.equals(startInfo.getStrategy(), Strategy.MODERN_JOBS_COUNT.toString())) {
-            getJobsCount().ifPresent(startInfo::setJobsCount);
-        }
+        String args = null;
         try {
-            startInfo.setArgs(mapper.writeValueAsString(handleInputArgs()));
+            args = writer.writeValueAsString(handleInputArgs());
         } catch (JsonProcessingException e) {
             LOGGER.error("Failed to convert InputArguments into a JSON String.", e);
         }
-        Response<List<Job>> response;
+        StartInfo startInfo = startInfo(release, getRuntimeType().orElse(null), getStrategy().orElse(null), robotIds,
+                getJobsCount().orElse(null), args);
         try {
-            response = getService()
-                    .startJob(createAuthenticationHeaders(token), new JobRequest().setStartInfo(startInfo))
-                    .execute();
-        } catch (IOException e) {
-            throw new ConnectorException("Failed to start job.", e);
-        }
-        if (!response.isSuccessful()) {
-            if (LOGGER.isErrorEnabled()) {
-                LOGGER.error(response.toString());
+            return UIPathClient.await(getClient().startJobs(createAuthenticationHeaders(token),
+                    new JobRequest().setStartInfo(startInfo)));
+        } catch (UIPathResponseException e) {
+            LOGGER.error(e.getMessage());
+            if (isReleaseNotFound(e.getCode(), e.getErrorBody())) {
+                LOGGER.debug("Release of process {} not found, dropping it from the cache", getProcessName());
+                RELEASES.invalidate(releasesCacheKey());
             }
-            throw new ConnectorException(
-                    String.format("Failed to start job: %s - %s", response.code(), getErrorMessage(response)));
+            throw e;
         }
-        return response.body();
+    }
+
+    /**
+     * Builds the start info of the jobs of a release, shared by the connectors starting jobs. The robot ids are only
+     * sent with the Specific strategy, and the jobs count with the job count strategies.
+     *
+     * @param args the input arguments serialized in JSON
+     */
+    static StartInfo startInfo(Release release, String runtimeType, String strategy, List<Integer> robotIds,
+            Integer jobsCount, String args) {
+        StartInfo startInfo = new StartInfo()
+                .setSource(Source.MANUAL.toString())
+                .setReleaseKey(release.getKey())
+                .setStrategy(strategy)
+                .setArgs(args);
+        if (runtimeType != null && !runtimeType.isEmpty()) {
+            startInfo.setRuntimeType(runtimeType);
+        }
+        if (Objects.equals(strategy, Strategy.SPECIFIC.toString())) {
+            startInfo.setRobotIds(robotIds);
+        }
+        if (Objects.equals(strategy, Strategy.JOBS_COUNT.toString())
+                || Objects.equals(strategy, Strategy.MODERN_JOBS_COUNT.toString())) {
+            startInfo.setJobsCount(jobsCount);
+        }
+        return startInfo;
+    }
+
+    static boolean isReleaseNotFound(int code, String errorMessage) {
+        return code == HTTP_NOT_FOUND
+                || (errorMessage != null && RELEASE_NOT_FOUND_PATTERN.matcher(errorMessage).find());
     }
 
     @Override
     protected void executeBusinessLogic() throws ConnectorException {
+        long start = System.nanoTime();
         String token = authenticate();
-        List<Release> releases = releases(token);
+        Duration authentication = ConnectorMetrics.recordSince(AUTHENTICATION_METRIC, start);
+
+        long lookupsStart = System.nanoTime();
+        CompletableFuture<List<Release>> releases = ConnectorMetrics.time(RELEASES_METRIC, cachedReleasesAsync(token));
+        CompletableFuture<List<Integer>> robotIds = isSpecificStrategy()
+                ? ConnectorMetrics.time(ROBOTS_METRIC, robotIdsAsync(token))
+                : CompletableFuture.completedFuture(Collections.emptyList());
+        awaitLookups(releases, robotIds);
+        Duration lookups = ConnectorMetrics.recordSince(LOOKUPS_METRIC, lookupsStart);
+        Release release = selectRelease(token, UIPathClient.await(releases));
+        List<Integer> ids = UIPathClient.await(robotIds);
+
+        long startJobsStart = System.nanoTime();
+        List<String> output = startJobs(token, release, ids).stream()
+                .map(this::toJSON)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        Duration startJobs = ConnectorMetrics.recordSince(START_METRIC, startJobsStart);
+        LOGGER.debug("Started jobs of process {}: authentication {} ms, lookups {} ms, start {} ms",
+                getProcessName(), authentication.toMillis(), lookups.toMillis(), startJobs.toMillis());
+        setOutputParameter(STARTED_JOBS_OUTPUT, output);
+    }
+
+    /**
+     * Waits for the independent lookups, issued concurrently, within a single deadline. Their failures are reported
+     * by the callers, in order.
+     */
+    private void awaitLookups(CompletableFuture<?>... lookups) throws ConnectorException {
+        Duration timeout = withinExecutionDeadline(ConnectorSettings.startJobsLookupTimeout());
+        CountDownLatch done = new CountDownLatch(1);
+        CompletableFuture.allOf(lookups).whenComplete((result, error) -> done.countDown());
+        try {
+            if (!done.await(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                Stream.of(lookups).forEach(lookup -> lookup.cancel(true));
+                throw new UIPathTimeoutException(String.format(
+                        "Release and robot lookups of process %s did not complete within %s ms.", getProcessName(),
+                        timeout.toMillis()), null);
+            }
+        } catch (InterruptedException e) {
+            Stream.of(lookups).forEach(lookup -> lookup.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new ConnectorException("Interrupted while looking up releases and robots.", e);
+        }
+    }
+
+    /**
+     * Selects the release in the cached catalog of the process, reloading it once when the release is missing from
+     * it, e.g. after a new deployment.
+     */
+    private Release selectRelease(String token, List<Release> releases) throws ConnectorException {
+        try {
+            return selectRelease(releases, getProcessName(), getProcessVersion().orElse(null));
+        } catch (ConnectorException e) {
+            if (!releasesFromCache) {
+                throw e;
+            }
+            LOGGER.debug("{}, reloading the releases of the process", e.getMessage());
+            RELEASES.invalidate(releasesCacheKey());
+            return selectRelease(UIPathClient.await(fetchReleasesAsync(token)), getProcessName(),
+                    getProcessVersion().orElse(null));
+        }
+    }
+
+    /**
+     * @return the release of the given version of the process, or its current release when no version is given
+     */
+    static Release selectRelease(List<Release> releases, String processName, String processVersion)
+            throws ConnectorException {
         List<Release> processReleases = releases.stream()
-                .filter(r -> Objects.equals(r.getProcessKey(), getProcessName()))
+                .filter(r -> Objects.equals(r.getProcessKey(), processName))
                 .collect(Collectors.toList());
         if (processReleases.isEmpty()) {
             throw new ConnectorException(
-                    String.format("No release found for process %s.", getProcessName()));
+                    String.format("No release found for process %s.", processName));
+        }
+        if (processVersion != null) {
+            processReleases.removeIf(r -> !Objects.equals(processVersion, r.getProcessVersion()));
         }
-        getProcessVersion()
-                .ifPresent(version -> processReleases.removeIf(r -> !Objects.equals(version, r.getProcessVersion())));
         if (processReleases.isEmpty()) {
             throw new ConnectorException(
-                    String.format("No release found for process %s and version %s.", getProcessName(),
-                            getProcessVersion().orElse("Unknown")));
+                    String.format("No release found for process %s and version %s.", processName, processVersion));
         }
         Release release = processReleases.get(0);
-        if (!getProcessVersion().isPresent() && release.getCurrentVersion() != null) {
+        if (processVersion == null && release.getCurrentVersion() != null) {
             long currentRelease = release.getCurrentVersion().getReleaseId();
             release = processReleases.stream().filter(r -> r.getId() == currentRelease).findFirst()
                     .orElseThrow(() -> new ConnectorException(
                             String.format("No release found with id %s for process %s", currentRelease,
-                                    getProcessName())));
+                                    processName)));
         }
-        List<Robot> robots = robots(token);
-        List<Integer> robotIds = robots.stream()
-                .filter(r -> getRobots().orElse(Collections.emptyList()).contains(r.getName()))
-                .map(Robot::getId)
-                .collect(Collectors.toList());
+        return release;
+    }
 
-        List<String> output = startJobs(token, release, robotIds).stream()
-                .map(this::toJSON)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
-        setOutputParameter(STARTED_JOBS_OUTPUT, output);
+    /**
+     * All the releases of the process, served from a cache shared between executions. Versions are filtered in
+     * memory so that a single cache entry serves every version of the process. Empty results are not cached.
+     */
+    CompletableFuture<List<Release>> cachedReleasesAsync(String token) {
+        List<Release> cached = RELEASES.get(releasesCacheKey());
+        releasesFromCache = cached != null;
+        return releasesFromCache ? CompletableFuture.completedFuture(cached) : fetchReleasesAsync(token);
     }
 
-    List<Release> releases(String token) throws ConnectorException {
-        Response<List<Release>> response;
-        try {
-            response = getService().releases(createAuthenticationHeaders(token)).execute();
-        } catch (IOException e) {
-            throw new ConnectorException("Failed to retrieve releases.", e);
-        }
-        if (!response.isSuccessful()) {
-            throw new ConnectorException(String.format("Failed to retrieve releases: %s - %s",
-                    response.code(),
-                    getErrorMessage(response)));
-        }
-        return response.body();
+    private CompletableFuture<List<Release>> fetchReleasesAsync(String token) {
+        List<Object> key = releasesCacheKey();
+        return getClient().releases(createAuthenticationHeaders(token), ODataFilters.eq("ProcessKey", getProcessName()),
+                RELEASE_FIELDS)
+                .thenApply(releases -> {
+                    List<Release> unmodifiable = Collections.unmodifiableList(releases);
+                    if (!unmodifiable.isEmpty()) {
+                        RELEASES.put(key, unmodifiable);
+                    }
+                    return unmodifiable;
+                });
     }
 
-    List<Robot> robots(String token) throws ConnectorException {
-        Response<List<Robot>> response;
-        try {
-            response = getService().robots(createAuthenticationHeaders(token)).execute();
-        } catch (IOException e) {
-            throw new ConnectorException("Failed to retrieve robots.", e);
+    private List<Object> releasesCacheKey() {
+        List<Object> key = new ArrayList<>(tenantKey());
+        key.add(getProcessName());
+        return key;
+    }
+
+    static void clearLookupCaches() {
+        RELEASES.clear();
+        ROBOT_IDS.clear();
+    }
+
+    /**
+     * Resolves robot names to ids through a cache shared between executions. Only the names missing from the cache
+     * are fetched, in a single call, and entries close to expiry are refreshed in the background.
+     */
+    CompletableFuture<List<Integer>> robotIdsAsync(String token) {
+        List<String> names = getRobots().orElse(Collections.emptyList());
+        Map<String, Integer> cachedIds = new HashMap<>();
+        List<String> missingNames = new ArrayList<>();
+        List<String> staleNames = new ArrayList<>();
+        for (String name : names) {
+            List<Object> key = robotCacheKey(name);
+            Integer id = ROBOT_IDS.get(key);
+            if (id == null) {
+                missingNames.add(name);
+            } else {
+                cachedIds.put(name, id);
+                if (ROBOT_IDS.needsRefresh(key)) {
+                    staleNames.add(name);
+                }
+            }
         }
-        if (!response.isSuccessful()) {
-            throw new ConnectorException(String.format("Failed to retrieve robots: %s - %s",
-                    response.code(),
-                    getErrorMessage(response)));
+        if (!staleNames.isEmpty()) {
+            fetchRobotIds(token, staleNames).exceptionally(e -> {
+                LOGGER.debug("Background refresh of robot ids failed, cached ids are kept until they expire.", e);
+                return null;
+            });
         }
-        return response.body();
+        CompletableFuture<Map<String, Integer>> fetchedIds = missingNames.isEmpty()
+                ? CompletableFuture.completedFuture(Collections.emptyMap())
+                : fetchRobotIds(token, missingNames);
+        return fetchedIds.thenApply(fetched -> {
+            LOGGER.debug("Robot id cache: {}", ROBOT_IDS.statistics());
+            Map<String, Integer> idsByName = new HashMap<>(cachedIds);
+            idsByName.putAll(fetched);
+            List<String> unknownNames = names.stream()
+                    .filter(name -> !idsByName.containsKey(name))
+                    .collect(Collectors.toList());
+            if (!unknownNames.isEmpty()) {
+                throw new CompletionException(
+                        new ConnectorException(String.format("No robot found with name(s) %s.", unknownNames)));
+            }
+            return names.stream()
+                    .map(idsByName::get)
+                    .distinct()
+                    .collect(Collectors.toList());
+        });
+    }
+
+    private CompletableFuture<Map<String, Integer>> fetchRobotIds(String token, List<String> names) {
+        return getClient().robots(createAuthenticationHeaders(token), ODataFilters.in("Name", names), ROBOT_FIELDS)
+                .thenApply(robots -> {
+                    Map<String, Integer> idsByName = robots.stream()
+                            .collect(Collectors.toMap(Robot::getName, Robot::getId, (id1, id2) -> id1));
+                    idsByName.forEach((name, id) -> ROBOT_IDS.put(robotCacheKey(name), id));
+                    return idsByName;
+                });
+    }
+
+    private List<Object> robotCacheKey(String name) {
+        List<Object> key = new ArrayList<>(tenantKey());
+        key.add(name);
+        return key;
+    }
+
+    /**
+     * Hit and miss counters of the robot id cache, useful to size it.
+     */
+    public static CacheStatistics robotIdCacheStatistics() {
+        return ROBOT_IDS.statistics();
+    }
+
+    private boolean isSpecificStrategy() {
+        return getStrategy().filter(Strategy.SPECIFIC.toString()::equals).isPresent();
     }
 
     private String toJSON(Job job) {
         try {
-            return mapper.writeValueAsString(job);
+            return JsonMappers.writer(Job.class).writeValueAsString(job);
         } catch (JsonProcessingException e) {
             LOGGER.error("Failed to parse output.", e);
             return null;
@@ -0,0 +1,247 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+import org.bonitasoft.engine.connector.ConnectorException;
+import org.bonitasoft.engine.connector.ConnectorValidationException;
+import org.bonitasoft.engine.connector.uipath.converters.JsonMappers;
+import org.bonitasoft.engine.connector.uipath.model.Job;
+import org.bonitasoft.engine.connector.uipath.model.JobRequest;
+import org.bonitasoft.engine.connector.uipath.model.Release;
+import org.bonitasoft.engine.connector.uipath.model.Robot;
+import org.bonitasoft.engine.connector.uipath.model.StartInfo;
+import org.bonitasoft.engine.connector.uipath.model.Strategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+/**
+ * Starts the jobs of several processes in one execution. The token is requested once, the releases of all the
+ * processes are fetched with a single query, and the start calls are issued concurrently, at most
+ * <code>maxParallelStarts</code> at a time. A process that cannot be started does not prevent the others from
+ * starting: its error is reported in its result.
+ */
+public class UIPathStartProcessesConnector extends UIPathConnector {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UIPathStartProcessesConnector.class.getName());
+
+    static final String PROCESSES = "processes";
+    static final String RUNTIME_TYPE = "runtimeType";
+    static final String MAX_PARALLEL_STARTS = "maxParallelStarts";
+    static final String RESULTS_OUTPUT = "results";
+
+    static final String PROCESS_NAME = "processName";
+    static final String PROCESS_VERSION = "processVersion";
+    static final String STRATEGY = "strategy";
+    static final String ROBOT_NAMES = "robotNames";
+    static final String JOBS_COUNT = "jobsCount";
+    static final String INPUT_ARGUMENTS = "inputArguments";
+    static final String STARTED_JOBS = "startedJobs";
+    static final String ERROR = "error";
+
+    static final int DEFAULT_MAX_PARALLEL_STARTS = 4;
+
+    @Override
+    public void validateInputParameters() throws ConnectorValidationException {
+        super.validateInputParameters();
+        Object processes = getInputParameter(PROCESSES);
+        if (!(processes instanceof List) || ((List<?>) processes).isEmpty()) {
+            throw new ConnectorValidationException(this,
+                    String.format("'%s' parameter must be a non empty List of Map.", PROCESSES));
+        }
+        for (Object process : (List<?>) processes) {
+            checkProcess(process);
+        }
+        Object maxParallelStarts = getInputParameter(MAX_PARALLEL_STARTS);
+        if (maxParallelStarts != null
+                && (!(maxParallelStarts instanceof Integer) || (Integer) maxParallelStarts <= 0)) {
+            throw new ConnectorValidationException(this,
+                    String.format("'%s' parameter must be a positive Integer", MAX_PARALLEL_STARTS));
+        }
+    }
+
+    private void checkProcess(Object process) throws ConnectorValidationException {
+        if (!(process instanceof Map)) {
+            throw new ConnectorValidationException(this,
+                    String.format("Each process must be a Map, found %s.", process));
+        }
+        Map<?, ?> values = (Map<?, ?>) process;
+        Object name = values.get(PROCESS_NAME);
+        if (!(name instanceof String) || ((String) name).isBlank()) {
+            throw new ConnectorValidationException(this,
+                    String.format("Process %s has no '%s'.", values, PROCESS_NAME));
+        }
+        Object strategy = values.get(STRATEGY);
+        if (Strategy.SPECIFIC.toString().equals(strategy)) {
+            Object robots = values.get(ROBOT_NAMES);
+            if (!(robots instanceof List) || ((List<?>) robots).isEmpty()) {
+                throw new ConnectorValidationException(this, String.format(
+                        "Robots should be provided when using Specific strategy for process %s.", name));
+            }
+        }
+        if (Strategy.JOBS_COUNT.toString().equals(strategy)) {
+            Object jobsCount = values.get(JOBS_COUNT);
+            if (!(jobsCount instanceof Integer) || (Integer) jobsCount <= 0) {
+                throw new ConnectorValidationException(this, String.format(
+                        "A job count greater than 0 should be provided when using JobsCount strategy for process %s.",
+                        name));
+            }
+        }
+        Object inputArguments = values.get(INPUT_ARGUMENTS);
+        if (inputArguments != null && !(inputArguments instanceof Map) && !(inputArguments instanceof List)) {
+            throw new ConnectorValidationException(this, String.format(
+                    "'%s' of process %s must be a Map.", INPUT_ARGUMENTS, name));
+        }
+    }
+
+    @Override
+    protected void executeBusinessLogic() throws ConnectorException {
+        Map<String, String> headers = createAuthenticationHeaders(authenticate());
+        List<Map<?, ?>> processes = getProcesses();
+        Set<String> processNames = processes.stream()
+                .map(process -> (String) process.get(PROCESS_NAME))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<String> robotNames = processes.stream()
+                .filter(process -> Strategy.SPECIFIC.toString().equals(process.get(STRATEGY)))
+                .flatMap(process -> ((List<?>) process.get(ROBOT_NAMES)).stream())
+                .map(String::valueOf)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        CompletableFuture<List<Release>> releases = getClient().releases(headers,
+                ODataFilters.in("ProcessKey", processNames), UIPathStartJobsConnector.RELEASE_FIELDS);
+        CompletableFuture<Map<String, Integer>> robotIds = robotNames.isEmpty()
+                ? CompletableFuture.completedFuture(Collections.emptyMap())
+                : getClient().robots(headers, ODataFilters.in("Name", robotNames),
+                        UIPathStartJobsConnector.ROBOT_FIELDS)
+                        .thenApply(robots -> robots.stream()
+                                .collect(Collectors.toMap(Robot::getName, Robot::getId, (id1, id2) -> id1)));
+        List<Release> allReleases = UIPathClient.await(releases);
+        Map<String, Integer> idsByName = UIPathClient.await(robotIds);
+
+        Semaphore permits = new Semaphore(getMaxParallelStarts());
+        List<CompletableFuture<List<Job>>> starts = new ArrayList<>();
+        for (Map<?, ?> process : processes) {
+            CompletableFuture<List<Job>> start;
+            try {
+                StartInfo startInfo = startInfo(process, allReleases, idsByName);
+                acquire(permits);
+                start = getClient().startJobs(headers, new JobRequest().setStartInfo(startInfo));
+                start.whenComplete((jobs, error) -> permits.release());
+            } catch (ConnectorException e) {
+                start = CompletableFuture.failedFuture(e);
+            }
+            starts.add(start);
+        }
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (int i = 0; i < processes.size(); i++) {
+            results.add(result(processes.get(i), starts.get(i)));
+        }
+        setOutputParameter(RESULTS_OUTPUT, results);
+    }
+
+    private static void acquire(Semaphore permits) throws ConnectorException {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectorException("Interrupted while starting processes.", e);
+        }
+    }
+
+    private Map<String, Object> result(Map<?, ?> process, CompletableFuture<List<Job>> start) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put(PROCESS_NAME, process.get(PROCESS_NAME));
+        try {
+            List<String> startedJobs = new ArrayList<>();
+            for (Job job : UIPathClient.await(start)) {
+                startedJobs.add(JsonMappers.writer(Job.class).writeValueAsString(job));
+            }
+            result.put(STARTED_JOBS, startedJobs);
+            result.put(ERROR, null);
+        } catch (ConnectorException | JsonProcessingException e) {
+            LOGGER.debug("Failed to start process {}", process.get(PROCESS_NAME), e);
+            result.put(STARTED_JOBS, Collections.emptyList());
+            result.put(ERROR, e.getMessage());
+        }
+        return result;
+    }
+
+    StartInfo startInfo(Map<?, ?> process, List<Release> releases, Map<String, Integer> robotIds)
+            throws ConnectorException {
+        String processName = (String) process.get(PROCESS_NAME);
+        Object processVersion = process.get(PROCESS_VERSION);
+        Release release = UIPathStartJobsConnector.selectRelease(releases, processName,
+                processVersion != null ? processVersion.toString() : null);
+        Object runtimeType = process.containsKey(RUNTIME_TYPE) ? process.get(RUNTIME_TYPE)
+                : getInputParameter(RUNTIME_TYPE);
+        String strategy = process.get(STRATEGY) != null ? process.get(STRATEGY).toString() : null;
+        List<Integer> ids = null;
+        if (Objects.equals(strategy, Strategy.SPECIFIC.toString())) {
+            List<String> names = ((List<?>) process.get(ROBOT_NAMES)).stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.toList());
+            List<String> unknownNames = names.stream()
+                    .filter(name -> !robotIds.containsKey(name))
+                    .collect(Collectors.toList());
+            if (!unknownNames.isEmpty()) {
+                throw new ConnectorException(String.format("No robot found with name(s) %s.", unknownNames));
+            }
+            ids = names.stream().map(robotIds::get).distinct().collect(Collectors.toList());
+        }
+        String args;
+        try {
+            args = writer.writeValueAsString(inputArguments(process.get(INPUT_ARGUMENTS)));
+        } catch (JsonProcessingException e) {
+            throw new ConnectorException(
+                    String.format("Failed to convert the input arguments of process %s into JSON.", processName), e);
+        }
+        return UIPathStartJobsConnector.startInfo(release, runtimeType != null ? runtimeType.toString() : null,
+                strategy, ids, (Integer) process.get(JOBS_COUNT), args);
+    }
+
+    private Map<Object, Object> inputArguments(Object inputArguments) {
+        if (inputArguments instanceof List) {
+            return toMap(inputArguments);
+        }
+        return inputArguments != null ? (Map<Object, Object>) inputArguments : new HashMap<>();
+    }
+
+    List<Map<?, ?>> getProcesses() {
+        List<Map<?, ?>> processes = new ArrayList<>();
+        for (Object process : (List<?>) getInputParameter(PROCESSES)) {
+            processes.add((Map<?, ?>) process);
+        }
+        return processes;
+    }
+
+    int getMaxParallelStarts() {
+        Object value = getInputParameter(MAX_PARALLEL_STARTS);
+        return value != null ? (Integer) value : DEFAULT_MAX_PARALLEL_STARTS;
+    }
+
+}
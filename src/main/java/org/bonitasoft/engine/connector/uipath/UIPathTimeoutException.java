@@ -0,0 +1,31 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath;
+
+import org.bonitasoft.engine.connector.ConnectorException;
+
+/**
+ * An Orchestrator call that did not complete in time: a connect, read, write or call timeout was reached, or the
+ * deadline of the connector execution expired.
+ */
+public class UIPathTimeoutException extends ConnectorException {
+
+    private static final long serialVersionUID = 1L;
+
+    public UIPathTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
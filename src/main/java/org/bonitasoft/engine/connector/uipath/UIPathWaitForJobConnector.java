@@ -0,0 +1,262 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.bonitasoft.engine.connector.ConnectorException;
+import org.bonitasoft.engine.connector.ConnectorValidationException;
+import org.bonitasoft.engine.connector.uipath.client.Backoff;
+import org.bonitasoft.engine.connector.uipath.client.ConnectorSettings;
+import org.bonitasoft.engine.connector.uipath.client.ExpiringCache;
+import org.bonitasoft.engine.connector.uipath.model.Job;
+import org.bonitasoft.engine.connector.uipath.model.JobState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Polls a job until it reaches a terminal state (Successful, Faulted or Stopped). Polls are spaced by a capped
+ * exponential backoff with jitter. When seeded from history, the first poll is delayed until the job is expected to
+ * be done, based on the recent successful runs of the same release.
+ * <p>
+ * With shared polling, the job is handed over to the {@link JobStatusPoller} which checks all the jobs watched on a
+ * tenant with a single query per tick. This is always the case when the {@link WebhookReceiver} is configured, so
+ * that the job is completed by its webhook event.
+ */
+public class UIPathWaitForJobConnector extends UIPathGetJobConnector {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UIPathWaitForJobConnector.class.getName());
+
+    static final String TIMEOUT = "timeoutSeconds";
+    static final String INITIAL_INTERVAL = "initialIntervalSeconds";
+    static final String MAX_INTERVAL = "maxIntervalSeconds";
+    static final String BACKOFF_MULTIPLIER = "backoffMultiplier";
+    static final String SEED_FROM_HISTORY = "seedFromHistory";
+    static final String SHARED_POLLING = "sharedPolling";
+
+    static final int DEFAULT_TIMEOUT = 300;
+    static final int DEFAULT_INITIAL_INTERVAL = 2;
+    static final int DEFAULT_MAX_INTERVAL = 60;
+    static final double DEFAULT_BACKOFF_MULTIPLIER = 2d;
+    static final double JITTER = 0.2;
+    static final int HISTORY_SIZE = 10;
+
+    private static final String HISTORY_FIELDS = "StartTime,EndTime";
+    private static final String SEED_FIELDS = "ReleaseName,StartTime";
+    private static final String KEY_FIELD = "Key";
+
+    private static final ExpiringCache<List<Object>, Duration> RELEASE_DURATIONS = new ExpiringCache<>(
+            ConnectorSettings.jobDurationCacheTtl(), ConnectorSettings.releasesCacheMaxSize());
+
+    Clock clock = Clock.systemUTC();
+
+    @Override
+    public void validateInputParameters() throws ConnectorValidationException {
+        super.validateInputParameters();
+        checkPositiveIntegerInput(TIMEOUT);
+        checkPositiveIntegerInput(INITIAL_INTERVAL);
+        checkPositiveIntegerInput(MAX_INTERVAL);
+        Object multiplier = getInputParameter(BACKOFF_MULTIPLIER);
+        if (multiplier != null && (!(multiplier instanceof Number) || ((Number) multiplier).doubleValue() < 1d)) {
+            throw new ConnectorValidationException(this,
+                    String.format("'%s' parameter must be a number greater than or equal to 1", BACKOFF_MULTIPLIER));
+        }
+    }
+
+    @Override
+    protected void executeBusinessLogic() throws ConnectorException {
+        long id = Long.parseLong(getJobId());
+        Duration timeout = Duration.ofSeconds(getTimeout());
+        Duration wait = withinExecutionDeadline(timeout);
+        boolean executionDeadline = wait.compareTo(timeout) < 0;
+        Instant deadline = clock.instant().plus(wait);
+        Backoff backoff = new Backoff(Duration.ofSeconds(getInitialInterval()), Duration.ofSeconds(getMaxInterval()),
+                getBackoffMultiplier(), JITTER);
+        Job job = job(id, authenticate());
+        if (!JobState.isTerminal(job.getState())
+                && (WebhookReceiver.startIfConfigured() || isSharedPolling())) {
+            setJobOutputs(awaitWithSharedPoller(id, job, deadline, executionDeadline));
+            return;
+        }
+        Duration delay = firstDelay(job, backoff);
+        int attempt = 0;
+        while (!JobState.isTerminal(job.getState())) {
+            Duration remaining = Duration.between(clock.instant(), deadline);
+            if (remaining.isNegative() || remaining.isZero()) {
+                throw timeoutException(id, job, executionDeadline);
+            }
+            LOGGER.debug("Job {} is {}, next poll in {} ms", id, job.getState(), delay.toMillis());
+            sleep(delay.compareTo(remaining) < 0 ? delay : remaining);
+            // the token is looked up again as it may have expired while waiting
+            job = job(id, authenticate());
+            delay = backoff.delay(++attempt);
+        }
+        setJobOutputs(job);
+    }
+
+    private ConnectorException timeoutException(long id, Job job, boolean executionDeadline) {
+        if (executionDeadline) {
+            return new UIPathTimeoutException(String.format(
+                    "Job with id='%s' did not complete before the execution deadline of %s ms, its last state is "
+                            + "'%s'.",
+                    id, getClient().getDeadline().getBudget().toMillis(), job.getState()), null);
+        }
+        return new ConnectorException(String.format(
+                "Job with id='%s' did not complete within %s seconds, its last state is '%s'.", id,
+                getTimeout(), job.getState()));
+    }
+
+    /**
+     * Waits for the shared poller to see the job completed. The poller only fetches the state and output arguments:
+     * the job is fetched again when extra fields are requested.
+     */
+    private Job awaitWithSharedPoller(long id, Job job, Instant deadline, boolean executionDeadline)
+            throws ConnectorException {
+        CompletableFuture<Job> completed = JobStatusPoller.shared().watch(tenantKey(), getClient(),
+                () -> createAuthenticationHeaders(authenticate()), id, job.getKey());
+        try {
+            Job completedJob = completed.get(Math.max(0, Duration.between(clock.instant(), deadline).toMillis()),
+                    TimeUnit.MILLISECONDS);
+            return getExtraFields().isEmpty() ? completedJob : job(id, authenticate());
+        } catch (TimeoutException e) {
+            throw timeoutException(id, job, executionDeadline);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectorException("Interrupted while waiting for job completion.", e);
+        } catch (ExecutionException e) {
+            throw new ConnectorException(String.format("Failed to get job with id: %s", id), e.getCause());
+        } finally {
+            completed.cancel(false);
+        }
+    }
+
+    private Duration firstDelay(Job job, Backoff backoff) throws ConnectorException {
+        Duration delay = backoff.delay(0);
+        if (!isSeededFromHistory() || job.getStartTime() == null || job.getReleaseName() == null) {
+            return delay;
+        }
+        Optional<Duration> expected = releaseDuration(job.getReleaseName());
+        if (expected.isEmpty()) {
+            return delay;
+        }
+        try {
+            Duration elapsed = Duration.between(OffsetDateTime.parse(job.getStartTime()).toInstant(),
+                    clock.instant());
+            Duration remaining = expected.get().minus(elapsed);
+            return remaining.compareTo(delay) > 0 ? remaining : delay;
+        } catch (DateTimeParseException e) {
+            return delay;
+        }
+    }
+
+    /**
+     * Median duration of the last successful jobs of the release. Seeding is best effort: failures are only logged.
+     */
+    Optional<Duration> releaseDuration(String releaseName) throws ConnectorException {
+        List<Object> key = new ArrayList<>(tenantKey());
+        key.add(releaseName);
+        Duration cached = RELEASE_DURATIONS.get(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Map<String, String> headers = createAuthenticationHeaders(authenticate());
+        List<Duration> durations = new ArrayList<>();
+        try {
+            List<Job> jobs = UIPathClient.await(getClient().jobs(headers,
+                    ODataFilters.and(ODataFilters.eq("ReleaseName", releaseName),
+                            ODataFilters.eq("State", JobState.SUCCESSFUL.toString())),
+                    HISTORY_FIELDS, "EndTime desc", HISTORY_SIZE));
+            for (Job job : jobs) {
+                if (job.getStartTime() != null && job.getEndTime() != null) {
+                    durations.add(Duration.between(OffsetDateTime.parse(job.getStartTime()),
+                            OffsetDateTime.parse(job.getEndTime())));
+                }
+            }
+        } catch (ConnectorException | DateTimeParseException e) {
+            LOGGER.warn("Failed to retrieve the history of release '{}'", releaseName, e);
+            return Optional.empty();
+        }
+        if (durations.isEmpty()) {
+            return Optional.empty();
+        }
+        durations.sort(null);
+        Duration median = durations.get(durations.size() / 2);
+        RELEASE_DURATIONS.put(key, median);
+        return Optional.of(median);
+    }
+
+    static void clearReleaseDurations() {
+        RELEASE_DURATIONS.clear();
+    }
+
+    /**
+     * The job key is always fetched, as webhook events are matched on it besides the job id.
+     */
+    @Override
+    String select() {
+        String select = getExtraFields().contains(KEY_FIELD) ? super.select() : super.select() + "," + KEY_FIELD;
+        return isSeededFromHistory() ? select + "," + SEED_FIELDS : select;
+    }
+
+    void sleep(Duration delay) throws ConnectorException {
+        try {
+            Thread.sleep(delay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectorException("Interrupted while waiting for job completion.", e);
+        }
+    }
+
+    int getTimeout() {
+        Object value = getInputParameter(TIMEOUT);
+        return value != null ? (Integer) value : DEFAULT_TIMEOUT;
+    }
+
+    int getInitialInterval() {
+        Object value = getInputParameter(INITIAL_INTERVAL);
+        return value != null ? (Integer) value : DEFAULT_INITIAL_INTERVAL;
+    }
+
+    int getMaxInterval() {
+        Object value = getInputParameter(MAX_INTERVAL);
+        return value != null ? (Integer) value : DEFAULT_MAX_INTERVAL;
+    }
+
+    double getBackoffMultiplier() {
+        Object value = getInputParameter(BACKOFF_MULTIPLIER);
+        return value != null ? ((Number) value).doubleValue() : DEFAULT_BACKOFF_MULTIPLIER;
+    }
+
+    boolean isSharedPolling() {
+        return Boolean.TRUE.equals(getInputParameter(SHARED_POLLING));
+    }
+
+    boolean isSeededFromHistory() {
+        return Boolean.TRUE.equals(getInputParameter(SEED_FROM_HISTORY));
+    }
+
+}
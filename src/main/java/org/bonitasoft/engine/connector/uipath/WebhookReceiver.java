@@ -0,0 +1,354 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+import java.util.function.Predicate;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.bonitasoft.engine.connector.uipath.client.ConnectorSettings;
+import org.bonitasoft.engine.connector.uipath.client.SharedExecutors;
+import org.bonitasoft.engine.connector.uipath.converters.JsonMappers;
+import org.bonitasoft.engine.connector.uipath.model.Job;
+import org.bonitasoft.engine.connector.uipath.model.JobState;
+import org.bonitasoft.engine.connector.uipath.model.QueueItem;
+import org.bonitasoft.engine.connector.uipath.model.WebhookEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Embedded HTTP listener for Orchestrator webhooks. Signed job completion events resolve the callers waiting on the
+ * {@link JobStatusPoller}, signed queue item transaction events the callers registered through
+ * {@link #awaitQueueItem(List, String)}. Other events are acknowledged and ignored.
+ * <p>
+ * The shared receiver is enabled by setting the {@value ConnectorSettings#WEBHOOK_PORT} and
+ * {@value ConnectorSettings#WEBHOOK_SECRET} system properties. It listens on the loopback address, to be exposed
+ * through a reverse proxy, unless {@value ConnectorSettings#WEBHOOK_BIND_ADDRESS} says otherwise, and handles events
+ * on its own threads. Events are authenticated with the
+ * <code>X-UiPath-Signature</code> header, the Base64 encoded HMAC-SHA256 of the body keyed by the webhook secret.
+ * <p>
+ * Job ids are only unique within a tenant: an event only completes the jobs and queue items awaited on the tenants
+ * whose secret signed it, see {@link ConnectorSettings#webhookTenantSecrets()}, and whose key it carries.
+ */
+final class WebhookReceiver {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebhookReceiver.class.getName());
+
+    static final String SIGNATURE_HEADER = "X-UiPath-Signature";
+    static final String JOB_COMPLETED = "job.completed";
+    static final String JOB_FAULTED = "job.faulted";
+    static final String QUEUE_ITEM_COMPLETED = "queueItem.transactionCompleted";
+
+    private static final String HMAC_SHA256 = "HmacSHA256";
+
+    private static WebhookReceiver shared;
+    private static boolean sharedFailed;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final byte[] secret;
+    private final JobStatusPoller poller;
+    /**
+     * Callers waiting for the transaction of a queue item, by tenant key followed by the queue item key.
+     */
+    private final ConcurrentMap<List<String>, Set<CompletableFuture<QueueItem>>> queueItemWaiters =
+            new ConcurrentHashMap<>();
+
+    WebhookReceiver(InetSocketAddress address, String path, String secret, JobStatusPoller poller)
+            throws IOException {
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.poller = poller;
+        this.server = HttpServer.create(address, 0);
+        server.createContext(path, this::handle);
+        this.executor = SharedExecutors.newWebhookExecutor();
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Starts the shared receiver on first use when it is configured.
+     *
+     * @return true if the shared receiver is running
+     */
+    static synchronized boolean startIfConfigured() {
+        if (shared != null || sharedFailed) {
+            return shared != null;
+        }
+        int port = ConnectorSettings.webhookPort();
+        if (port < 0) {
+            return false;
+        }
+        String secret = ConnectorSettings.webhookSecret();
+        if (secret == null) {
+            LOGGER.warn("Webhook receiver is disabled: system property '{}' is required to verify events.",
+                    ConnectorSettings.WEBHOOK_SECRET);
+            sharedFailed = true;
+            return false;
+        }
+        try {
+            WebhookReceiver receiver = new WebhookReceiver(
+                    new InetSocketAddress(InetAddress.getByName(ConnectorSettings.webhookBindAddress()), port),
+                    ConnectorSettings.webhookPath(), secret, JobStatusPoller.shared());
+            receiver.start();
+            shared = receiver;
+            LOGGER.info("Webhook receiver listening on {}.", receiver.address());
+        } catch (IOException e) {
+            LOGGER.warn("Failed to start the webhook receiver on {}:{}, falling back to polling.",
+                    ConnectorSettings.webhookBindAddress(), port, e);
+            sharedFailed = true;
+        }
+        return shared != null;
+    }
+
+    static synchronized boolean isRunning() {
+        return shared != null;
+    }
+
+    static synchronized WebhookReceiver shared() {
+        return shared;
+    }
+
+    static synchronized void stopShared() {
+        if (shared != null) {
+            shared.stop();
+            shared = null;
+        }
+        sharedFailed = false;
+    }
+
+    /**
+     * Stops the shared receiver when no job is watched and no queue item awaited anymore. It is started again on next
+     * use.
+     */
+    static synchronized void stopSharedIfIdle() {
+        if (shared != null && shared.poller.watchedJobs() == 0 && shared.queueItemWaiters.isEmpty()) {
+            LOGGER.info("Stopping idle webhook receiver on port {}.", shared.port());
+            shared.stop();
+            shared = null;
+        }
+    }
+
+    void start() {
+        server.start();
+    }
+
+    void stop() {
+        server.stop(0);
+        executor.shutdown();
+        queueItemWaiters.values().forEach(futures -> futures.forEach(future -> future.cancel(false)));
+        queueItemWaiters.clear();
+    }
+
+    int port() {
+        return server.getAddress().getPort();
+    }
+
+    InetSocketAddress address() {
+        return server.getAddress();
+    }
+
+    /**
+     * @param tenantKey the tenant the item was added to
+     * @param itemKey the key of the queue item
+     * @return a future completed with the item when its transaction is completed. Completing or cancelling it
+     *         unregisters the caller.
+     */
+    CompletableFuture<QueueItem> awaitQueueItem(List<String> tenantKey, String itemKey) {
+        List<String> key = new ArrayList<>(tenantKey);
+        key.add(itemKey);
+        CompletableFuture<QueueItem> future = new CompletableFuture<>();
+        queueItemWaiters.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(future);
+        future.whenComplete((item, error) -> queueItemWaiters.computeIfPresent(key, (k, futures) -> {
+            futures.remove(future);
+            return futures.isEmpty() ? null : futures;
+        }));
+        return future;
+    }
+
+    int awaitedQueueItems() {
+        return queueItemWaiters.size();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readAllBytes();
+            }
+            Predicate<List<String>> tenants = signedTenants(body,
+                    exchange.getRequestHeaders().getFirst(SIGNATURE_HEADER));
+            if (tenants == null) {
+                LOGGER.warn("Rejected webhook event with an invalid signature from {}.",
+                        exchange.getRemoteAddress());
+                exchange.sendResponseHeaders(401, -1);
+                return;
+            }
+            WebhookEvent event;
+            try {
+                event = JsonMappers.reader(WebhookEvent.class).readValue(body);
+            } catch (IOException e) {
+                LOGGER.warn("Rejected malformed webhook event: {}", e.getMessage());
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+            if (isJobEvent(event) && jobId(event) == null) {
+                LOGGER.warn("Rejected {} webhook event without a valid job Id.", event.getType());
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+            dispatch(event, tenants);
+            exchange.sendResponseHeaders(202, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * @return the tenants whose secret signed the body, <code>null</code> when no configured secret did
+     */
+    Predicate<List<String>> signedTenants(byte[] body, String signature) {
+        boolean signedByDefault = verify(body, signature, secret);
+        Map<String, String> tenantSecrets = ConnectorSettings.webhookTenantSecrets();
+        Set<String> signedBaseUrls = new HashSet<>();
+        tenantSecrets.forEach((baseUrl, tenantSecret) -> {
+            if (verify(body, signature, tenantSecret.getBytes(StandardCharsets.UTF_8))) {
+                signedBaseUrls.add(baseUrl);
+            }
+        });
+        if (!signedByDefault && signedBaseUrls.isEmpty()) {
+            return null;
+        }
+        return tenantKey -> tenantSecrets.containsKey(tenantKey.get(0)) ? signedBaseUrls.contains(tenantKey.get(0))
+                : signedByDefault;
+    }
+
+    private static boolean verify(byte[] body, String signature, byte[] key) {
+        if (signature == null) {
+            return false;
+        }
+        try {
+            Mac mac = Mac.getInstance(HMAC_SHA256);
+            mac.init(new SecretKeySpec(key, HMAC_SHA256));
+            byte[] expected = mac.doFinal(body);
+            return MessageDigest.isEqual(expected, Base64.getDecoder().decode(signature.trim()));
+        } catch (IllegalArgumentException | GeneralSecurityException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @param tenants the tenants the event may come from
+     * @return true if a waiting caller was resolved by the event
+     */
+    boolean dispatch(WebhookEvent event, Predicate<List<String>> tenants) {
+        if (isJobEvent(event)) {
+            Long jobId = jobId(event);
+            return jobId != null && poller.complete(tenants, toJob(event, jobId));
+        }
+        if (QUEUE_ITEM_COMPLETED.equals(event.getType()) && event.getQueueItem() != null) {
+            return completeQueueItem(tenants, JsonMappers.mapper().convertValue(event.getQueueItem(),
+                    QueueItem.class));
+        }
+        LOGGER.debug("Ignored webhook event of type '{}'.", event.getType());
+        return false;
+    }
+
+    private boolean completeQueueItem(Predicate<List<String>> tenants, QueueItem item) {
+        if (item.getKey() == null) {
+            return false;
+        }
+        List<List<String>> keys = queueItemWaiters.keySet().stream()
+                .filter(key -> item.getKey().equals(key.get(key.size() - 1))
+                        && tenants.test(key.subList(0, key.size() - 1)))
+                .collect(Collectors.toList());
+        boolean completed = false;
+        for (List<String> key : keys) {
+            Set<CompletableFuture<QueueItem>> futures = queueItemWaiters.remove(key);
+            if (futures != null) {
+                futures.forEach(future -> future.complete(item));
+                completed = true;
+            }
+        }
+        return completed;
+    }
+
+    private static boolean isJobEvent(WebhookEvent event) {
+        return JOB_COMPLETED.equals(event.getType()) || JOB_FAULTED.equals(event.getType());
+    }
+
+    /**
+     * @return the numeric Id of the job of the event, or <code>null</code> when it is missing or invalid
+     */
+    private static Long jobId(WebhookEvent event) {
+        JsonNode id = event.getJob() != null ? event.getJob().get("Id") : null;
+        if (id == null) {
+            return null;
+        }
+        if (id.isIntegralNumber() && id.canConvertToLong()) {
+            return id.asLong();
+        }
+        try {
+            return id.isTextual() ? Long.valueOf(id.asText().trim()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Job toJob(WebhookEvent event, long jobId) {
+        JsonNode node = event.getJob();
+        Job job = new Job();
+        job.setId(String.valueOf(jobId));
+        job.setKey(node.path("Key").asText(null));
+        String state = node.path("State").asText(null);
+        if (state == null) {
+            state = JOB_FAULTED.equals(event.getType()) ? JobState.FAULTED.toString()
+                    : JobState.SUCCESSFUL.toString();
+        }
+        job.setState(state);
+        JsonNode outputArguments = node.get("OutputArguments");
+        if (outputArguments != null && !outputArguments.isNull()) {
+            job.setOutputArgs(outputArguments.isTextual() ? outputArguments.asText() : outputArguments.toString());
+        }
+        return job;
+    }
+
+}
@@ -0,0 +1,53 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * An access token issued by UiPath together with the instant after which it must not be used anymore.
+ */
+public final class AccessToken {
+
+    private final String value;
+    private final Instant expiresAt;
+
+    public AccessToken(String value, Instant expiresAt) {
+        this.value = value;
+        this.expiresAt = expiresAt;
+    }
+
+    public static AccessToken expiringIn(String value, Duration lifetime) {
+        return new AccessToken(value, Instant.now().plus(lifetime));
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+
+    boolean expiresWithin(Duration delay, Instant now) {
+        return !now.plus(delay).isBefore(expiresAt);
+    }
+
+}
@@ -0,0 +1,241 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.bonitasoft.engine.connector.ConnectorException;
+import org.bonitasoft.engine.connector.uipath.UIPathTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * JVM-wide cache of access tokens.
+ * <p>
+ * Concurrent requests for the same key share a single call to the token endpoint, and a token that is about to
+ * expire is refreshed in the background while the current one is still handed out.
+ */
+public class AccessTokenCache<K> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccessTokenCache.class.getName());
+
+    @FunctionalInterface
+    public interface TokenLoader {
+
+        AccessToken load() throws ConnectorException;
+    }
+
+    private final ConcurrentMap<K, Entry> entries = new ConcurrentHashMap<>();
+    private final Duration refreshAhead;
+    private final Executor executor;
+    private final Clock clock;
+
+    public AccessTokenCache(Duration refreshAhead) {
+        this(refreshAhead, SharedExecutors.background(), Clock.systemUTC());
+    }
+
+    AccessTokenCache(Duration refreshAhead, Executor executor, Clock clock) {
+        this.refreshAhead = refreshAhead;
+        this.executor = executor;
+        this.clock = clock;
+    }
+
+    /**
+     * @param loader loads a new token for the key. The cache keeps it for background refreshes and renewals, so it
+     *        must only depend on the credentials the key stands for, not on the state of the calling execution.
+     */
+    public AccessToken get(K key, TokenLoader loader) throws ConnectorException {
+        return get(key, loader, null);
+    }
+
+    /**
+     * @param loader see {@link #get(Object, TokenLoader)}
+     * @param timeout the longest the caller waits for a token to be loaded, <code>null</code> to load it in the
+     *        calling thread. The load itself goes on beyond it, so that the next callers get the token.
+     * @throws UIPathTimeoutException when no token was loaded within <code>timeout</code>
+     */
+    public AccessToken get(K key, TokenLoader loader, Duration timeout) throws ConnectorException {
+        Entry entry = entries.computeIfAbsent(key, k -> new Entry());
+        entry.loader = loader;
+        AccessToken token = entry.token;
+        Instant now = clock.instant();
+        if (token != null && !token.isExpired(now)) {
+            if (token.expiresWithin(refreshAhead, now)) {
+                entry.refreshInBackground();
+            }
+            return token;
+        }
+        return entry.refresh(timeout);
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Drops the cached entry holding the given token value, typically after the Orchestrator rejected it.
+     */
+    public void invalidateToken(String tokenValue) {
+        entries.values().removeIf(entry -> {
+            AccessToken token = entry.token;
+            return token != null && token.getValue().equals(tokenValue);
+        });
+    }
+
+    /**
+     * Replaces a token rejected by the Orchestrator with a freshly loaded one. Callers rejected with the same token
+     * share a single reload, and callers arriving after the reload get the new token directly.
+     *
+     * @return the new token, or null if the rejected token was not issued through this cache
+     */
+    public AccessToken renew(String rejectedToken) throws ConnectorException {
+        for (Entry entry : entries.values()) {
+            if (entry.issued(rejectedToken)) {
+                return entry.renew(rejectedToken);
+            }
+        }
+        return null;
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private class Entry {
+
+        private volatile AccessToken token;
+        private volatile TokenLoader loader;
+        private volatile String previousValue;
+        private CompletableFuture<AccessToken> inFlight;
+
+        boolean issued(String tokenValue) {
+            AccessToken current = token;
+            return (current != null && current.getValue().equals(tokenValue)) || tokenValue.equals(previousValue);
+        }
+
+        AccessToken renew(String rejectedToken) throws ConnectorException {
+            synchronized (this) {
+                AccessToken current = token;
+                if (current != null && !current.getValue().equals(rejectedToken)
+                        && !current.isExpired(clock.instant())) {
+                    return current;
+                }
+                if (current != null) {
+                    previousValue = current.getValue();
+                    token = null;
+                }
+            }
+            return refresh(null);
+        }
+
+        AccessToken refresh(Duration timeout) throws ConnectorException {
+            CompletableFuture<AccessToken> future;
+            boolean owner = false;
+            synchronized (this) {
+                if (inFlight == null) {
+                    inFlight = new CompletableFuture<>();
+                    owner = true;
+                }
+                future = inFlight;
+            }
+            if (owner) {
+                if (timeout == null) {
+                    load(future);
+                } else {
+                    loadInBackground(future);
+                }
+            }
+            return await(future, timeout);
+        }
+
+        private void loadInBackground(CompletableFuture<AccessToken> future) {
+            try {
+                executor.execute(() -> load(future));
+            } catch (RejectedExecutionException e) {
+                load(future);
+            }
+        }
+
+        void refreshInBackground() {
+            CompletableFuture<AccessToken> future;
+            synchronized (this) {
+                if (inFlight != null) {
+                    return;
+                }
+                inFlight = new CompletableFuture<>();
+                future = inFlight;
+            }
+            LOGGER.debug("Refreshing access token ahead of its expiry");
+            executor.execute(() -> {
+                load(future);
+                future.exceptionally(e -> {
+                    LOGGER.warn("Background refresh of access token failed, current token is kept until it expires.",
+                            e);
+                    return null;
+                });
+            });
+        }
+
+        private void load(CompletableFuture<AccessToken> future) {
+            try {
+                AccessToken loaded = loader.load();
+                if (loaded != null && loaded.getValue() != null) {
+                    AccessToken replaced = token;
+                    if (replaced != null) {
+                        previousValue = replaced.getValue();
+                    }
+                    token = loaded;
+                }
+                future.complete(loaded);
+            } catch (ConnectorException | RuntimeException e) {
+                future.completeExceptionally(e);
+            } finally {
+                synchronized (this) {
+                    inFlight = null;
+                }
+            }
+        }
+
+        private AccessToken await(CompletableFuture<AccessToken> future, Duration timeout)
+                throws ConnectorException {
+            try {
+                return timeout != null ? future.get(timeout.toMillis(), TimeUnit.MILLISECONDS) : future.get();
+            } catch (TimeoutException e) {
+                throw new UIPathTimeoutException(
+                        String.format("No access token was retrieved within %s ms.", timeout.toMillis()), e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ConnectorException("Interrupted while waiting for an access token.", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof ConnectorException) {
+                    throw (ConnectorException) cause;
+                }
+                throw new ConnectorException("Failed to retrieve an access token.", cause);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Capped exponential backoff with jitter: the n-th delay is <code>initial * multiplier^n</code>, capped to
+ * <code>max</code>, then randomly spread by +/- <code>jitter</code> so that callers started together do not stay in
+ * lockstep.
+ */
+public final class Backoff {
+
+    private final Duration initial;
+    private final Duration max;
+    private final double multiplier;
+    private final double jitter;
+
+    public Backoff(Duration initial, Duration max, double multiplier, double jitter) {
+        this.initial = initial;
+        this.max = max.compareTo(initial) < 0 ? initial : max;
+        this.multiplier = Math.max(1d, multiplier);
+        this.jitter = Math.min(Math.max(0d, jitter), 1d);
+    }
+
+    public Duration delay(int attempt) {
+        return delay(attempt, ThreadLocalRandom.current().nextDouble());
+    }
+
+    /**
+     * @param random a value in [0, 1)
+     */
+    Duration delay(int attempt, double random) {
+        double base = Math.min(initial.toMillis() * Math.pow(multiplier, Math.max(0, attempt)), max.toMillis());
+        double spread = base * jitter * (2 * random - 1);
+        return Duration.ofMillis(Math.max(0L, Math.round(base + spread)));
+    }
+
+}
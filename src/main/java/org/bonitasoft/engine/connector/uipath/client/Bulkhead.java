@@ -0,0 +1,77 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounds the calls admitted for one tenant: up to <code>maxConcurrent</code> run on its dispatcher and up to
+ * <code>maxQueued</code> more wait for a slot. Calls beyond are refused right away rather than piling up behind a
+ * slow tenant. Limits can be changed while calls are in flight.
+ */
+public final class Bulkhead {
+
+    private final String name;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int maxConcurrent;
+    private volatile int maxQueued;
+
+    public Bulkhead(String name, int maxConcurrent, int maxQueued) {
+        this.name = name;
+        resize(maxConcurrent, maxQueued);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public void resize(int maxConcurrent, int maxQueued) {
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.maxQueued = Math.max(0, maxQueued);
+    }
+
+    /**
+     * @return <code>true</code> when the call is admitted, in which case {@link #release()} must be called once it
+     *         completes
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= maxConcurrent + maxQueued) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+}
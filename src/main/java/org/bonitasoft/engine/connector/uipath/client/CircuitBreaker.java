@@ -0,0 +1,193 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Circuit breaker over the outcome of the last calls to an endpoint.
+ * <p>
+ * While <code>CLOSED</code>, calls go through and their outcome is recorded in a window of
+ * <code>windowSize</code> calls. Once <code>minimumCalls</code> are recorded, the breaker opens when the share of
+ * failed calls or of slow calls reaches its threshold. While <code>OPEN</code>, calls are refused until
+ * <code>openDuration</code> has elapsed; the breaker is then <code>HALF_OPEN</code> and lets
+ * <code>halfOpenProbes</code> calls through. It closes when all of them succeed quickly and opens again as soon as
+ * one of them fails or is slow.
+ */
+public final class CircuitBreaker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreaker.class.getName());
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureRatePercent;
+    private final int slowCallRatePercent;
+    private final Duration slowCallThreshold;
+    private final int minimumCalls;
+    private final Duration openDuration;
+    private final int halfOpenProbes;
+    private final Clock clock;
+
+    private final boolean[] failures;
+    private final boolean[] slowCalls;
+    private int next;
+    private int recorded;
+    private int failureCount;
+    private int slowCallCount;
+
+    private State state = State.CLOSED;
+    private Instant halfOpenAt;
+    private int probesInFlight;
+    private int probeSuccesses;
+
+    public CircuitBreaker(String name, int failureRatePercent, int slowCallRatePercent, Duration slowCallThreshold,
+            int windowSize, int minimumCalls, Duration openDuration, int halfOpenProbes, Clock clock) {
+        this.name = name;
+        this.failureRatePercent = failureRatePercent;
+        this.slowCallRatePercent = slowCallRatePercent;
+        this.slowCallThreshold = slowCallThreshold;
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, windowSize));
+        this.openDuration = openDuration;
+        this.halfOpenProbes = Math.max(1, halfOpenProbes);
+        this.clock = clock;
+        this.failures = new boolean[Math.max(1, windowSize)];
+        this.slowCalls = new boolean[failures.length];
+    }
+
+    public static CircuitBreaker fromSettings(String name) {
+        return new CircuitBreaker(name,
+                ConnectorSettings.circuitBreakerFailureRatePercent(),
+                ConnectorSettings.circuitBreakerSlowCallRatePercent(),
+                ConnectorSettings.circuitBreakerSlowCallThreshold(),
+                ConnectorSettings.circuitBreakerWindowSize(),
+                ConnectorSettings.circuitBreakerMinimumCalls(),
+                ConnectorSettings.circuitBreakerOpenDuration(),
+                ConnectorSettings.circuitBreakerHalfOpenProbes(),
+                Clock.systemUTC());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * @return the instant from which calls are let through again, when the breaker is open
+     */
+    public synchronized Instant getHalfOpenAt() {
+        return halfOpenAt;
+    }
+
+    /**
+     * @return <code>true</code> when the call may proceed, in which case its outcome must be reported with
+     *         {@link #onResult(boolean, Duration)} or {@link #release()}
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.instant().isBefore(halfOpenAt)) {
+                return false;
+            }
+            LOGGER.info("Circuit breaker of {} half-open, letting {} probe calls through", name, halfOpenProbes);
+            state = State.HALF_OPEN;
+            probesInFlight = 0;
+            probeSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= halfOpenProbes) {
+                return false;
+            }
+            probesInFlight++;
+        }
+        return true;
+    }
+
+    public synchronized void onResult(boolean failure, Duration duration) {
+        boolean slow = duration.compareTo(slowCallThreshold) >= 0;
+        if (state == State.HALF_OPEN) {
+            if (failure || slow) {
+                open();
+            } else if (++probeSuccesses >= halfOpenProbes) {
+                close();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+        record(failure, slow);
+        if (recorded >= minimumCalls && (failureCount * 100 >= failureRatePercent * recorded
+                || slowCallCount * 100 >= slowCallRatePercent * recorded)) {
+            open();
+        }
+    }
+
+    /**
+     * Reports a call whose outcome says nothing about the endpoint, e.g. a cancelled call.
+     */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN && probesInFlight > 0) {
+            probesInFlight--;
+        }
+    }
+
+    private void record(boolean failure, boolean slow) {
+        if (recorded == failures.length) {
+            failureCount -= failures[next] ? 1 : 0;
+            slowCallCount -= slowCalls[next] ? 1 : 0;
+        } else {
+            recorded++;
+        }
+        failures[next] = failure;
+        slowCalls[next] = slow;
+        failureCount += failure ? 1 : 0;
+        slowCallCount += slow ? 1 : 0;
+        next = (next + 1) % failures.length;
+    }
+
+    private void open() {
+        LOGGER.warn("Circuit breaker of {} open after {} failed and {} slow calls out of {}, failing fast for {}",
+                name, failureCount, slowCallCount, recorded, openDuration);
+        ConnectorMetrics.increment("circuitBreaker.opened");
+        state = State.OPEN;
+        halfOpenAt = clock.instant().plus(openDuration);
+        resetWindow();
+    }
+
+    private void close() {
+        LOGGER.info("Circuit breaker of {} closed, {} probe calls succeeded", name, probeSuccesses);
+        state = State.CLOSED;
+        halfOpenAt = null;
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        next = 0;
+        recorded = 0;
+        failureCount = 0;
+        slowCallCount = 0;
+    }
+
+}
@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+/**
+ * Guards the requests sent to an Orchestrator base URL with a {@link CircuitBreaker} shared by all the clients
+ * targeting it. I/O errors and <code>5xx</code> responses count as failures; requests refused by an open breaker
+ * fail with a {@link CircuitBreakerOpenException} without reaching the network.
+ */
+public class CircuitBreakerInterceptor implements Interceptor {
+
+    private static final ConcurrentMap<String, CircuitBreaker> BREAKERS = new ConcurrentHashMap<>();
+
+    private final String baseUrl;
+
+    public CircuitBreakerInterceptor(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static CircuitBreaker breaker(String baseUrl) {
+        return BREAKERS.computeIfAbsent(baseUrl, CircuitBreaker::fromSettings);
+    }
+
+    /**
+     * Forgets the state of every breaker, new ones are created from the current settings on the next request.
+     */
+    public static void reset() {
+        BREAKERS.clear();
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        CircuitBreaker breaker = breaker(baseUrl);
+        if (!breaker.tryAcquire()) {
+            ConnectorMetrics.increment("circuitBreaker.rejected");
+            throw new CircuitBreakerOpenException(breaker.getName(), breaker.getHalfOpenAt());
+        }
+        long start = System.nanoTime();
+        try {
+            Response response = chain.proceed(chain.request());
+            breaker.onResult(response.code() >= 500, Duration.ofNanos(System.nanoTime() - start));
+            return response;
+        } catch (IOException e) {
+            if (chain.call().isCanceled()) {
+                breaker.release();
+            } else {
+                breaker.onResult(true, Duration.ofNanos(System.nanoTime() - start));
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            breaker.release();
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,44 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Raised instead of sending a request while the {@link CircuitBreaker} of its endpoint is open.
+ */
+public class CircuitBreakerOpenException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String endpoint;
+    private final Instant retryAt;
+
+    public CircuitBreakerOpenException(String endpoint, Instant retryAt) {
+        super(String.format("Circuit breaker open for %s, not calling it before %s", endpoint, retryAt));
+        this.endpoint = endpoint;
+        this.retryAt = retryAt;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public Instant getRetryAt() {
+        return retryAt;
+    }
+
+}
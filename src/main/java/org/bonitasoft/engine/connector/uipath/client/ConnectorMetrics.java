@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide timers and counters of the connector, such as the duration of each phase of an execution. Names are
+ * dot separated and start with the connector or component they belong to, e.g. <code>startJobs.lookups</code>.
+ */
+public final class ConnectorMetrics {
+
+    private static final ConcurrentMap<String, Timer> TIMERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+
+    private ConnectorMetrics() {
+    }
+
+    public static void record(String name, Duration duration) {
+        TIMERS.computeIfAbsent(name, n -> new Timer()).record(duration.toNanos());
+    }
+
+    /**
+     * Records the time elapsed since <code>startNanos</code>, a {@link System#nanoTime()} value.
+     */
+    public static Duration recordSince(String name, long startNanos) {
+        Duration duration = Duration.ofNanos(System.nanoTime() - startNanos);
+        record(name, duration);
+        return duration;
+    }
+
+    /**
+     * Records the time until the future completes, successfully or not.
+     */
+    public static <T> CompletableFuture<T> time(String name, CompletableFuture<T> future) {
+        long start = System.nanoTime();
+        future.whenComplete((result, error) -> recordSince(name, start));
+        return future;
+    }
+
+    public static void increment(String name) {
+        COUNTERS.computeIfAbsent(name, n -> new LongAdder()).increment();
+    }
+
+    public static TimerStatistics timer(String name) {
+        Timer timer = TIMERS.get(name);
+        return timer != null ? timer.statistics() : new TimerStatistics(0, Duration.ZERO, Duration.ZERO);
+    }
+
+    public static long count(String name) {
+        LongAdder counter = COUNTERS.get(name);
+        return counter != null ? counter.sum() : 0;
+    }
+
+    public static Map<String, TimerStatistics> timers() {
+        Map<String, TimerStatistics> timers = new TreeMap<>();
+        TIMERS.forEach((name, timer) -> timers.put(name, timer.statistics()));
+        return timers;
+    }
+
+    public static Map<String, Long> counters() {
+        Map<String, Long> counters = new TreeMap<>();
+        COUNTERS.forEach((name, counter) -> counters.put(name, counter.sum()));
+        return counters;
+    }
+
+    public static void reset() {
+        TIMERS.clear();
+        COUNTERS.clear();
+    }
+
+    private static final class Timer {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        TimerStatistics statistics() {
+            return new TimerStatistics(count.sum(), Duration.ofNanos(totalNanos.sum()),
+                    Duration.ofNanos(maxNanos.get()));
+        }
+    }
+
+}
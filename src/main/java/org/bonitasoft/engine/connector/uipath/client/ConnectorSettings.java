@@ -0,0 +1,375 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process-wide tuning knobs of the connector HTTP stack, read from JVM system properties so that they can be
+ * changed without redeploying the connector.
+ */
+public final class ConnectorSettings {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectorSettings.class.getName());
+
+    static final String PREFIX = "bonita.connector.uipath.";
+
+    public static final String TOKEN_REFRESH_AHEAD = PREFIX + "token.refreshAheadSeconds";
+    public static final String ON_PREMISE_TOKEN_TTL = PREFIX + "onPremise.tokenTtlSeconds";
+    public static final String RELEASES_CACHE_TTL = PREFIX + "releases.cacheTtlSeconds";
+    public static final String RELEASES_CACHE_MAX_SIZE = PREFIX + "releases.cacheMaxSize";
+    public static final String ROBOTS_CACHE_TTL = PREFIX + "robots.cacheTtlSeconds";
+    public static final String ROBOTS_CACHE_REFRESH_AFTER = PREFIX + "robots.cacheRefreshAfterSeconds";
+    public static final String ROBOTS_CACHE_MAX_SIZE = PREFIX + "robots.cacheMaxSize";
+    public static final String HTTP_MAX_REQUESTS = PREFIX + "http.maxRequests";
+    public static final String HTTP_MAX_REQUESTS_PER_HOST = PREFIX + "http.maxRequestsPerHost";
+    public static final String HTTP_MAX_QUEUED_REQUESTS = PREFIX + "http.maxQueuedRequests";
+    public static final String HTTP_MAX_IDLE_CONNECTIONS = PREFIX + "http.maxIdleConnections";
+    public static final String HTTP_KEEP_ALIVE = PREFIX + "http.keepAliveSeconds";
+    public static final String HTTP_IDLE_RELEASE = PREFIX + "http.idleReleaseSeconds";
+    public static final String HTTP_CONNECT_TIMEOUT = PREFIX + "http.connectTimeoutMillis";
+    public static final String HTTP_READ_TIMEOUT = PREFIX + "http.readTimeoutMillis";
+    public static final String HTTP_WRITE_TIMEOUT = PREFIX + "http.writeTimeoutMillis";
+    public static final String HTTP_CALL_TIMEOUT = PREFIX + "http.callTimeoutMillis";
+    public static final String AUTHENTICATION_TIMEOUT = PREFIX + "authentication.timeoutMillis";
+    public static final String EXECUTION_TIMEOUT = PREFIX + "execution.timeoutSeconds";
+    public static final String START_JOBS_LOOKUP_TIMEOUT = PREFIX + "startJobs.lookupTimeoutSeconds";
+    public static final String JOB_DURATION_CACHE_TTL = PREFIX + "jobs.durationCacheTtlSeconds";
+    public static final String JOB_POLL_INTERVAL = PREFIX + "jobs.pollIntervalSeconds";
+    public static final String WEBHOOK_PORT = PREFIX + "webhook.port";
+    public static final String WEBHOOK_PATH = PREFIX + "webhook.path";
+    public static final String WEBHOOK_BIND_ADDRESS = PREFIX + "webhook.bindAddress";
+    public static final String WEBHOOK_SECRET = PREFIX + "webhook.secret";
+    public static final String WEBHOOK_FALLBACK_POLL_INTERVAL = PREFIX + "webhook.fallbackPollIntervalSeconds";
+    public static final String RATE_LIMIT_PREFIX = PREFIX + "rateLimit.";
+    public static final String RATE_LIMIT_MAX_WAIT = RATE_LIMIT_PREFIX + "maxWaitMillis";
+    public static final String RETRY_MAX_RETRIES = PREFIX + "retry.maxRetries";
+    public static final String RETRY_INITIAL_BACKOFF = PREFIX + "retry.initialBackoffMillis";
+    public static final String RETRY_MAX_BACKOFF = PREFIX + "retry.maxBackoffMillis";
+    public static final String RETRY_BUDGET_PERCENT = PREFIX + "retry.budgetPercent";
+    public static final String RETRY_BUDGET_MIN_PER_SECOND = PREFIX + "retry.budgetMinPerSecond";
+    public static final String CIRCUIT_BREAKER_FAILURE_RATE = PREFIX + "circuitBreaker.failureRatePercent";
+    public static final String CIRCUIT_BREAKER_SLOW_CALL_RATE = PREFIX + "circuitBreaker.slowCallRatePercent";
+    public static final String CIRCUIT_BREAKER_SLOW_CALL_THRESHOLD = PREFIX + "circuitBreaker.slowCallMillis";
+    public static final String CIRCUIT_BREAKER_WINDOW_SIZE = PREFIX + "circuitBreaker.windowSize";
+    public static final String CIRCUIT_BREAKER_MINIMUM_CALLS = PREFIX + "circuitBreaker.minimumCalls";
+    public static final String CIRCUIT_BREAKER_OPEN_DURATION = PREFIX + "circuitBreaker.openSeconds";
+    public static final String CIRCUIT_BREAKER_HALF_OPEN_PROBES = PREFIX + "circuitBreaker.halfOpenProbes";
+    public static final String QUEUE_BATCH_MAX_SIZE = PREFIX + "queue.batchMaxSize";
+    public static final String QUEUE_BATCH_MAX_DELAY = PREFIX + "queue.batchMaxDelayMillis";
+    public static final String QUEUE_BATCH_CAPACITY = PREFIX + "queue.batchCapacity";
+    public static final String QUEUE_BATCH_OFFER_TIMEOUT = PREFIX + "queue.batchOfferTimeoutMillis";
+    public static final String QUEUE_BATCH_TIMEOUT = PREFIX + "queue.batchTimeoutSeconds";
+    public static final String QUEUE_BATCH_IDLE_TIMEOUT = PREFIX + "queue.batchIdleTimeoutSeconds";
+
+    private ConnectorSettings() {
+    }
+
+    public static Duration tokenRefreshAhead() {
+        return seconds(TOKEN_REFRESH_AHEAD, 60);
+    }
+
+    public static Duration onPremiseTokenTtl() {
+        return seconds(ON_PREMISE_TOKEN_TTL, 1200);
+    }
+
+    public static Duration releasesCacheTtl() {
+        return seconds(RELEASES_CACHE_TTL, 300);
+    }
+
+    public static int releasesCacheMaxSize() {
+        return intValue(RELEASES_CACHE_MAX_SIZE, 500);
+    }
+
+    public static Duration robotsCacheTtl() {
+        return seconds(ROBOTS_CACHE_TTL, 3600);
+    }
+
+    public static Duration robotsCacheRefreshAfter() {
+        return seconds(ROBOTS_CACHE_REFRESH_AFTER, 1800);
+    }
+
+    public static int robotsCacheMaxSize() {
+        return intValue(ROBOTS_CACHE_MAX_SIZE, 1000);
+    }
+
+    /**
+     * HTTP limits apply to each tenant and can be overridden for the tenants at a base URL by appending
+     * <code>@&lt;baseUrl&gt;</code> to the property name. Request limits are applied again on the next connector
+     * execution when changed, connection pool sizes only to tenants used for the first time.
+     */
+    public static int httpMaxRequests(String baseUrl) {
+        return tenantIntValue(HTTP_MAX_REQUESTS, baseUrl, 64);
+    }
+
+    public static int httpMaxRequestsPerHost(String baseUrl) {
+        return tenantIntValue(HTTP_MAX_REQUESTS_PER_HOST, baseUrl, 16);
+    }
+
+    /**
+     * @return how many calls may wait for a free slot of a tenant dispatcher before new ones are rejected
+     */
+    public static int httpMaxQueuedRequests(String baseUrl) {
+        return tenantIntValue(HTTP_MAX_QUEUED_REQUESTS, baseUrl, 128);
+    }
+
+    public static int httpMaxIdleConnections(String baseUrl) {
+        return tenantIntValue(HTTP_MAX_IDLE_CONNECTIONS, baseUrl, 5);
+    }
+
+    public static Duration httpKeepAlive() {
+        return seconds(HTTP_KEEP_ALIVE, 300);
+    }
+
+    public static Duration httpConnectTimeout() {
+        return millis(HTTP_CONNECT_TIMEOUT, 10000);
+    }
+
+    public static Duration httpReadTimeout() {
+        return millis(HTTP_READ_TIMEOUT, 10000);
+    }
+
+    public static Duration httpWriteTimeout() {
+        return millis(HTTP_WRITE_TIMEOUT, 10000);
+    }
+
+    /**
+     * @return the maximum duration of a whole HTTP call, retries included, or zero for no limit
+     */
+    /**
+     * @return how long a tenant client may stay unused before its connections are closed and it is dropped from the
+     *         registry, along with the webhook receiver once no tenant is left
+     */
+    public static Duration httpIdleRelease() {
+        return seconds(HTTP_IDLE_RELEASE, 600);
+    }
+
+    public static Duration httpCallTimeout() {
+        return millis(HTTP_CALL_TIMEOUT, 0);
+    }
+
+    /**
+     * @return the maximum duration of a token request, retries included
+     */
+    public static Duration authenticationTimeout() {
+        return millis(AUTHENTICATION_TIMEOUT, 30000);
+    }
+
+    /**
+     * @return the default deadline of a connector execution, or zero for no deadline
+     */
+    public static Duration executionTimeout() {
+        return seconds(EXECUTION_TIMEOUT, 0);
+    }
+
+    /**
+     * @return the deadline shared by the release and robot lookups of a Start Jobs execution
+     */
+    public static Duration startJobsLookupTimeout() {
+        return seconds(START_JOBS_LOOKUP_TIMEOUT, 30);
+    }
+
+    public static Duration jobDurationCacheTtl() {
+        return seconds(JOB_DURATION_CACHE_TTL, 600);
+    }
+
+    public static Duration jobPollInterval() {
+        return seconds(JOB_POLL_INTERVAL, 5);
+    }
+
+    /**
+     * @return the port of the embedded webhook receiver, or -1 when it is disabled
+     */
+    public static int webhookPort() {
+        return intValue(WEBHOOK_PORT, -1);
+    }
+
+    /**
+     * @return the address the webhook receiver listens on, the loopback one by default so that it is only reachable
+     *         through a reverse proxy
+     */
+    public static String webhookBindAddress() {
+        return stringValue(WEBHOOK_BIND_ADDRESS, "127.0.0.1");
+    }
+
+    public static String webhookPath() {
+        return stringValue(WEBHOOK_PATH, "/uipath/webhooks");
+    }
+
+    public static String webhookSecret() {
+        return stringValue(WEBHOOK_SECRET, null);
+    }
+
+    /**
+     * Tenants can sign their events with their own secret, set by appending <code>@&lt;baseUrl&gt;</code> to the
+     * secret property name, so that the receiver can tell them apart.
+     *
+     * @return the secrets of the tenants that do not use the default one, by base URL
+     */
+    public static Map<String, String> webhookTenantSecrets() {
+        String prefix = WEBHOOK_SECRET + "@";
+        Map<String, String> secrets = new HashMap<>();
+        for (String property : System.getProperties().stringPropertyNames()) {
+            if (property.startsWith(prefix)) {
+                String secret = stringValue(property, null);
+                if (secret != null) {
+                    secrets.put(property.substring(prefix.length()), secret);
+                }
+            }
+        }
+        return secrets;
+    }
+
+    public static Duration webhookFallbackPollInterval() {
+        return seconds(WEBHOOK_FALLBACK_POLL_INTERVAL, 60);
+    }
+
+    /**
+     * Reads <code>bonita.connector.uipath.rateLimit.&lt;family&gt;.perSecond@&lt;baseUrl&gt;</code> for a single
+     * tenant, then <code>bonita.connector.uipath.rateLimit.&lt;family&gt;.perSecond</code> for all of them.
+     *
+     * @return the number of requests per second allowed to the endpoints of the family, 0 or less for no limit,
+     *         which is the default
+     */
+    public static int rateLimit(EndpointFamily family, String baseUrl) {
+        return tenantIntValue(RATE_LIMIT_PREFIX + family.getPropertyName() + ".perSecond", baseUrl, 0);
+    }
+
+    public static Duration rateLimitMaxWait() {
+        return millis(RATE_LIMIT_MAX_WAIT, 2000);
+    }
+
+    public static int retryMaxRetries() {
+        return intValue(RETRY_MAX_RETRIES, 2);
+    }
+
+    public static Duration retryInitialBackoff() {
+        return millis(RETRY_INITIAL_BACKOFF, 200);
+    }
+
+    public static Duration retryMaxBackoff() {
+        return millis(RETRY_MAX_BACKOFF, 2000);
+    }
+
+    /**
+     * @return the share of the requests sent to a tenant that may be retried, in percent
+     */
+    public static int retryBudgetPercent() {
+        return intValue(RETRY_BUDGET_PERCENT, 20);
+    }
+
+    public static int retryBudgetMinPerSecond() {
+        return intValue(RETRY_BUDGET_MIN_PER_SECOND, 1);
+    }
+
+    public static int circuitBreakerFailureRatePercent() {
+        return intValue(CIRCUIT_BREAKER_FAILURE_RATE, 50);
+    }
+
+    public static int circuitBreakerSlowCallRatePercent() {
+        return intValue(CIRCUIT_BREAKER_SLOW_CALL_RATE, 80);
+    }
+
+    public static Duration circuitBreakerSlowCallThreshold() {
+        return millis(CIRCUIT_BREAKER_SLOW_CALL_THRESHOLD, 5000);
+    }
+
+    public static int circuitBreakerWindowSize() {
+        return intValue(CIRCUIT_BREAKER_WINDOW_SIZE, 20);
+    }
+
+    public static int circuitBreakerMinimumCalls() {
+        return intValue(CIRCUIT_BREAKER_MINIMUM_CALLS, 10);
+    }
+
+    public static Duration circuitBreakerOpenDuration() {
+        return seconds(CIRCUIT_BREAKER_OPEN_DURATION, 30);
+    }
+
+    public static int circuitBreakerHalfOpenProbes() {
+        return intValue(CIRCUIT_BREAKER_HALF_OPEN_PROBES, 3);
+    }
+
+    public static int queueBatchMaxSize() {
+        return intValue(QUEUE_BATCH_MAX_SIZE, 100);
+    }
+
+    public static Duration queueBatchMaxDelay() {
+        return millis(QUEUE_BATCH_MAX_DELAY, 10);
+    }
+
+    public static int queueBatchCapacity() {
+        return intValue(QUEUE_BATCH_CAPACITY, 1000);
+    }
+
+    public static Duration queueBatchOfferTimeout() {
+        return millis(QUEUE_BATCH_OFFER_TIMEOUT, 500);
+    }
+
+    /**
+     * @return how long an execution waits for the bulk call including its item, capped by its own deadline
+     */
+    public static Duration queueBatchTimeout() {
+        return seconds(QUEUE_BATCH_TIMEOUT, 60);
+    }
+
+    /**
+     * @return how long the batcher of a queue is kept once it has nothing left to send
+     */
+    public static Duration queueBatchIdleTimeout() {
+        return seconds(QUEUE_BATCH_IDLE_TIMEOUT, 60);
+    }
+
+    static Duration seconds(String property, long defaultValue) {
+        return Duration.ofSeconds(longValue(property, defaultValue));
+    }
+
+    static Duration millis(String property, long defaultValue) {
+        return Duration.ofMillis(longValue(property, defaultValue));
+    }
+
+    static int intValue(String property, int defaultValue) {
+        return (int) longValue(property, defaultValue);
+    }
+
+    static int tenantIntValue(String property, String baseUrl, int defaultValue) {
+        return intValue(property + "@" + baseUrl, intValue(property, defaultValue));
+    }
+
+    static String stringValue(String property, String defaultValue) {
+        String value = System.getProperty(property);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    static long longValue(String property, long defaultValue) {
+        String value = System.getProperty(property);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Invalid value '{}' for system property '{}', using default value {}.", value, property,
+                    defaultValue);
+            return defaultValue;
+        }
+    }
+
+}
@@ -0,0 +1,58 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+/**
+ * Groups of Orchestrator endpoints sharing a client side rate limit. No family is limited unless a rate is configured
+ * with {@link ConnectorSettings#rateLimit(EndpointFamily, String)}.
+ */
+public enum EndpointFamily {
+
+    AUTH("auth"),
+    RELEASES("releases"),
+    JOBS("jobs"),
+    QUEUES("queues");
+
+    private final String propertyName;
+
+    EndpointFamily(String propertyName) {
+        this.propertyName = propertyName;
+    }
+
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    /**
+     * @param encodedPath the path of a request URL, which may start with the cloud account and tenant names
+     * @return the family of the endpoint, or <code>null</code> when the endpoint is not rate limited
+     */
+    public static EndpointFamily of(String encodedPath) {
+        if (encodedPath.endsWith("/api/account/authenticate") || encodedPath.endsWith("/connect/token")) {
+            return AUTH;
+        }
+        if (encodedPath.contains("/odata/Releases") || encodedPath.contains("/odata/Robots")) {
+            return RELEASES;
+        }
+        if (encodedPath.contains("/odata/Jobs")) {
+            return JOBS;
+        }
+        if (encodedPath.contains("/odata/Queue")) {
+            return QUEUES;
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded cache whose entries expire after a fixed time to live. When full, the least recently used entry is
+ * evicted. A zero time to live disables the cache.
+ * <p>
+ * An entry older than the optional refresh delay is still served, but reported by {@link #needsRefresh(Object)} so
+ * that the caller can reload it in the background before it expires.
+ */
+public class ExpiringCache<K, V> {
+
+    private final Duration ttl;
+    private final Duration refreshAfter;
+    private final Clock clock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final Map<K, CachedValue<V>> entries;
+
+    public ExpiringCache(Duration ttl, int maxSize) {
+        this(ttl, ttl, maxSize, Clock.systemUTC());
+    }
+
+    public ExpiringCache(Duration ttl, Duration refreshAfter, int maxSize) {
+        this(ttl, refreshAfter, maxSize, Clock.systemUTC());
+    }
+
+    ExpiringCache(Duration ttl, int maxSize, Clock clock) {
+        this(ttl, ttl, maxSize, clock);
+    }
+
+    ExpiringCache(Duration ttl, Duration refreshAfter, int maxSize, Clock clock) {
+        this.ttl = ttl;
+        this.refreshAfter = refreshAfter;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<K, CachedValue<V>>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CachedValue<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        CachedValue<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (!clock.instant().isBefore(entry.expiresAt)) {
+            entries.remove(key);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    public synchronized boolean needsRefresh(K key) {
+        CachedValue<V> entry = entries.get(key);
+        return entry != null && !clock.instant().isBefore(entry.refreshAt);
+    }
+
+    public synchronized void put(K key, V value) {
+        if (ttl.isZero() || ttl.isNegative()) {
+            return;
+        }
+        Instant now = clock.instant();
+        entries.put(key, new CachedValue<>(value, now.plus(refreshAfter), now.plus(ttl)));
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized CacheStatistics statistics() {
+        return new CacheStatistics(hits.sum(), misses.sum(), entries.size());
+    }
+
+    private static final class CachedValue<V> {
+
+        private final V value;
+        private final Instant refreshAt;
+        private final Instant expiresAt;
+
+        CachedValue(V value, Instant refreshAt, Instant expiresAt) {
+            this.value = value;
+            this.refreshAt = refreshAt;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+}
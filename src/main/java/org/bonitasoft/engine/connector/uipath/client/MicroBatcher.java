@@ -0,0 +1,209 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Groups items submitted by concurrent callers and hands them over to a {@link BatchHandler} as a single batch,
+ * as soon as <code>maxBatchSize</code> items are waiting or when the oldest waiting item is <code>maxDelay</code>
+ * old.
+ * <p>
+ * The buffer is bounded: when it is full, {@link #submit(Object, Duration)} waits for room and gives up after the
+ * given timeout, which slows down the producers instead of letting the backlog grow. A batcher sends one batch at a
+ * time, so a backlog is drained by a single thread rather than by as many flushes as there are full batches.
+ * <p>
+ * An idle listener, when given, is notified once the batcher has had nothing to send for <code>idleTimeout</code>,
+ * so that its owner can drop it.
+ */
+public class MicroBatcher<T, R> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MicroBatcher.class.getName());
+
+    /**
+     * Completes the result of every item of the batch. Items left uncompleted fail, as do all the items of the batch
+     * when the handler throws.
+     */
+    @FunctionalInterface
+    public interface BatchHandler<T, R> {
+
+        void handle(List<BatchedItem<T, R>> batch) throws Exception;
+    }
+
+    public static final class BatchedItem<T, R> {
+
+        private final T item;
+        private final CompletableFuture<R> result = new CompletableFuture<>();
+
+        BatchedItem(T item) {
+            this.item = item;
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        public void complete(R value) {
+            result.complete(value);
+        }
+
+        public void fail(Throwable error) {
+            result.completeExceptionally(error);
+        }
+
+        boolean isDone() {
+            return result.isDone();
+        }
+    }
+
+    private final int maxBatchSize;
+    private final Duration maxDelay;
+    private final BlockingQueue<BatchedItem<T, R>> buffer;
+    private final BatchHandler<T, R> handler;
+    private final ScheduledExecutorService scheduler;
+    private final Executor executor;
+    private final Duration idleTimeout;
+    private final Consumer<MicroBatcher<T, R>> idleListener;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private final AtomicBoolean idleCheckScheduled = new AtomicBoolean();
+    private volatile long lastActive = System.nanoTime();
+
+    public MicroBatcher(int maxBatchSize, Duration maxDelay, int capacity, BatchHandler<T, R> handler) {
+        this(maxBatchSize, maxDelay, capacity, handler, Duration.ZERO, null);
+    }
+
+    public MicroBatcher(int maxBatchSize, Duration maxDelay, int capacity, BatchHandler<T, R> handler,
+            Duration idleTimeout, Consumer<MicroBatcher<T, R>> idleListener) {
+        this(maxBatchSize, maxDelay, capacity, handler, idleTimeout, idleListener, SharedExecutors.scheduler(),
+                SharedExecutors.batches());
+    }
+
+    MicroBatcher(int maxBatchSize, Duration maxDelay, int capacity, BatchHandler<T, R> handler,
+            Duration idleTimeout, Consumer<MicroBatcher<T, R>> idleListener, ScheduledExecutorService scheduler,
+            Executor executor) {
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxDelay = maxDelay;
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.handler = handler;
+        this.idleTimeout = idleTimeout;
+        this.idleListener = idleListener;
+        this.scheduler = scheduler;
+        this.executor = executor;
+    }
+
+    /**
+     * @throws RejectedExecutionException if the buffer is still full after <code>offerTimeout</code>
+     */
+    public CompletableFuture<R> submit(T item, Duration offerTimeout) throws InterruptedException {
+        BatchedItem<T, R> batchedItem = new BatchedItem<>(item);
+        if (!buffer.offer(batchedItem, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            throw new RejectedExecutionException(
+                    String.format("%s items are already waiting to be sent.", buffer.size()));
+        }
+        lastActive = System.nanoTime();
+        if (buffer.size() >= maxBatchSize) {
+            requestFlush();
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::requestFlush, maxDelay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return batchedItem.result;
+    }
+
+    int pending() {
+        return buffer.size();
+    }
+
+    /**
+     * @return true when nothing was submitted nor sent for <code>idleTimeout</code>
+     */
+    public boolean isIdle() {
+        return buffer.isEmpty() && !flushing.get() && System.nanoTime() - lastActive >= idleTimeout.toNanos();
+    }
+
+    private void requestFlush() {
+        if (flushing.compareAndSet(false, true)) {
+            executor.execute(this::flush);
+        }
+    }
+
+    /**
+     * Sends batches until the buffer is empty. Items submitted while the last batch was sent are picked up by a new
+     * flush.
+     */
+    void flush() {
+        try {
+            while (!buffer.isEmpty()) {
+                flushScheduled.set(false);
+                List<BatchedItem<T, R>> batch = new ArrayList<>(maxBatchSize);
+                buffer.drainTo(batch, maxBatchSize);
+                send(batch);
+            }
+        } finally {
+            lastActive = System.nanoTime();
+            flushing.set(false);
+        }
+        if (!buffer.isEmpty()) {
+            requestFlush();
+        } else {
+            scheduleIdleCheck();
+        }
+    }
+
+    private void send(List<BatchedItem<T, R>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        LOGGER.debug("Flushing a batch of {} item(s)", batch.size());
+        try {
+            handler.handle(batch);
+        } catch (Exception e) {
+            batch.forEach(batchedItem -> batchedItem.fail(e));
+        }
+        batch.stream()
+                .filter(batchedItem -> !batchedItem.isDone())
+                .forEach(batchedItem -> batchedItem.fail(new IllegalStateException("No result for batched item.")));
+    }
+
+    private void scheduleIdleCheck() {
+        if (idleListener != null && idleCheckScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::checkIdle, idleTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void checkIdle() {
+        idleCheckScheduled.set(false);
+        if (isIdle()) {
+            idleListener.accept(this);
+        } else {
+            scheduleIdleCheck();
+        }
+    }
+
+}
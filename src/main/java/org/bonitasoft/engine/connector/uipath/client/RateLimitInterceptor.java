@@ -0,0 +1,186 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Throttles the requests sent to one Orchestrator tenant with a {@link RateLimiter} per {@link EndpointFamily}.
+ * Requests wait for a permit up to {@link ConnectorSettings#rateLimitMaxWait()} and fail beyond with a
+ * {@link RateLimitExceededException}.
+ * <p>
+ * Whether a rate is configured or not, a <code>429 Too Many Requests</code> answer pauses all the requests to the
+ * tenant for the <code>Retry-After</code> delay, and the request is sent once more if that delay is short enough.
+ * Requests issued during the pause wait for its end under the same limit.
+ */
+public class RateLimitInterceptor implements Interceptor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RateLimitInterceptor.class.getName());
+
+    static final int TOO_MANY_REQUESTS = 429;
+    static final String RETRY_AFTER_HEADER = "Retry-After";
+    static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final Map<EndpointFamily, RateLimiter> limiters;
+    private final Duration maxWait;
+    private final Clock clock;
+    private final AtomicLong pausedUntilMillis = new AtomicLong();
+
+    public RateLimitInterceptor(Map<EndpointFamily, RateLimiter> limiters, Duration maxWait, Clock clock) {
+        this.limiters = limiters;
+        this.maxWait = maxWait;
+        this.clock = clock;
+    }
+
+    /**
+     * @return an interceptor with fresh buckets for the tenant at <code>baseUrl</code>, sized from
+     *         {@link ConnectorSettings}; families with a rate of 0 or less are not limited
+     */
+    public static RateLimitInterceptor fromSettings(String baseUrl) {
+        Clock clock = Clock.systemUTC();
+        Map<EndpointFamily, RateLimiter> limiters = new EnumMap<>(EndpointFamily.class);
+        for (EndpointFamily family : EndpointFamily.values()) {
+            int permitsPerSecond = ConnectorSettings.rateLimit(family, baseUrl);
+            if (permitsPerSecond > 0) {
+                limiters.put(family, new RateLimiter(permitsPerSecond, clock));
+            }
+        }
+        return new RateLimitInterceptor(limiters, ConnectorSettings.rateLimitMaxWait(), clock);
+    }
+
+    public static String metric(EndpointFamily family, String event) {
+        return "rateLimit." + family.getPropertyName() + "." + event;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        EndpointFamily family = EndpointFamily.of(request.url().encodedPath());
+        RateLimiter limiter = family != null ? limiters.get(family) : null;
+        awaitPause(family);
+        acquire(family, limiter);
+        Response response = chain.proceed(request);
+        if (response.code() != TOO_MANY_REQUESTS) {
+            return response;
+        }
+        increment(family, "throttled");
+        Duration retryAfter = retryAfter(response.header(RETRY_AFTER_HEADER));
+        LOGGER.debug("Orchestrator asked to slow down requests to {} for {}", request.url().host(), retryAfter);
+        pausedUntilMillis.accumulateAndGet(clock.millis() + retryAfter.toMillis(), Math::max);
+        if (limiter != null) {
+            limiter.pause(retryAfter);
+        }
+        if (retryAfter.compareTo(maxWait) > 0) {
+            return response;
+        }
+        response.close();
+        awaitPause(family);
+        acquire(family, limiter);
+        return chain.proceed(request);
+    }
+
+    /**
+     * Waits for the end of the pause requested by the last <code>429</code> answer of the tenant, if any.
+     */
+    private void awaitPause(EndpointFamily family) throws IOException {
+        long pause = pausedUntilMillis.get() - clock.millis();
+        if (pause <= 0) {
+            return;
+        }
+        if (pause > maxWait.toMillis()) {
+            increment(family, "rejected");
+            throw new RateLimitExceededException(String.format("Orchestrator asked to pause the requests for "
+                    + "another %s ms, longer than the %s ms a request may wait", pause, maxWait.toMillis()));
+        }
+        increment(family, "delayed");
+        sleep(Duration.ofMillis(pause));
+    }
+
+    private void acquire(EndpointFamily family, RateLimiter limiter) throws IOException {
+        if (limiter == null) {
+            return;
+        }
+        Duration wait = limiter.reserve(maxWait);
+        if (wait == null) {
+            ConnectorMetrics.increment(metric(family, "rejected"));
+            throw new RateLimitExceededException(String.format("Rate limit of %s requests per second to the %s "
+                    + "endpoints exceeded, no permit available within %s ms", limiter.getPermitsPerSecond(),
+                    family.getPropertyName(), maxWait.toMillis()));
+        }
+        if (wait.isZero()) {
+            return;
+        }
+        ConnectorMetrics.increment(metric(family, "delayed"));
+        ConnectorMetrics.record(metric(family, "wait"), wait);
+        sleep(wait);
+    }
+
+    private static void increment(EndpointFamily family, String event) {
+        if (family != null) {
+            ConnectorMetrics.increment(metric(family, event));
+        }
+    }
+
+    private static void sleep(Duration wait) throws InterruptedIOException {
+        try {
+            Thread.sleep(wait.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a rate limit permit");
+        }
+    }
+
+    Duration retryAfter(String value) {
+        return retryAfter(value, clock);
+    }
+
+    /**
+     * @param value a number of seconds or an HTTP date, as allowed by RFC 9110
+     */
+    static Duration retryAfter(String value, Clock clock) {
+        if (value == null || value.isBlank()) {
+            return DEFAULT_RETRY_AFTER;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0L, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            // not a number of seconds, try a date
+        }
+        try {
+            Duration untilDate = Duration.between(clock.instant(),
+                    ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant());
+            return untilDate.isNegative() ? Duration.ZERO : untilDate;
+        } catch (DateTimeParseException e) {
+            return DEFAULT_RETRY_AFTER;
+        }
+    }
+
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Token bucket holding up to one second worth of permits. Permits can be reserved ahead of time, so that callers
+ * queue up behind each other instead of competing for the next free permit, and the bucket can be paused when the
+ * server asks to slow down.
+ */
+public final class RateLimiter {
+
+    private final double permitsPerSecond;
+    private final double capacity;
+    private final Clock clock;
+
+    private double permits;
+    private Instant lastRefill;
+
+    public RateLimiter(double permitsPerSecond, Clock clock) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.capacity = Math.max(1d, permitsPerSecond);
+        this.clock = clock;
+        this.permits = capacity;
+        this.lastRefill = clock.instant();
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    /**
+     * Takes one permit.
+     *
+     * @return how long the caller has to wait before using the permit, or <code>null</code> when that would exceed
+     *         <code>maxWait</code>, in which case no permit is taken
+     */
+    public synchronized Duration reserve(Duration maxWait) {
+        Instant now = clock.instant();
+        refill(now);
+        long waitMillis = Math.max(0L, Duration.between(now, lastRefill).toMillis());
+        if (permits < 1) {
+            waitMillis += (long) Math.ceil((1 - permits) * 1000 / permitsPerSecond);
+        }
+        if (waitMillis > maxWait.toMillis()) {
+            return null;
+        }
+        permits -= 1;
+        return Duration.ofMillis(waitMillis);
+    }
+
+    /**
+     * Hands out no permit before <code>duration</code> has elapsed, then refills the bucket from empty.
+     */
+    public synchronized void pause(Duration duration) {
+        Instant resumeAt = clock.instant().plus(duration);
+        refill(clock.instant());
+        permits = Math.min(permits, 0d);
+        if (resumeAt.isAfter(lastRefill)) {
+            lastRefill = resumeAt;
+        }
+    }
+
+    private void refill(Instant now) {
+        if (now.isAfter(lastRefill)) {
+            permits = Math.min(capacity,
+                    permits + Duration.between(lastRefill, now).toMillis() * permitsPerSecond / 1000);
+            lastRefill = now;
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Bounds the retries sent to a tenant so that an outage is not amplified by them: every request deposits
+ * <code>ratio</code> of a retry and a floor of <code>minPerSecond</code> retries is granted over time. The budget can
+ * store up to ten seconds worth of both: the floor, and <code>ratio</code> of the requests observed over the last ten
+ * seconds, so that busy tenants can use their whole ratio.
+ */
+public final class RetryBudget {
+
+    static final int WINDOW_SECONDS = 10;
+
+    private final double ratio;
+    private final double minPerSecond;
+    private final Clock clock;
+    private final long[] requestsPerSecond = new long[WINDOW_SECONDS];
+
+    private long requestsInWindow;
+    private long currentSecond;
+    private double balance;
+    private Instant lastRefill;
+
+    public RetryBudget(double ratio, double minPerSecond, Clock clock) {
+        this.ratio = ratio;
+        this.minPerSecond = minPerSecond;
+        this.clock = clock;
+        this.lastRefill = clock.instant();
+        this.currentSecond = lastRefill.getEpochSecond();
+        this.balance = capacity();
+    }
+
+    public synchronized void onRequest() {
+        slide(clock.instant());
+        requestsPerSecond[slot(currentSecond)]++;
+        requestsInWindow++;
+        balance = Math.min(capacity(), balance + ratio);
+    }
+
+    /**
+     * @return <code>true</code> and withdraws one retry when the budget allows it
+     */
+    public synchronized boolean tryRetry() {
+        Instant now = clock.instant();
+        slide(now);
+        if (now.isAfter(lastRefill)) {
+            balance = Math.min(capacity(),
+                    balance + Duration.between(lastRefill, now).toMillis() * minPerSecond / 1000);
+            lastRefill = now;
+        }
+        if (balance < 1) {
+            return false;
+        }
+        balance -= 1;
+        return true;
+    }
+
+    synchronized double capacity() {
+        slide(clock.instant());
+        return Math.max(1d, minPerSecond * WINDOW_SECONDS + ratio * requestsInWindow);
+    }
+
+    /**
+     * Forgets the requests counted more than {@link #WINDOW_SECONDS} ago.
+     */
+    private void slide(Instant now) {
+        long second = now.getEpochSecond();
+        if (second <= currentSecond) {
+            return;
+        }
+        for (long expired = currentSecond + 1; expired <= Math.min(second, currentSecond + WINDOW_SECONDS);
+                expired++) {
+            requestsInWindow -= requestsPerSecond[slot(expired)];
+            requestsPerSecond[slot(expired)] = 0;
+        }
+        currentSecond = second;
+    }
+
+    private static int slot(long second) {
+        return (int) (second % WINDOW_SECONDS);
+    }
+
+}
@@ -0,0 +1,177 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.time.Clock;
+import java.time.Duration;
+
+import org.bonitasoft.engine.connector.uipath.model.AddToQueueRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Invocation;
+
+/**
+ * Retries the requests sent to one Orchestrator tenant on transient failures, with a capped exponential
+ * {@link Backoff} and within a {@link RetryBudget}.
+ * <p>
+ * Idempotent requests (lookups, authentication, and queue items carrying a <code>Reference</code>, which the
+ * Orchestrator rejects as duplicates on queues enforcing unique references) are retried on I/O errors and on
+ * <code>429</code>, <code>502</code>, <code>503</code> and <code>504</code> responses, waiting at least the
+ * <code>Retry-After</code> delay of a <code>429</code>. Other requests, such as job starts, are only retried when
+ * they provably did not reach the Orchestrator: the connection could not be established. Requests refused locally,
+ * by the rate limiter or an open circuit breaker, are never retried.
+ */
+public final class RetryInterceptor implements Interceptor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RetryInterceptor.class.getName());
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final int maxRetries;
+    private final Backoff backoff;
+    private final RetryBudget budget;
+    private final Clock clock = Clock.systemUTC();
+
+    RetryInterceptor(int maxRetries, Backoff backoff, RetryBudget budget) {
+        this.maxRetries = maxRetries;
+        this.backoff = backoff;
+        this.budget = budget;
+    }
+
+    public static RetryInterceptor fromSettings() {
+        return new RetryInterceptor(ConnectorSettings.retryMaxRetries(),
+                new Backoff(ConnectorSettings.retryInitialBackoff(), ConnectorSettings.retryMaxBackoff(), 2, 0.5),
+                new RetryBudget(ConnectorSettings.retryBudgetPercent() / 100d,
+                        ConnectorSettings.retryBudgetMinPerSecond(), Clock.systemUTC()));
+    }
+
+    static String metric(Request request, String event) {
+        EndpointFamily family = EndpointFamily.of(request.url().encodedPath());
+        return "retry." + (family != null ? family.getPropertyName() : "other") + "." + event;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        boolean idempotent = isIdempotent(request);
+        budget.onRequest();
+        for (int retries = 0;; retries++) {
+            Response response = null;
+            IOException failure = null;
+            try {
+                response = chain.proceed(request);
+                if (!isRetryable(response.code(), idempotent)) {
+                    return response;
+                }
+            } catch (IOException e) {
+                if (!isRetryable(e, idempotent) || chain.call().isCanceled()) {
+                    throw e;
+                }
+                failure = e;
+            }
+            String outcome = response != null ? String.valueOf(response.code()) : failure.toString();
+            if (retries >= maxRetries || chain.call().isCanceled()) {
+                ConnectorMetrics.increment(metric(request, "exhausted"));
+                return giveUp(response, failure);
+            }
+            if (!budget.tryRetry()) {
+                ConnectorMetrics.increment(metric(request, "budgetExhausted"));
+                LOGGER.debug("Retry budget exhausted, not retrying {} {} after {}", request.method(),
+                        request.url().encodedPath(), outcome);
+                return giveUp(response, failure);
+            }
+            if (response != null) {
+                response.close();
+            }
+            ConnectorMetrics.increment(metric(request, "retries"));
+            Duration delay = delay(retries, response);
+            LOGGER.debug("Retrying {} {} in {} ms after {}", request.method(), request.url().encodedPath(),
+                    delay.toMillis(), outcome);
+            sleep(delay);
+        }
+    }
+
+    /**
+     * @return the backoff delay, or the <code>Retry-After</code> delay of a <code>429</code> when it is longer
+     */
+    private Duration delay(int retries, Response response) {
+        Duration delay = backoff.delay(retries);
+        if (response == null || response.code() != TOO_MANY_REQUESTS
+                || response.header(RateLimitInterceptor.RETRY_AFTER_HEADER) == null) {
+            return delay;
+        }
+        Duration retryAfter = RateLimitInterceptor.retryAfter(
+                response.header(RateLimitInterceptor.RETRY_AFTER_HEADER), clock);
+        return retryAfter.compareTo(delay) > 0 ? retryAfter : delay;
+    }
+
+    static boolean isIdempotent(Request request) {
+        if ("GET".equals(request.method()) || "HEAD".equals(request.method())) {
+            return true;
+        }
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation == null) {
+            return false;
+        }
+        switch (invocation.method().getName()) {
+            case "authenticate":
+            case "authenticateInCloudWithClientCredentials":
+                return true;
+            case "addQueueItem":
+                return invocation.arguments().stream()
+                        .filter(AddToQueueRequest.class::isInstance)
+                        .map(AddToQueueRequest.class::cast)
+                        .anyMatch(item -> item.getItemData() != null && item.getItemData().getReference() != null
+                                && !item.getItemData().getReference().isBlank());
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isRetryable(int code, boolean idempotent) {
+        return idempotent && (code == TOO_MANY_REQUESTS || code == 502 || code == 503 || code == 504);
+    }
+
+    private static boolean isRetryable(IOException e, boolean idempotent) {
+        if (e instanceof RateLimitExceededException || e instanceof CircuitBreakerOpenException) {
+            return false;
+        }
+        return idempotent || e instanceof ConnectException;
+    }
+
+    private static Response giveUp(Response response, IOException failure) throws IOException {
+        if (response != null) {
+            return response;
+        }
+        throw failure;
+    }
+
+    private static void sleep(Duration delay) throws IOException {
+        try {
+            Thread.sleep(delay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry");
+        }
+    }
+
+}
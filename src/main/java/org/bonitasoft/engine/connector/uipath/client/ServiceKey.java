@@ -0,0 +1,83 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+import java.util.Objects;
+
+/**
+ * Identifies an Orchestrator endpoint for which HTTP resources are shared between connector executions. On-premise
+ * tenants share a base URL, so the tenant name is part of the key: each tenant gets its own resources.
+ */
+public final class ServiceKey {
+
+    private final String baseUrl;
+    private final boolean cloud;
+    private final String organizationUnitId;
+    private final String tenant;
+
+    public ServiceKey(String baseUrl, boolean cloud, String organizationUnitId) {
+        this(baseUrl, cloud, organizationUnitId, null);
+    }
+
+    public ServiceKey(String baseUrl, boolean cloud, String organizationUnitId, String tenant) {
+        this.baseUrl = baseUrl;
+        this.cloud = cloud;
+        this.organizationUnitId = organizationUnitId;
+        this.tenant = tenant;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public boolean isCloud() {
+        return cloud;
+    }
+
+    public String getOrganizationUnitId() {
+        return organizationUnitId;
+    }
+
+    public String getTenant() {
+        return tenant;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ServiceKey)) {
+            return false;
+        }
+        ServiceKey other = (ServiceKey) o;
+        return cloud == other.cloud
+                && Objects.equals(baseUrl, other.baseUrl)
+                && Objects.equals(organizationUnitId, other.organizationUnitId)
+                && Objects.equals(tenant, other.tenant);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(baseUrl, cloud, organizationUnitId, tenant);
+    }
+
+    @Override
+    public String toString() {
+        return baseUrl + (tenant != null ? " (tenant " + tenant + ")" : "")
+                + (organizationUnitId != null ? " (organization unit " + organizationUnitId + ")" : "");
+    }
+
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Daemon threads shared by the background tasks of the connector (token refresh, cache refresh...).
+ * Idle threads are released after a minute so that nothing pins the connector classloader once it is no longer used.
+ */
+public final class SharedExecutors {
+
+    private static final int BACKGROUND_THREADS = 4;
+    private static final int BATCH_THREADS = 4;
+    private static final int WEBHOOK_THREADS = 2;
+
+    private static final ExecutorService BACKGROUND = newFixedExecutor(BACKGROUND_THREADS,
+            "uipath-connector-background");
+    private static final ScheduledExecutorService SCHEDULER = newScheduler();
+    private static final ExecutorService BATCHES = newFixedExecutor(BATCH_THREADS, "uipath-connector-batch");
+
+    private SharedExecutors() {
+    }
+
+    public static ExecutorService background() {
+        return BACKGROUND;
+    }
+
+    /**
+     * Sends the batches of the {@link MicroBatcher}s. Flushes block on Orchestrator calls, so they get their own
+     * threads rather than holding the {@link #background()} ones needed by token refreshes and job polling. Each
+     * batcher runs one flush at a time, and flushes beyond the pool size wait for a free thread.
+     */
+    public static ExecutorService batches() {
+        return BATCHES;
+    }
+
+    /**
+     * Only triggers delayed tasks: blocking work must be handed over to {@link #background()}.
+     */
+    public static ScheduledExecutorService scheduler() {
+        return SCHEDULER;
+    }
+
+    /**
+     * @return a new executor for an OkHttp dispatcher: unbounded like the OkHttp default one, since the dispatcher
+     *         limits concurrent calls itself, but with daemon threads
+     */
+    public static ExecutorService newDispatcherExecutor(String name) {
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                daemonThreadFactory("uipath-connector-http-" + name));
+    }
+
+    /**
+     * @return a new executor for the embedded webhook server, kept apart from {@link #background()} so that a burst
+     *         of events cannot delay token refreshes and job polling, nor the other way around
+     */
+    public static ExecutorService newWebhookExecutor() {
+        return newFixedExecutor(WEBHOOK_THREADS, "uipath-connector-webhook");
+    }
+
+    private static ScheduledExecutorService newScheduler() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1,
+                daemonThreadFactory("uipath-connector-scheduler"));
+        executor.setKeepAliveTime(60, TimeUnit.SECONDS);
+        executor.allowCoreThreadTimeOut(true);
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    private static ExecutorService newFixedExecutor(int threads, String prefix) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), daemonThreadFactory(prefix));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    static ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+}
@@ -0,0 +1,55 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of a timer of {@link ConnectorMetrics}.
+ */
+public final class TimerStatistics {
+
+    private final long count;
+    private final Duration total;
+    private final Duration max;
+
+    public TimerStatistics(long count, Duration total, Duration max) {
+        this.count = count;
+        this.total = total;
+        this.max = max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public Duration getTotal() {
+        return total;
+    }
+
+    public Duration getMax() {
+        return max;
+    }
+
+    public Duration getMean() {
+        return count == 0 ? Duration.ZERO : total.dividedBy(count);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s calls, mean %s ms, max %s ms", count, getMean().toMillis(), max.toMillis());
+    }
+
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.bonitasoft.engine.connector.ConnectorException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import okhttp3.Authenticator;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.Route;
+
+/**
+ * Replays a request rejected with a 401 once, with a token renewed through the cache that issued the rejected
+ * one. Requests authenticated with a token the connector does not manage (e.g. a user provided bearer token) are
+ * not replayed.
+ */
+public class TokenAuthenticator implements Authenticator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenAuthenticator.class.getName());
+
+    public static final String AUTHORIZATION_HEADER = "Authorization";
+    public static final String BEARER_PREFIX = "Bearer ";
+
+    private final List<AccessTokenCache<?>> caches;
+
+    public TokenAuthenticator(List<AccessTokenCache<?>> caches) {
+        this.caches = caches;
+    }
+
+    @Override
+    public Request authenticate(Route route, Response response) throws IOException {
+        String authorization = response.request().header(AUTHORIZATION_HEADER);
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        String rejectedToken = authorization.substring(BEARER_PREFIX.length());
+        if (response.priorResponse() != null) {
+            LOGGER.debug("Renewed token rejected as well, giving up");
+            caches.forEach(cache -> cache.invalidateToken(rejectedToken));
+            return null;
+        }
+        AccessToken renewed = renew(rejectedToken);
+        if (renewed == null || renewed.getValue() == null) {
+            return null;
+        }
+        LOGGER.debug("Token rejected by the Orchestrator, replaying {} {} with a renewed token",
+                response.request().method(), response.request().url().encodedPath());
+        return response.request().newBuilder()
+                .header(AUTHORIZATION_HEADER, BEARER_PREFIX + renewed.getValue())
+                .build();
+    }
+
+    private AccessToken renew(String rejectedToken) throws IOException {
+        try {
+            for (AccessTokenCache<?> cache : caches) {
+                AccessToken renewed = cache.renew(rejectedToken);
+                if (renewed != null) {
+                    return renewed;
+                }
+            }
+            return null;
+        } catch (ConnectorException e) {
+            throw new IOException("Re-authentication failed: " + e.getMessage(), e);
+        }
+    }
+
+}
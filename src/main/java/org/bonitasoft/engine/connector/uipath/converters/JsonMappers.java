@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.converters;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bonitasoft.engine.connector.uipath.model.AddToQueueRequest;
+import org.bonitasoft.engine.connector.uipath.model.BulkAddQueueItemsRequest;
+import org.bonitasoft.engine.connector.uipath.model.FailedQueueItem;
+import org.bonitasoft.engine.connector.uipath.model.Job;
+import org.bonitasoft.engine.connector.uipath.model.JobRequest;
+import org.bonitasoft.engine.connector.uipath.model.QueueDefinition;
+import org.bonitasoft.engine.connector.uipath.model.QueueItem;
+import org.bonitasoft.engine.connector.uipath.model.QueueItemRequest;
+import org.bonitasoft.engine.connector.uipath.model.Release;
+import org.bonitasoft.engine.connector.uipath.model.Robot;
+import org.bonitasoft.engine.connector.uipath.model.StartInfo;
+import org.bonitasoft.engine.connector.uipath.model.Version;
+import org.bonitasoft.engine.connector.uipath.model.WebhookEvent;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+/**
+ * The single JSON configuration of the connector. Readers and writers of the model types are resolved once, when
+ * this class is loaded, and shared by every connector execution and Retrofit converter.
+ * <p>
+ * The underlying {@link ObjectMapper} is only handed to converter factories and must not be reconfigured: use the
+ * immutable {@link ObjectReader} and {@link ObjectWriter} instances instead.
+ */
+public final class JsonMappers {
+
+    static final List<Class<?>> MODEL_TYPES = Collections.unmodifiableList(Arrays.asList(
+            AddToQueueRequest.class,
+            BulkAddQueueItemsRequest.class,
+            FailedQueueItem.class,
+            Job.class,
+            JobRequest.class,
+            QueueDefinition.class,
+            QueueItem.class,
+            QueueItemRequest.class,
+            Release.class,
+            Robot.class,
+            StartInfo.class,
+            Version.class,
+            WebhookEvent.class));
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder().build();
+    private static final ObjectWriter WRITER = MAPPER.writer();
+    private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+    static {
+        warmUp();
+    }
+
+    private JsonMappers() {
+    }
+
+    /**
+     * Resolves the serializers and deserializers of all the model types.
+     */
+    static void warmUp() {
+        MODEL_TYPES.forEach(type -> {
+            reader(type);
+            writer(type);
+        });
+    }
+
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    public static ObjectReader reader(Class<?> type) {
+        return READERS.computeIfAbsent(type, MAPPER::readerFor);
+    }
+
+    public static ObjectWriter writer(Class<?> type) {
+        return WRITERS.computeIfAbsent(type, MAPPER::writerFor);
+    }
+
+    public static ObjectWriter writer() {
+        return WRITER;
+    }
+
+}
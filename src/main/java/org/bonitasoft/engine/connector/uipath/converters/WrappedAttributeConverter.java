@@ -15,12 +15,21 @@
 package org.bonitasoft.engine.connector.uipath.converters;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 import okhttp3.ResponseBody;
 import retrofit2.Converter;
@@ -28,12 +37,26 @@ import retrofit2.Converter.Factory;
 import retrofit2.Retrofit;
 
 
+/**
+ * Unwraps the <code>value</code> array of OData collection responses. The body is streamed: the parser seeks the
+ * array and binds its elements directly, without materializing the payload as a String or a tree.
+ */
 public class WrappedAttributeConverter extends Factory {
 
+    private static final String VALUE_ATTRIBUTE = "value";
+
     private final ObjectMapper objectMapper;
+    private final Function<Class<?>, ObjectReader> readers;
+
+    public WrappedAttributeConverter() {
+        objectMapper = JsonMappers.mapper();
+        readers = JsonMappers::reader;
+    }
 
     public WrappedAttributeConverter(ObjectMapper mapper) {
         objectMapper = mapper;
+        Map<Class<?>, ObjectReader> cache = new ConcurrentHashMap<>();
+        readers = type -> cache.computeIfAbsent(type, mapper::readerFor);
     }
     /*
      * (non-Javadoc)
@@ -42,8 +65,12 @@ public class WrappedAttributeConverter extends Factory {
     @Override
     public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
         if (isParameterizedList(type)) {
-            return responseBody -> listFromJson(responseBody.string(), "value",
-                    getClassArgumentFromParameterizedList(type));
+            Class<?> elementClass = getClassArgumentFromParameterizedList(type);
+            return responseBody -> {
+                try (InputStream body = responseBody.byteStream()) {
+                    return listFromJson(body, VALUE_ATTRIBUTE, elementClass);
+                }
+            };
         }
         return null;
     }
@@ -62,7 +89,40 @@ public class WrappedAttributeConverter extends Factory {
     }
 
     public <T> List<T> listFromJson(String json, String listAttribute, Class<T> elementClass) throws IOException {
-        return objectMapper.readValue(objectMapper.readTree(json).get(listAttribute).toString(),
-                objectMapper.getTypeFactory().constructCollectionType(List.class, elementClass));
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            return listFromJson(parser, listAttribute, elementClass);
+        }
+    }
+
+    public <T> List<T> listFromJson(InputStream json, String listAttribute, Class<T> elementClass)
+            throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            return listFromJson(parser, listAttribute, elementClass);
+        }
+    }
+
+    private <T> List<T> listFromJson(JsonParser parser, String listAttribute, Class<T> elementClass)
+            throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a JSON object wrapping the '" + listAttribute + "' list");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken valueToken = parser.nextToken();
+            if (listAttribute.equals(fieldName) && valueToken == JsonToken.START_ARRAY) {
+                return readElements(parser, elementClass);
+            }
+            parser.skipChildren();
+        }
+        throw new JsonParseException(parser, "Missing '" + listAttribute + "' list attribute");
+    }
+
+    private <T> List<T> readElements(JsonParser parser, Class<T> elementClass) throws IOException {
+        ObjectReader reader = readers.apply(elementClass);
+        List<T> elements = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            elements.add(reader.readValue(parser));
+        }
+        return elements;
     }
 }
@@ -33,6 +33,12 @@ public class Job {
     private String state;
     @JsonProperty("Release")
     private Release release;
+    @JsonProperty("ReleaseName")
+    private String releaseName;
+    @JsonProperty("StartTime")
+    private String startTime;
+    @JsonProperty("EndTime")
+    private String endTime;
     @JsonProperty("Info")
     private String info;
     @JsonProperty("Source")
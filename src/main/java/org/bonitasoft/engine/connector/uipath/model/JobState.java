@@ -29,4 +29,11 @@ public enum JobState {
     public String toString() {
         return value;
     }
+
+    /**
+     * @return true if a job in this state will not change anymore
+     */
+    public static boolean isTerminal(String state) {
+        return SUCCESSFUL.value.equals(state) || FAULTED.value.equals(state) || STOPPED.value.equals(state);
+    }
 }
@@ -29,5 +29,9 @@ public class QueueItem {
     private long id;
     @JsonProperty("Key")
     private String key;
+    @JsonProperty("Reference")
+    private String reference;
+    @JsonProperty("Status")
+    private String status;
 
 }
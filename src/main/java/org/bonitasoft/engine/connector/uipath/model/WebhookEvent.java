@@ -0,0 +1,40 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import lombok.Data;
+
+/**
+ * An event pushed by an Orchestrator webhook. The job and queue item payloads are kept as trees as their shape
+ * differs from the OData resources, e.g. output arguments are sent as objects instead of strings.
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class WebhookEvent {
+
+    @JsonProperty("Type")
+    private String type;
+    @JsonProperty("EventId")
+    private String eventId;
+    @JsonProperty("Job")
+    private JsonNode job;
+    @JsonProperty("QueueItem")
+    private JsonNode queueItem;
+
+}
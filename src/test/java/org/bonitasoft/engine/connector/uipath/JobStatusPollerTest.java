@@ -0,0 +1,124 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.bonitasoft.engine.connector.uipath.client.ServiceKey;
+import org.bonitasoft.engine.connector.uipath.model.Job;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+
+@WireMockTest(httpPort = 8888)
+class JobStatusPollerTest {
+
+    private static final List<String> TENANT = Arrays.asList("http://localhost:8888/", "a_tenant", null);
+
+    private ScheduledExecutorService scheduler;
+    private JobStatusPoller poller;
+    private UIPathClient client;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        poller = new JobStatusPoller(() -> Duration.ofMillis(20), scheduler, Runnable::run);
+        client = new UIPathClient(
+                UIPathServiceRegistry.service(new ServiceKey("http://localhost:8888/", false, null)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        poller.clear();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void should_check_all_watched_jobs_of_a_tenant_with_one_query() throws Exception {
+        stubFor(WireMock.get(urlPathEqualTo("/odata/Jobs"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"value\":[{\"Id\":1,\"State\":\"Successful\",\"OutputArguments\":\"{}\"}]}")));
+
+        CompletableFuture<Job> first = poller.watch(TENANT, client, Collections::emptyMap, 1, null);
+        CompletableFuture<Job> second = poller.watch(TENANT, client, Collections::emptyMap, 2, null);
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getState()).isEqualTo("Successful");
+        assertThat(second).isNotDone();
+        assertThat(poller.watchedJobs()).isEqualTo(1);
+        verify(getRequestedFor(urlPathEqualTo("/odata/Jobs"))
+                .withQueryParam("$filter", WireMock.equalTo(
+                        "Id in (1,2) and State in ('Successful','Faulted','Stopped')"))
+                .withQueryParam("$select", WireMock.equalTo("Id,State,OutputArguments")));
+    }
+
+    @Test
+    void should_stop_watching_a_job_when_its_future_is_cancelled() {
+        stubFor(WireMock.get(urlPathEqualTo("/odata/Jobs"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"value\":[]}")));
+
+        CompletableFuture<Job> future = poller.watch(TENANT, client, Collections::emptyMap, 1, null);
+        future.cancel(false);
+
+        assertThat(poller.watchedJobs()).isZero();
+    }
+
+    @Test
+    void should_release_a_tenant_once_none_of_its_jobs_is_watched() throws Exception {
+        stubFor(WireMock.get(urlPathEqualTo("/odata/Jobs"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"value\":[{\"Id\":1,\"State\":\"Successful\",\"OutputArguments\":\"{}\"}]}")));
+
+        poller.watch(TENANT, client, Collections::emptyMap, 1, null).get(5, TimeUnit.SECONDS);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (poller.watchedTenants() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(poller.watchedTenants()).isZero();
+    }
+
+    @Test
+    void should_complete_waiters_of_a_job_known_to_be_finished() throws Exception {
+        CompletableFuture<Job> future = poller.watch(TENANT, client, Collections::emptyMap, 1, null);
+        Job job = new Job();
+        job.setId("1");
+        job.setState("Faulted");
+
+        assertThat(poller.complete(TENANT, job)).isTrue();
+        assertThat(future.get(0, TimeUnit.SECONDS)).isSameAs(job);
+        assertThat(poller.complete(TENANT, job)).isFalse();
+    }
+
+}
@@ -14,12 +14,26 @@
  */
 package org.bonitasoft.engine.connector.uipath;
 
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.spy;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.bonitasoft.engine.connector.ConnectorException;
+import org.bonitasoft.engine.connector.uipath.client.ConnectorSettings;
+import org.bonitasoft.engine.connector.uipath.converters.JsonMappers;
+import org.bonitasoft.engine.connector.uipath.model.WebhookEvent;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -32,6 +46,8 @@ class UIPathAddToQueueConnectorTest {
 
     @BeforeEach
     public void configureStubs() throws Exception {
+        UIPathConnector.clearCaches();
+        UIPathAddToQueueConnector.clearBatchers();
         stubFor(WireMock.post(WireMock.urlEqualTo("/api/account/authenticate"))
                 .willReturn(WireMock.aResponse()
                         .withHeader("Content-Type", "application/json")
@@ -44,6 +60,10 @@ class UIPathAddToQueueConnectorTest {
     }
 
     private UIPathAddToQueueConnector createConnector() throws Exception {
+        return createConnector(new HashMap<>());
+    }
+
+    private UIPathAddToQueueConnector createConnector(Map<String, Object> extraParameters) throws Exception {
         UIPathAddToQueueConnector connector = spy(new UIPathAddToQueueConnector());
         Map<String, Object> parameters = new HashMap<>();
         parameters.put(UIPathConnector.CLOUD, false);
@@ -55,6 +75,7 @@ class UIPathAddToQueueConnectorTest {
         Map<String, Object> content = new HashMap<>();
         content.put("hello", "world");
         parameters.put(UIPathAddToQueueConnector.QUEUE_CONTENT, content);
+        parameters.putAll(extraParameters);
         connector.setInputParameters(parameters);
         connector.validateInputParameters();
         return connector;
@@ -71,4 +92,222 @@ class UIPathAddToQueueConnectorTest {
                 .containsEntry(UIPathAddToQueueConnector.ITEM_KEY_OUTPUT, "ef306441-f7a6-4fad-ba8a-d09ec1237e2c");
     }
 
+    @Test
+    void should_add_items_of_concurrent_executions_in_a_single_bulk_call() throws Exception {
+        stubFor(WireMock.post(urlEqualTo("/odata/Queues/UiPathODataSvc.BulkAddQueueItems"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"value\":[]}")));
+        stubFor(WireMock.get(urlPathEqualTo("/odata/QueueDefinitions"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"value\":[{\"Id\":53772,\"Name\":\"myQueue\"}]}")));
+        stubFor(WireMock.get(urlPathEqualTo("/odata/QueueItems"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"value\":["
+                                + "{\"Id\":1,\"Key\":\"k1\",\"Reference\":\"ref-1\"},"
+                                + "{\"Id\":2,\"Key\":\"k2\",\"Reference\":\"ref-2\"}]}")));
+        stubLastItem(0);
+        // flush only once both items are waiting
+        System.setProperty(ConnectorSettings.QUEUE_BATCH_MAX_SIZE, "2");
+        System.setProperty(ConnectorSettings.QUEUE_BATCH_MAX_DELAY, "60000");
+        try {
+            UIPathAddToQueueConnector first = createBatchingConnector("ref-1");
+            UIPathAddToQueueConnector second = createBatchingConnector("ref-2");
+
+            CompletableFuture<Map<String, Object>> firstOutputs = CompletableFuture.supplyAsync(() -> execute(first));
+            Map<String, Object> secondOutputs = execute(second);
+
+            assertThat(firstOutputs.get(10, TimeUnit.SECONDS))
+                    .containsEntry(UIPathAddToQueueConnector.ITEM_ID_OUTPUT, 1L)
+                    .containsEntry(UIPathAddToQueueConnector.ITEM_KEY_OUTPUT, "k1");
+            assertThat(secondOutputs)
+                    .containsEntry(UIPathAddToQueueConnector.ITEM_ID_OUTPUT, 2L)
+                    .containsEntry(UIPathAddToQueueConnector.ITEM_KEY_OUTPUT, "k2");
+            verify(1, postRequestedFor(urlEqualTo("/odata/Queues/UiPathODataSvc.BulkAddQueueItems")));
+            verify(0, postRequestedFor(urlEqualTo("/odata/Queues/UiPathODataSvc.AddQueueItem")));
+            verify(getRequestedFor(urlPathEqualTo("/odata/QueueItems"))
+                    .withQueryParam("$filter", WireMock.containing("QueueDefinitionId eq 53772 and Id gt 0")));
+        } finally {
+            System.clearProperty(ConnectorSettings.QUEUE_BATCH_MAX_SIZE);
+            System.clearProperty(ConnectorSettings.QUEUE_BATCH_MAX_DELAY);
+        }
+    }
+
+    @Test
+    void should_reject_items_reusing_a_reference_of_the_same_batch() throws Exception {
+        stubBatchCalls();
+        System.setProperty(ConnectorSettings.QUEUE_BATCH_MAX_SIZE, "2");
+        System.setProperty(ConnectorSettings.QUEUE_BATCH_MAX_DELAY, "60000");
+        try {
+            UIPathAddToQueueConnector first = createBatchingConnector("ref-1");
+            UIPathAddToQueueConnector second = createBatchingConnector("ref-1");
+
+            CompletableFuture<Map<String, Object>> firstOutputs = CompletableFuture.supplyAsync(() -> execute(first));
+            CompletableFuture<Map<String, Object>> secondOutputs = CompletableFuture.supplyAsync(() -> execute(second));
+
+            CompletableFuture.allOf(firstOutputs, secondOutputs).handle((result, error) -> null)
+                    .get(10, TimeUnit.SECONDS);
+            assertThat(Arrays.asList(firstOutputs, secondOutputs))
+                    .filteredOn(CompletableFuture::isCompletedExceptionally).hasSize(1)
+                    .allSatisfy(outputs -> assertThatThrownBy(outputs::join)
+                            .hasMessageContaining("Another item with reference 'ref-1'"));
+            verify(1, postRequestedFor(urlEqualTo("/odata/Queues/UiPathODataSvc.BulkAddQueueItems"))
+                    .withRequestBody(WireMock.matchingJsonPath("$.queueItems.length()", WireMock.equalTo("1"))));
+        } finally {
+            System.clearProperty(ConnectorSettings.QUEUE_BATCH_MAX_SIZE);
+            System.clearProperty(ConnectorSettings.QUEUE_BATCH_MAX_DELAY);
+        }
+    }
+
+    @Test
+    void should_not_fail_added_items_when_they_cannot_be_found_back() throws Exception {
+        stubBatchCalls();
+        stubFor(WireMock.get(urlPathEqualTo("/odata/QueueItems"))
+                .willReturn(WireMock.aResponse().withStatus(500)));
+        System.setProperty(ConnectorSettings.QUEUE_BATCH_MAX_SIZE, "1");
+        try {
+            Map<String, Object> outputs = execute(createBatchingConnector("ref-1"));
+
+            assertThat(outputs).containsEntry(UIPathAddToQueueConnector.ITEM_ID_OUTPUT, null)
+                    .containsEntry(UIPathAddToQueueConnector.ITEM_KEY_OUTPUT, null);
+            verify(1, postRequestedFor(urlEqualTo("/odata/Queues/UiPathODataSvc.BulkAddQueueItems")));
+        } finally {
+            System.clearProperty(ConnectorSettings.QUEUE_BATCH_MAX_SIZE);
+        }
+    }
+
+    @Test
+    void should_not_report_items_whose_reference_was_added_twice() throws Exception {
+        stubBatchCalls();
+        stubFor(WireMock.get(urlPathEqualTo("/odata/QueueItems"))
+                .withQueryParam("$filter", WireMock.containing("Id gt 41"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"value\":["
+                                + "{\"Id\":42,\"Key\":\"k42\",\"Reference\":\"ref-1\"},"
+                                + "{\"Id\":43,\"Key\":\"k43\",\"Reference\":\"ref-1\"}]}")));
+        stubLastItem(41);
+        System.setProperty(ConnectorSettings.QUEUE_BATCH_MAX_SIZE, "1");
+        try {
+            Map<String, Object> outputs = execute(createBatchingConnector("ref-1"));
+
+            assertThat(outputs).containsEntry(UIPathAddToQueueConnector.ITEM_ID_OUTPUT, null)
+                    .containsEntry(UIPathAddToQueueConnector.ITEM_KEY_OUTPUT, null);
+        } finally {
+            System.clearProperty(ConnectorSettings.QUEUE_BATCH_MAX_SIZE);
+        }
+    }
+
+    @Test
+    void should_drop_idle_batchers() throws Exception {
+        stubBatchCalls();
+        System.setProperty(ConnectorSettings.QUEUE_BATCH_MAX_SIZE, "1");
+        System.setProperty(ConnectorSettings.QUEUE_BATCH_IDLE_TIMEOUT, "0");
+        try {
+            execute(createBatchingConnector("ref-1"));
+
+            for (int i = 0; i < 100 && UIPathAddToQueueConnector.batcherCount() > 0; i++) {
+                Thread.sleep(50);
+            }
+            assertThat(UIPathAddToQueueConnector.batcherCount()).isZero();
+        } finally {
+            System.clearProperty(ConnectorSettings.QUEUE_BATCH_MAX_SIZE);
+            System.clearProperty(ConnectorSettings.QUEUE_BATCH_IDLE_TIMEOUT);
+        }
+    }
+
+    @Test
+    void should_wait_for_the_transaction_of_the_added_item() throws Exception {
+        stubFor(WireMock.get(urlPathEqualTo("/odata/QueueItems"))
+                .withQueryParam("$filter", WireMock.equalTo("Id in (39578029)"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"value\":[{\"Id\":39578029,\"Key\":\"ef306441-f7a6-4fad-ba8a-d09ec1237e2c\","
+                                + "\"Status\":\"InProgress\"}]}")));
+        System.setProperty(ConnectorSettings.WEBHOOK_PORT, "0");
+        System.setProperty(ConnectorSettings.WEBHOOK_SECRET, "webhook-secret");
+        try {
+            Map<String, Object> parameters = new HashMap<>();
+            parameters.put(UIPathAddToQueueConnector.WAIT_FOR_TRANSACTION_INPUT, true);
+            UIPathAddToQueueConnector connector = createConnector(parameters);
+            connector.connect();
+
+            CompletableFuture<Map<String, Object>> outputs = CompletableFuture.supplyAsync(() -> execute(connector));
+            long deadline = System.currentTimeMillis() + 5000;
+            while ((WebhookReceiver.shared() == null || WebhookReceiver.shared().awaitedQueueItems() == 0)
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            WebhookEvent event = JsonMappers.mapper().readValue("{\"Type\":\"queueItem.transactionCompleted\","
+                    + "\"QueueItem\":{\"Id\":39578029,\"Key\":\"ef306441-f7a6-4fad-ba8a-d09ec1237e2c\","
+                    + "\"Status\":\"Successful\"}}", WebhookEvent.class);
+            assertThat(WebhookReceiver.shared().dispatch(event, tenant -> true)).isTrue();
+
+            assertThat(outputs.get(5, TimeUnit.SECONDS))
+                    .containsEntry(UIPathAddToQueueConnector.ITEM_ID_OUTPUT, 39578029L)
+                    .containsEntry(UIPathAddToQueueConnector.ITEM_STATUS_OUTPUT, "Successful");
+            assertThat(WebhookReceiver.shared().awaitedQueueItems()).isZero();
+        } finally {
+            System.clearProperty(ConnectorSettings.WEBHOOK_PORT);
+            System.clearProperty(ConnectorSettings.WEBHOOK_SECRET);
+            WebhookReceiver.stopShared();
+        }
+    }
+
+    @Test
+    void should_not_add_the_item_when_its_transaction_cannot_be_awaited() throws Exception {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(UIPathAddToQueueConnector.WAIT_FOR_TRANSACTION_INPUT, true);
+        UIPathAddToQueueConnector connector = createConnector(parameters);
+        connector.connect();
+
+        assertThatThrownBy(connector::execute).isInstanceOf(ConnectorException.class)
+                .hasMessageContaining(ConnectorSettings.WEBHOOK_PORT);
+        verify(0, postRequestedFor(urlEqualTo("/odata/Queues/UiPathODataSvc.AddQueueItem")));
+    }
+
+    private static void stubLastItem(long id) {
+        stubFor(WireMock.get(urlPathEqualTo("/odata/QueueItems"))
+                .withQueryParam("$orderby", WireMock.equalTo("Id desc"))
+                .withQueryParam("$top", WireMock.equalTo("1"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"value\":[{\"Id\":" + id + "}]}")));
+    }
+
+    private static void stubBatchCalls() {
+        stubFor(WireMock.post(urlEqualTo("/odata/Queues/UiPathODataSvc.BulkAddQueueItems"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"value\":[]}")));
+        stubFor(WireMock.get(urlPathEqualTo("/odata/QueueDefinitions"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"value\":[{\"Id\":53772,\"Name\":\"myQueue\"}]}")));
+        stubFor(WireMock.get(urlPathEqualTo("/odata/QueueItems"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"value\":[{\"Id\":1,\"Key\":\"k1\",\"Reference\":\"ref-1\"}]}")));
+        stubLastItem(0);
+    }
+
+    private UIPathAddToQueueConnector createBatchingConnector(String reference) throws Exception {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(UIPathAddToQueueConnector.REFERENCE_INPUT, reference);
+        parameters.put(UIPathAddToQueueConnector.BATCHING_INPUT, true);
+        UIPathAddToQueueConnector connector = createConnector(parameters);
+        connector.connect();
+        return connector;
+    }
+
+    private static Map<String, Object> execute(UIPathAddToQueueConnector connector) {
+        try {
+            return connector.execute();
+        } catch (ConnectorException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
 }
@@ -0,0 +1,248 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.spy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bonitasoft.engine.connector.ConnectorValidationException;
+import org.bonitasoft.engine.connector.uipath.client.ConnectorSettings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+
+@WireMockTest(httpPort = 8888)
+class UIPathBulkAddQueueItemsConnectorTest {
+
+    private static final String BULK_ADD_URL = "/odata/Queues/UiPathODataSvc.BulkAddQueueItems";
+
+    @BeforeEach
+    public void configureStubs() throws Exception {
+        UIPathConnector.clearCaches();
+        stubFor(WireMock.post(urlEqualTo("/api/account/authenticate"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("mock.authenticate.response.json")));
+        stubFor(WireMock.get(urlPathEqualTo("/odata/QueueDefinitions"))
+                .withQueryParam("$filter", WireMock.equalTo("Name eq 'myQueue'"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"value\":[{\"Id\":53772,\"Name\":\"myQueue\"}]}")));
+        stubFor(WireMock.get(urlPathEqualTo("/odata/QueueItems"))
+                .withQueryParam("$filter", WireMock.containing("QueueDefinitionId eq 53772"))
+                .withQueryParam("$select", WireMock.equalTo("Id,Key,Reference"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"value\":["
+                                + "{\"Id\":1,\"Key\":\"k1\",\"Reference\":\"a\"},"
+                                + "{\"Id\":2,\"Key\":\"k2\",\"Reference\":\"b\"},"
+                                + "{\"Id\":3,\"Key\":\"k3\",\"Reference\":\"c\"}]}")));
+        stubFor(WireMock.get(urlPathEqualTo("/odata/QueueItems"))
+                .withQueryParam("$filter", WireMock.equalTo("QueueDefinitionId eq 53772"))
+                .withQueryParam("$select", WireMock.equalTo("Id"))
+                .withQueryParam("$orderby", WireMock.equalTo("Id desc"))
+                .withQueryParam("$top", WireMock.equalTo("1"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"value\":[]}")));
+    }
+
+    private static void stubBulkAdd(String failedItems) {
+        stubFor(WireMock.post(urlEqualTo(BULK_ADD_URL))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"value\":[" + failedItems + "]}")));
+    }
+
+    private static Map<String, Object> item(String reference) {
+        Map<String, Object> item = new HashMap<>();
+        item.put(UIPathBulkAddQueueItemsConnector.REFERENCE_KEY, reference);
+        Map<String, Object> content = new HashMap<>();
+        content.put("hello", "world");
+        item.put(UIPathBulkAddQueueItemsConnector.CONTENT_KEY, content);
+        return item;
+    }
+
+    private UIPathBulkAddQueueItemsConnector createConnector(int batchSize, String commitType) throws Exception {
+        return createConnector(batchSize, commitType, new ArrayList<>(Arrays.asList(item("a"), item("b"), item("c"))));
+    }
+
+    private UIPathBulkAddQueueItemsConnector createConnector(int batchSize, String commitType,
+            List<Map<String, Object>> items) throws Exception {
+        return createConnector(batchSize, commitType, items, new HashMap<>());
+    }
+
+    private UIPathBulkAddQueueItemsConnector createConnector(int batchSize, String commitType,
+            List<Map<String, Object>> items, Map<String, Object> extraParameters) throws Exception {
+        UIPathBulkAddQueueItemsConnector connector = spy(new UIPathBulkAddQueueItemsConnector());
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(UIPathConnector.CLOUD, false);
+        parameters.put(UIPathConnector.URL, "http://localhost:8888");
+        parameters.put(UIPathConnector.TENANT, "a_tenant");
+        parameters.put(UIPathConnector.USER, "admin");
+        parameters.put(UIPathConnector.PASSWORD, "somePassowrd");
+        parameters.put(UIPathBulkAddQueueItemsConnector.QUEUE_NAME, "myQueue");
+        parameters.put(UIPathBulkAddQueueItemsConnector.QUEUE_ITEMS, items);
+        parameters.put(UIPathBulkAddQueueItemsConnector.BATCH_SIZE, batchSize);
+        parameters.put(UIPathBulkAddQueueItemsConnector.COMMIT_TYPE, commitType);
+        parameters.putAll(extraParameters);
+        connector.setInputParameters(parameters);
+        connector.validateInputParameters();
+        return connector;
+    }
+
+    @Test
+    void should_add_items_in_batches() throws Exception {
+        stubBulkAdd("");
+        UIPathBulkAddQueueItemsConnector connector = createConnector(2, "ProcessAllIndependently");
+
+        connector.connect();
+        Map<String, Object> outputs = connector.execute();
+
+        verify(2, postRequestedFor(urlEqualTo(BULK_ADD_URL)));
+        verify(postRequestedFor(urlEqualTo(BULK_ADD_URL))
+                .withRequestBody(WireMock.matchingJsonPath("$.commitType", WireMock.equalTo("ProcessAllIndependently")))
+                .withRequestBody(WireMock.matchingJsonPath("$.queueItems[0].Reference", WireMock.equalTo("c"))));
+        assertThat(outputs.get(UIPathBulkAddQueueItemsConnector.ITEM_IDS_OUTPUT)).isEqualTo(Arrays.asList(1L, 2L, 3L));
+        assertThat((List<?>) outputs.get(UIPathBulkAddQueueItemsConnector.FAILED_ITEMS_OUTPUT)).isEmpty();
+    }
+
+    @Test
+    void should_only_report_ids_of_items_created_by_the_execution() throws Exception {
+        stubBulkAdd("");
+        stubFor(WireMock.get(urlPathEqualTo("/odata/QueueItems"))
+                .withQueryParam("$filter", WireMock.equalTo(
+                        "QueueDefinitionId eq 53772 and Id gt 0 and Reference in ('a','b','c')"))
+                .withQueryParam("$select", WireMock.equalTo("Id,Key,Reference"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"value\":["
+                                + "{\"Id\":1,\"Key\":\"k1\",\"Reference\":\"a\"},"
+                                + "{\"Id\":2,\"Key\":\"k2\",\"Reference\":\"b\"},"
+                                + "{\"Id\":3,\"Key\":\"k3\",\"Reference\":\"c\"},"
+                                + "{\"Id\":4,\"Key\":\"k4\",\"Reference\":\"b\"}]}")));
+        UIPathBulkAddQueueItemsConnector connector = createConnector(100, "ProcessAllIndependently");
+
+        connector.connect();
+        Map<String, Object> outputs = connector.execute();
+
+        assertThat(outputs.get(UIPathBulkAddQueueItemsConnector.ITEM_IDS_OUTPUT))
+                .isEqualTo(Arrays.asList(1L, null, 3L));
+    }
+
+    @Test
+    void should_report_items_that_could_not_be_added() throws Exception {
+        stubBulkAdd("{\"ItemData\":{\"Reference\":\"b\"},\"ErrorMessage\":\"Duplicate reference\"}");
+        UIPathBulkAddQueueItemsConnector connector = createConnector(100, "ProcessAllIndependently");
+
+        connector.connect();
+        Map<String, Object> outputs = connector.execute();
+
+        verify(1, postRequestedFor(urlEqualTo(BULK_ADD_URL)));
+        assertThat(outputs.get(UIPathBulkAddQueueItemsConnector.ITEM_IDS_OUTPUT))
+                .isEqualTo(Arrays.asList(1L, null, 3L));
+        List<Map<String, Object>> failedItems = (List<Map<String, Object>>) outputs
+                .get(UIPathBulkAddQueueItemsConnector.FAILED_ITEMS_OUTPUT);
+        assertThat(failedItems).hasSize(1);
+        assertThat(failedItems.get(0))
+                .containsEntry(UIPathBulkAddQueueItemsConnector.INDEX_KEY, 1)
+                .containsEntry(UIPathBulkAddQueueItemsConnector.REFERENCE_KEY, "b")
+                .containsEntry(UIPathBulkAddQueueItemsConnector.ERROR_MESSAGE_KEY, "Duplicate reference");
+    }
+
+    @Test
+    void should_stop_at_first_failing_batch_with_all_or_nothing() throws Exception {
+        stubBulkAdd("{\"ItemData\":{\"Reference\":\"a\"},\"ErrorMessage\":\"Invalid item\"}");
+        UIPathBulkAddQueueItemsConnector connector = createConnector(2, "AllOrNothing");
+
+        connector.connect();
+        Map<String, Object> outputs = connector.execute();
+
+        verify(1, postRequestedFor(urlEqualTo(BULK_ADD_URL)));
+        assertThat(outputs.get(UIPathBulkAddQueueItemsConnector.ITEM_IDS_OUTPUT))
+                .isEqualTo(Arrays.asList(null, null, null));
+        List<Map<String, Object>> failedItems = (List<Map<String, Object>>) outputs
+                .get(UIPathBulkAddQueueItemsConnector.FAILED_ITEMS_OUTPUT);
+        assertThat(failedItems).extracting(item -> item.get(UIPathBulkAddQueueItemsConnector.ERROR_MESSAGE_KEY))
+                .containsExactly("Invalid item",
+                        UIPathBulkAddQueueItemsConnector.ROLLED_BACK_MESSAGE,
+                        UIPathBulkAddQueueItemsConnector.NOT_SUBMITTED_MESSAGE);
+    }
+
+    @Test
+    void should_report_the_status_of_completed_transactions() throws Exception {
+        stubBulkAdd("");
+        stubFor(WireMock.get(urlPathEqualTo("/odata/QueueItems"))
+                .withQueryParam("$filter", WireMock.equalTo("Id in (1,2,3)"))
+                .withQueryParam("$select", WireMock.equalTo("Id,Key,Status"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"value\":["
+                                + "{\"Id\":1,\"Key\":\"k1\",\"Status\":\"Successful\"},"
+                                + "{\"Id\":2,\"Key\":\"k2\",\"Status\":\"Failed\"},"
+                                + "{\"Id\":3,\"Key\":\"k3\",\"Status\":\"Successful\"}]}")));
+        System.setProperty(ConnectorSettings.WEBHOOK_PORT, "0");
+        System.setProperty(ConnectorSettings.WEBHOOK_SECRET, "webhook-secret");
+        try {
+            Map<String, Object> parameters = new HashMap<>();
+            parameters.put(UIPathBulkAddQueueItemsConnector.WAIT_FOR_TRANSACTIONS, true);
+            UIPathBulkAddQueueItemsConnector connector = createConnector(100, "ProcessAllIndependently",
+                    new ArrayList<>(Arrays.asList(item("a"), item("b"), item("c"))), parameters);
+
+            connector.connect();
+            Map<String, Object> outputs = connector.execute();
+
+            assertThat((List<String>) outputs.get(UIPathBulkAddQueueItemsConnector.ITEM_STATUSES_OUTPUT))
+                    .containsExactly("Successful", "Failed", "Successful");
+            assertThat(WebhookReceiver.shared().awaitedQueueItems()).isZero();
+        } finally {
+            System.clearProperty(ConnectorSettings.WEBHOOK_PORT);
+            System.clearProperty(ConnectorSettings.WEBHOOK_SECRET);
+            WebhookReceiver.stopShared();
+        }
+    }
+
+    @Test
+    void should_reject_non_string_references() {
+        Map<String, Object> item = item("a");
+        item.put(UIPathBulkAddQueueItemsConnector.REFERENCE_KEY, 42);
+
+        assertThatThrownBy(() -> createConnector(2, "ProcessAllIndependently", Arrays.asList(item)))
+                .isInstanceOf(ConnectorValidationException.class)
+                .hasMessageContaining("'reference' of queue item at index 0 must be a String.");
+    }
+
+    @Test
+    void should_reject_unknown_commit_type() {
+        assertThatThrownBy(() -> createConnector(2, "Partial"))
+                .isInstanceOf(ConnectorValidationException.class)
+                .hasMessageContaining("Partial");
+    }
+
+}
@@ -0,0 +1,163 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.bonitasoft.engine.connector.uipath.client.CircuitBreaker;
+import org.bonitasoft.engine.connector.uipath.client.CircuitBreakerInterceptor;
+import org.bonitasoft.engine.connector.uipath.client.ConnectorSettings;
+import org.bonitasoft.engine.connector.uipath.client.Deadline;
+import org.bonitasoft.engine.connector.uipath.client.ServiceKey;
+import org.bonitasoft.engine.connector.uipath.model.Job;
+import org.bonitasoft.engine.connector.uipath.model.Release;
+import org.bonitasoft.engine.connector.uipath.model.Robot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+
+@WireMockTest(httpPort = 8888)
+class UIPathClientTest {
+
+    private UIPathClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new UIPathClient(
+                UIPathServiceRegistry.service(new ServiceKey("http://localhost:8888/", false, null)));
+        stubFor(WireMock.post(WireMock.urlEqualTo("/api/account/authenticate"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("mock.authenticate.response.json")));
+        stubFor(WireMock.get(urlPathEqualTo("/odata/Releases"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("mock.releases.response.json")));
+        stubFor(WireMock.get(urlPathEqualTo("/odata/Robots"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("mock.robots.response.json")));
+    }
+
+    @Test
+    void should_run_concurrent_lookups_once_authenticated() throws Exception {
+        Map<String, String> headers = Collections.singletonMap("Authorization",
+                "Bearer " + client.authenticate("a_tenant", "admin", "secret").get("result"));
+        CompletableFuture<List<Release>> releases = client.releases(headers, null, null);
+        CompletableFuture<List<Robot>> robots = client.robots(headers, null, null);
+
+        CompletableFuture.allOf(releases, robots).get(5, TimeUnit.SECONDS);
+
+        assertThat(releases.join()).isNotEmpty();
+        assertThat(robots.join()).isNotEmpty();
+        WireMock.verify(WireMock.getRequestedFor(urlPathEqualTo("/odata/Releases"))
+                .withHeader("Authorization",
+                        WireMock.equalTo("Bearer 1xAaDytyclwDmxlgxFqMM2E5Kdj19JxGPHStcjRLfz8YA5HimP7y2_d5A")));
+    }
+
+    @Test
+    void should_complete_with_the_status_and_body_of_unsuccessful_responses() {
+        stubFor(WireMock.get(urlPathEqualTo("/odata/Jobs(42)"))
+                .willReturn(WireMock.aResponse().withStatus(404).withBody("Job not found")));
+
+        assertThatThrownBy(() -> UIPathClient.await(client.job(Collections.emptyMap(), 42, null)))
+                .isInstanceOfSatisfying(UIPathResponseException.class, e -> {
+                    assertThat(e.getCode()).isEqualTo(404);
+                    assertThat(e.getErrorBody()).isEqualTo("Job not found");
+                })
+                .hasMessage("Failed to retrieve Job with id='42': 404 - Job not found");
+    }
+
+    @Test
+    void should_give_calls_only_what_is_left_of_the_execution_deadline() {
+        stubFor(WireMock.get(urlPathEqualTo("/odata/Jobs(42)"))
+                .willReturn(WireMock.aResponse().withFixedDelay(2000).withBody("{\"Id\":42}")));
+        UIPathClient deadlineClient = new UIPathClient(
+                UIPathServiceRegistry.service(new ServiceKey("http://localhost:8888/", false, null)),
+                Deadline.after(Duration.ofMillis(300)));
+
+        assertThatThrownBy(() -> UIPathClient.await(deadlineClient.job(Collections.emptyMap(), 42, null)))
+                .isInstanceOf(UIPathTimeoutException.class)
+                .hasMessage("Failed to retrieve Job with id='42': execution deadline of 300 ms exceeded");
+        assertThatThrownBy(() -> UIPathClient.await(deadlineClient.releases(Collections.emptyMap(), null, null)))
+                .isInstanceOf(UIPathTimeoutException.class)
+                .hasMessage("Failed to retrieve releases: execution deadline of 300 ms exceeded");
+        WireMock.verify(0, WireMock.getRequestedFor(urlPathEqualTo("/odata/Releases")));
+        assertThat(deadlineClient.withoutDeadline().getDeadline()).isNull();
+    }
+
+    @Test
+    void should_reject_calls_beyond_the_bulkhead_of_the_tenant() throws Exception {
+        String baseUrl = "http://localhost:8888/";
+        ServiceKey key = new ServiceKey(baseUrl, false, null, "bulkhead");
+        System.setProperty(ConnectorSettings.HTTP_MAX_REQUESTS + "@" + baseUrl, "1");
+        System.setProperty(ConnectorSettings.HTTP_MAX_QUEUED_REQUESTS + "@" + baseUrl, "0");
+        try {
+            stubFor(WireMock.get(urlPathEqualTo("/odata/Jobs(42)"))
+                    .willReturn(WireMock.aResponse().withFixedDelay(500)
+                            .withHeader("Content-Type", "application/json")
+                            .withBody("{\"Id\":42}")));
+            UIPathClient tenantClient = new UIPathClient(UIPathServiceRegistry.service(key));
+
+            CompletableFuture<Job> running = tenantClient.job(Collections.emptyMap(), 42, null);
+
+            assertThatThrownBy(() -> UIPathClient.await(tenantClient.job(Collections.emptyMap(), 42, null)))
+                    .isInstanceOf(BulkheadFullException.class)
+                    .hasMessageContaining("1 calls already running or queued for " + baseUrl
+                            + " (tenant bulkhead)");
+            assertThat(tenantClient.authenticate("a_tenant", "admin", "secret")).containsKey("result");
+            assertThat(running.get(5, TimeUnit.SECONDS).getId()).isEqualTo("42");
+        } finally {
+            System.clearProperty(ConnectorSettings.HTTP_MAX_REQUESTS + "@" + baseUrl);
+            System.clearProperty(ConnectorSettings.HTTP_MAX_QUEUED_REQUESTS + "@" + baseUrl);
+        }
+    }
+
+    @Test
+    void should_fail_fast_while_the_circuit_breaker_is_open() {
+        String baseUrl = "http://127.0.0.1:8888/";
+        CircuitBreaker breaker = CircuitBreakerInterceptor.breaker(baseUrl);
+        try {
+            while (breaker.getState() != CircuitBreaker.State.OPEN) {
+                breaker.tryAcquire();
+                breaker.onResult(true, Duration.ZERO);
+            }
+            UIPathClient openClient = new UIPathClient(
+                    UIPathServiceRegistry.service(new ServiceKey(baseUrl, false, null)));
+
+            assertThatThrownBy(() -> UIPathClient.await(openClient.job(Collections.emptyMap(), 42, null)))
+                    .isInstanceOfSatisfying(OrchestratorUnavailableException.class,
+                            e -> assertThat(e.getRetryAt()).isEqualTo(breaker.getHalfOpenAt()))
+                    .hasMessageStartingWith("Failed to retrieve Job with id='42': Circuit breaker open for "
+                            + baseUrl);
+            WireMock.verify(0, WireMock.getRequestedFor(urlPathEqualTo("/odata/Jobs(42)")));
+        } finally {
+            CircuitBreakerInterceptor.reset();
+        }
+    }
+
+}
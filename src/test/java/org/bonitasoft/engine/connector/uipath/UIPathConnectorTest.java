@@ -5,22 +5,34 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.bonitasoft.engine.connector.ConnectorException;
 import org.bonitasoft.engine.connector.ConnectorValidationException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import okio.Timeout;
 import retrofit2.Call;
 import retrofit2.Response;
 
 class UIPathConnectorTest {
 
+    @BeforeEach
+    void clearCaches() {
+        UIPathConnector.clearCaches();
+    }
+
     @Test
     void should_validate_cloud_input_parameter() throws Exception {
         UIPathConnector connector = newConnector();
@@ -53,6 +65,25 @@ class UIPathConnectorTest {
         connector.setInputParameters(parameters);
         assertThrows(ConnectorValidationException.class, () -> connector.validateInputParameters());
     }
+
+    @Test
+    void should_validate_execution_timeout_input_parameter() throws Exception {
+        UIPathConnector connector = newConnector();
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(UIPathConnector.CLOUD, false);
+        parameters.put(UIPathConnector.URL, "http://localhost:9090");
+        parameters.put(UIPathConnector.USER, "bonitasoft");
+        parameters.put(UIPathConnector.TENANT, "a_tenant");
+        parameters.put(UIPathConnector.PASSWORD, "somePassword");
+        parameters.put(UIPathConnector.EXECUTION_TIMEOUT, 0);
+        connector.setInputParameters(parameters);
+        assertThrows(ConnectorValidationException.class, () -> connector.validateInputParameters());
+
+        parameters.put(UIPathConnector.EXECUTION_TIMEOUT, 30);
+        connector.setInputParameters(parameters);
+        connector.validateInputParameters();
+        assertThat(connector.getExecutionTimeout()).isEqualTo(Duration.ofSeconds(30));
+    }
     
     @Test
     void should_build_on_premise_url() throws Exception {
@@ -85,8 +116,7 @@ class UIPathConnectorTest {
     void should_authenticate_on_premise() throws Exception {
         UIPathConnector connector = newConnector();
         UIPathService sevrice = Mockito.mock(UIPathService.class);
-        Call<Map<String, String>> call = mock(Call.class);
-        when(call.execute()).thenReturn(Response.success(new HashMap<String, String>()));
+        Call<Map<String, String>> call = successfulCall(new HashMap<String, String>());
         when(sevrice.authenticate(Mockito.notNull(), Mockito.notNull(), Mockito.notNull())).thenReturn(call);
         doReturn(sevrice).when(connector).createService();
 
@@ -108,8 +138,7 @@ class UIPathConnectorTest {
     void should_authenticate_in_the_cloud_with_client_credentials() throws Exception {
         UIPathConnector connector = newConnector();
         UIPathService service = Mockito.mock(UIPathService.class);
-        Call<Map<String, String>> call = mock(Call.class);
-        when(call.execute()).thenReturn(Response.success(new HashMap<String, String>()));
+        Call<Map<String, String>> call = successfulCall(new HashMap<String, String>());
         when(service.authenticateInCloudWithClientCredentials(Mockito.notNull(), Mockito.notNull(), Mockito.notNull(), Mockito.notNull(), Mockito.notNull())).thenReturn(call);
         doReturn(service).when(connector).createService();
 
@@ -130,6 +159,60 @@ class UIPathConnectorTest {
         verify(service).authenticateInCloudWithClientCredentials("bonitasoft", "client_credentials", "1234", "someSecret", "someScope");
     }
 
+    @Test
+    void should_reuse_cloud_access_token_until_it_expires() throws Exception {
+        UIPathConnector connector = newConnector();
+        UIPathService service = Mockito.mock(UIPathService.class);
+        Map<String, String> tokenResponse = new HashMap<>();
+        tokenResponse.put("access_token", "someAccessToken");
+        tokenResponse.put("expires_in", "3600");
+        when(service.authenticateInCloudWithClientCredentials(Mockito.notNull(), Mockito.notNull(), Mockito.notNull(), Mockito.notNull(), Mockito.notNull()))
+                .thenAnswer(invocation -> successfulCall(tokenResponse));
+        doReturn(service).when(connector).createService();
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(UIPathConnector.CLOUD, true);
+        parameters.put(UIPathConnector.CLOUD_AUTH_TYPE, UIPathConnector.CLIENT_CREDENTIALS_AUTH_TYPE);
+        parameters.put(UIPathConnector.ACCOUNT_LOGICAL_NAME, "bonitasoft");
+        parameters.put(UIPathConnector.TENANT_LOGICAL_NAME, "a_tenant");
+        parameters.put(UIPathConnector.ORGANIZATION_UNIT_ID, "myUnitId");
+        parameters.put(UIPathConnector.CLIENT_ID, "1234");
+        parameters.put(UIPathConnector.CLIENT_SECRET, "someSecret");
+        parameters.put(UIPathConnector.SCOPE, "someScope");
+        connector.setInputParameters(parameters);
+        connector.validateInputParameters();
+        connector.connect();
+
+        assertThat(connector.authenticate()).isEqualTo("someAccessToken");
+        assertThat(connector.authenticate()).isEqualTo("someAccessToken");
+
+        verify(service, times(1)).authenticateInCloudWithClientCredentials("bonitasoft", "client_credentials", "1234", "someSecret", "someScope");
+    }
+
+    @Test
+    void should_not_share_cloud_access_tokens_between_client_secrets() throws Exception {
+        UIPathService service = Mockito.mock(UIPathService.class);
+        Map<String, String> tokenResponse = new HashMap<>();
+        tokenResponse.put("access_token", "someAccessToken");
+        tokenResponse.put("expires_in", "3600");
+        when(service.authenticateInCloudWithClientCredentials(Mockito.notNull(), Mockito.notNull(), Mockito.notNull(), Mockito.notNull(), Mockito.notNull()))
+                .thenAnswer(invocation -> successfulCall(tokenResponse));
+        when(service.authenticateInCloudWithClientCredentials("bonitasoft", "client_credentials", "1234", "wrongSecret", "someScope"))
+                .thenAnswer(invocation -> failedCall(401));
+
+        UIPathConnector connector = newConnector();
+        doReturn(service).when(connector).createService();
+        connector.setInputParameters(cloudParameters("someSecret"));
+        connector.connect();
+        assertThat(connector.authenticate()).isEqualTo("someAccessToken");
+
+        UIPathConnector wrongSecretConnector = newConnector();
+        doReturn(service).when(wrongSecretConnector).createService();
+        wrongSecretConnector.setInputParameters(cloudParameters("wrongSecret"));
+        wrongSecretConnector.connect();
+        assertThrows(UIPathResponseException.class, () -> wrongSecretConnector.authenticate());
+    }
+
     @Test
     void should_authenticate_in_the_cloud_with_token() throws Exception {
         UIPathConnector connector = newConnector();
@@ -151,6 +234,34 @@ class UIPathConnectorTest {
 
     }
 
+    private static <T> Call<T> successfulCall(T body) throws IOException {
+        return call(Response.success(body));
+    }
+
+    private static <T> Call<T> failedCall(int code) throws IOException {
+        return call(Response.error(code, ResponseBody.create("", MediaType.get("application/json"))));
+    }
+
+    private static <T> Call<T> call(Response<T> response) throws IOException {
+        Call<T> call = mock(Call.class);
+        when(call.timeout()).thenReturn(new Timeout());
+        when(call.execute()).thenReturn(response);
+        return call;
+    }
+
+    private static Map<String, Object> cloudParameters(String clientSecret) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(UIPathConnector.CLOUD, true);
+        parameters.put(UIPathConnector.CLOUD_AUTH_TYPE, UIPathConnector.CLIENT_CREDENTIALS_AUTH_TYPE);
+        parameters.put(UIPathConnector.ACCOUNT_LOGICAL_NAME, "bonitasoft");
+        parameters.put(UIPathConnector.TENANT_LOGICAL_NAME, "a_tenant");
+        parameters.put(UIPathConnector.ORGANIZATION_UNIT_ID, "myUnitId");
+        parameters.put(UIPathConnector.CLIENT_ID, "1234");
+        parameters.put(UIPathConnector.CLIENT_SECRET, clientSecret);
+        parameters.put(UIPathConnector.SCOPE, "someScope");
+        return parameters;
+    }
+
     private UIPathConnector newConnector() {
         return spy(new UIPathConnector() {
 
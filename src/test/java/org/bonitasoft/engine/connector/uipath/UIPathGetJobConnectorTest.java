@@ -16,11 +16,16 @@ package org.bonitasoft.engine.connector.uipath;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.spy;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.bonitasoft.engine.connector.ConnectorException;
+import org.bonitasoft.engine.connector.ConnectorValidationException;
 import org.bonitasoft.engine.connector.uipath.model.JobState;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -28,12 +33,14 @@ import org.junit.jupiter.api.Test;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
 import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
 
 @WireMockTest(httpPort = 8888)
 class UIPathGetJobConnectorTest {
 
     @BeforeEach
     public void configureStubs(WireMockRuntimeInfo info) throws Exception {
+        UIPathConnector.clearCaches();
         stubFor(WireMock.post(WireMock.urlEqualTo("/api/account/authenticate"))
                 .willReturn(WireMock.aResponse()
                         .withHeader("Content-Type", "application/json")
@@ -41,6 +48,10 @@ class UIPathGetJobConnectorTest {
     }
 
     private UIPathGetJobConnector createConnector() throws Exception {
+        return createConnector(new HashMap<>());
+    }
+
+    private UIPathGetJobConnector createConnector(Map<String, Object> extraParameters) throws Exception {
         UIPathGetJobConnector uiPathConnector = spy(new UIPathGetJobConnector());
         Map<String, Object> parameters = new HashMap<>();
         parameters.put(UIPathConnector.CLOUD, false);
@@ -49,6 +60,7 @@ class UIPathGetJobConnectorTest {
         parameters.put(UIPathConnector.USER, "admin");
         parameters.put(UIPathConnector.PASSWORD, "somePassowrd");
         parameters.put(UIPathGetJobConnector.JOB_ID, "268348846");
+        parameters.putAll(extraParameters);
         uiPathConnector.setInputParameters(parameters);
         uiPathConnector.validateInputParameters();
         return uiPathConnector;
@@ -56,7 +68,7 @@ class UIPathGetJobConnectorTest {
 
     @Test
     void should_get_pending_job() throws Exception {
-        stubFor(WireMock.get(WireMock.urlEqualTo("/odata/Jobs(268348846)"))
+        stubFor(WireMock.get(WireMock.urlPathEqualTo("/odata/Jobs(268348846)"))
                 .willReturn(WireMock.aResponse()
                         .withHeader("Content-Type", "application/json")
                         .withBodyFile("mock.job.response.json")));
@@ -69,7 +81,7 @@ class UIPathGetJobConnectorTest {
 
     @Test
     void should_get_successful_job(WireMockRuntimeInfo info) throws Exception {
-        stubFor(WireMock.get(WireMock.urlEqualTo("/odata/Jobs(268348846)"))
+        stubFor(WireMock.get(WireMock.urlPathEqualTo("/odata/Jobs(268348846)"))
                 .willReturn(WireMock.aResponse()
                         .withHeader("Content-Type", "application/json")
                         .withBodyFile("mock.job.success.response.json")));
@@ -82,4 +94,107 @@ class UIPathGetJobConnectorTest {
                 .containsEntry(UIPathGetJobConnector.JOB_OUTPUT_ARGS, "{\"out1\" : \"ok\"}");
     }
     
+    @Test
+    void should_only_request_mapped_fields() throws Exception {
+        stubFor(WireMock.get(WireMock.urlPathEqualTo("/odata/Jobs(268348846)"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("mock.job.success.response.json")));
+
+        UIPathGetJobConnector connector = createConnector();
+        connector.connect();
+        Map<String, Object> outputs = connector.execute();
+
+        WireMock.verify(WireMock.getRequestedFor(WireMock.urlPathEqualTo("/odata/Jobs(268348846)"))
+                .withQueryParam("$select", WireMock.equalTo("Id,State,OutputArguments")));
+        assertThat((Map<?, ?>) outputs.get(UIPathGetJobConnector.JOB_EXTRA_FIELDS)).isEmpty();
+    }
+
+    @Test
+    void should_request_extra_fields() throws Exception {
+        stubFor(WireMock.get(WireMock.urlPathEqualTo("/odata/Jobs(268348846)"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"Id\":268348846,\"State\":\"Successful\",\"Info\":\"Job completed\"}")));
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(UIPathGetJobConnector.EXTRA_FIELDS, Arrays.asList("Info"));
+
+        UIPathGetJobConnector connector = createConnector(parameters);
+        connector.connect();
+        Map<String, Object> outputs = connector.execute();
+
+        WireMock.verify(WireMock.getRequestedFor(WireMock.urlPathEqualTo("/odata/Jobs(268348846)"))
+                .withQueryParam("$select", WireMock.equalTo("Id,State,OutputArguments,Info")));
+        assertThat((Map<String, String>) outputs.get(UIPathGetJobConnector.JOB_EXTRA_FIELDS))
+                .containsExactly(entry("Info", "Job completed"));
+    }
+
+    @Test
+    void should_reject_unsupported_extra_fields() {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(UIPathGetJobConnector.EXTRA_FIELDS, Arrays.asList("Robot"));
+
+        assertThrows(ConnectorValidationException.class, () -> createConnector(parameters));
+    }
+
+    @Test
+    void should_reuse_on_premise_token_between_executions() throws Exception {
+        stubFor(WireMock.get(WireMock.urlPathEqualTo("/odata/Jobs(268348846)"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("mock.job.response.json")));
+
+        UIPathGetJobConnector firstExecution = createConnector();
+        firstExecution.connect();
+        firstExecution.execute();
+        UIPathGetJobConnector secondExecution = createConnector();
+        secondExecution.connect();
+        secondExecution.execute();
+
+        WireMock.verify(1, WireMock.postRequestedFor(WireMock.urlEqualTo("/api/account/authenticate")));
+    }
+
+    @Test
+    void should_drop_cached_token_when_rejected() throws Exception {
+        stubFor(WireMock.get(WireMock.urlPathEqualTo("/odata/Jobs(268348846)"))
+                .willReturn(WireMock.aResponse().withStatus(401)));
+
+        UIPathGetJobConnector rejectedExecution = createConnector();
+        rejectedExecution.connect();
+        assertThrows(ConnectorException.class, rejectedExecution::execute);
+
+        stubFor(WireMock.get(WireMock.urlPathEqualTo("/odata/Jobs(268348846)"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("mock.job.response.json")));
+        UIPathGetJobConnector nextExecution = createConnector();
+        nextExecution.connect();
+        nextExecution.execute();
+
+        WireMock.verify(3, WireMock.postRequestedFor(WireMock.urlEqualTo("/api/account/authenticate")));
+    }
+
+    @Test
+    void should_replay_request_with_renewed_token_when_rejected() throws Exception {
+        stubFor(WireMock.get(WireMock.urlPathEqualTo("/odata/Jobs(268348846)"))
+                .inScenario("token expiry")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(WireMock.aResponse().withStatus(401))
+                .willSetStateTo("token renewed"));
+        stubFor(WireMock.get(WireMock.urlPathEqualTo("/odata/Jobs(268348846)"))
+                .inScenario("token expiry")
+                .whenScenarioStateIs("token renewed")
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("mock.job.success.response.json")));
+
+        UIPathGetJobConnector connector = createConnector();
+        connector.connect();
+        Map<String, Object> outputs = connector.execute();
+
+        assertThat(outputs).containsEntry(UIPathGetJobConnector.JOB_STATE, JobState.SUCCESSFUL.toString());
+        WireMock.verify(2, WireMock.postRequestedFor(WireMock.urlEqualTo("/api/account/authenticate")));
+        WireMock.verify(2, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/odata/Jobs(268348846)")));
+    }
+
 }
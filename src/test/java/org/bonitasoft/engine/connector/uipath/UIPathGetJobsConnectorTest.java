@@ -0,0 +1,111 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.spy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.bonitasoft.engine.connector.ConnectorValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+
+@WireMockTest(httpPort = 8888)
+class UIPathGetJobsConnectorTest {
+
+    @BeforeEach
+    public void configureStubs() throws Exception {
+        UIPathConnector.clearCaches();
+        stubFor(WireMock.post(WireMock.urlEqualTo("/api/account/authenticate"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("mock.authenticate.response.json")));
+        stubFor(WireMock.get(urlPathEqualTo("/odata/Jobs"))
+                .withQueryParam("$select", WireMock.equalTo(UIPathGetJobConnector.JOB_FIELDS))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"value\":["
+                                + "{\"Id\":1,\"State\":\"Successful\",\"OutputArguments\":\"{\\\"out1\\\":\\\"ok\\\"}\"},"
+                                + "{\"Id\":2,\"State\":\"Running\",\"OutputArguments\":null}]}")));
+    }
+
+    private UIPathGetJobsConnector createConnector(List<Object> jobIds) throws Exception {
+        UIPathGetJobsConnector connector = spy(new UIPathGetJobsConnector());
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(UIPathConnector.CLOUD, false);
+        parameters.put(UIPathConnector.URL, "http://localhost:8888");
+        parameters.put(UIPathConnector.TENANT, "a_tenant");
+        parameters.put(UIPathConnector.USER, "admin");
+        parameters.put(UIPathConnector.PASSWORD, "somePassowrd");
+        parameters.put(UIPathGetJobsConnector.JOB_IDS, jobIds);
+        connector.setInputParameters(parameters);
+        connector.validateInputParameters();
+        return connector;
+    }
+
+    @Test
+    void should_get_jobs_in_a_single_query() throws Exception {
+        UIPathGetJobsConnector connector = createConnector(Arrays.asList("1", 2L, "1"));
+
+        connector.connect();
+        Map<String, Object> outputs = connector.execute();
+
+        verify(1, getRequestedFor(urlPathEqualTo("/odata/Jobs"))
+                .withQueryParam("$filter", WireMock.equalTo("Id in (1,2)")));
+        Map<String, Map<String, String>> jobs = (Map<String, Map<String, String>>) outputs
+                .get(UIPathGetJobsConnector.JOBS_OUTPUT);
+        assertThat(jobs).containsOnlyKeys("1", "2");
+        assertThat(jobs.get("1"))
+                .containsEntry(UIPathGetJobsConnector.JOB_STATE, "Successful")
+                .containsEntry(UIPathGetJobsConnector.JOB_OUTPUT_ARGS, "{\"out1\":\"ok\"}");
+        assertThat(jobs.get("2")).containsEntry(UIPathGetJobsConnector.JOB_STATE, "Running");
+    }
+
+    @Test
+    void should_split_job_ids_in_chunks() throws Exception {
+        List<Object> jobIds = LongStream.rangeClosed(1, UIPathGetJobsConnector.JOB_IDS_CHUNK_SIZE + 1)
+                .boxed()
+                .collect(Collectors.toCollection(ArrayList::new));
+        UIPathGetJobsConnector connector = createConnector(jobIds);
+
+        connector.connect();
+        connector.execute();
+
+        verify(2, getRequestedFor(urlPathEqualTo("/odata/Jobs")));
+        verify(getRequestedFor(urlPathEqualTo("/odata/Jobs"))
+                .withQueryParam("$filter", WireMock.equalTo("Id in (101)")));
+    }
+
+    @Test
+    void should_reject_invalid_job_ids() {
+        assertThrows(ConnectorValidationException.class, () -> createConnector(Arrays.asList("1", "abc")));
+    }
+
+}
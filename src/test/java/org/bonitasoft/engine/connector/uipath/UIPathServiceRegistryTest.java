@@ -0,0 +1,150 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.bonitasoft.engine.connector.uipath.client.Bulkhead;
+import org.bonitasoft.engine.connector.uipath.client.ConnectorSettings;
+import org.bonitasoft.engine.connector.uipath.client.ServiceKey;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+class UIPathServiceRegistryTest {
+
+    @AfterEach
+    void shutdown() {
+        UIPathServiceRegistry.shutdown();
+    }
+
+    @Test
+    void should_share_service_and_client_per_endpoint() {
+        ServiceKey key = new ServiceKey("https://cloud.uipath.com/bonita/bonita/", true, "1");
+
+        assertThat(UIPathServiceRegistry.service(key))
+                .isSameAs(UIPathServiceRegistry.service(new ServiceKey("https://cloud.uipath.com/bonita/bonita/", true, "1")));
+        assertThat(UIPathServiceRegistry.client(key)).isSameAs(UIPathServiceRegistry.client(key));
+    }
+
+    @Test
+    void should_not_share_service_between_organization_units() {
+        UIPathService service = UIPathServiceRegistry
+                .service(new ServiceKey("https://cloud.uipath.com/bonita/bonita/", true, "1"));
+
+        assertThat(service).isNotSameAs(UIPathServiceRegistry
+                .service(new ServiceKey("https://cloud.uipath.com/bonita/bonita/", true, "2")));
+        assertThat(service).isNotSameAs(UIPathServiceRegistry
+                .service(new ServiceKey("https://demo.uipath.com/", false, null)));
+    }
+
+    @Test
+    void should_isolate_on_premise_tenants_of_a_same_endpoint() {
+        ServiceKey defaultTenant = new ServiceKey("https://orchestrator.acme.com/", false, null, "Default");
+        ServiceKey financeTenant = new ServiceKey("https://orchestrator.acme.com/", false, null, "Finance");
+
+        assertThat(UIPathServiceRegistry.service(defaultTenant))
+                .isNotSameAs(UIPathServiceRegistry.service(financeTenant));
+        assertThat(UIPathServiceRegistry.client(defaultTenant).dispatcher())
+                .isNotSameAs(UIPathServiceRegistry.client(financeTenant).dispatcher());
+        assertThat(UIPathServiceRegistry.client(defaultTenant).connectionPool())
+                .isNotSameAs(UIPathServiceRegistry.client(financeTenant).connectionPool());
+    }
+
+    @Test
+    void should_apply_changed_limits_on_next_use() {
+        String baseUrl = "https://demo.uipath.com/";
+        ServiceKey key = new ServiceKey(baseUrl, false, null, "Default");
+        UIPathService service = UIPathServiceRegistry.service(key);
+        assertThat(UIPathServiceRegistry.client(key).dispatcher().getMaxRequests()).isEqualTo(64);
+
+        System.setProperty(ConnectorSettings.HTTP_MAX_REQUESTS + "@" + baseUrl, "8");
+        System.setProperty(ConnectorSettings.HTTP_MAX_QUEUED_REQUESTS, "4");
+        try {
+            assertThat(UIPathServiceRegistry.service(key)).isSameAs(service);
+
+            assertThat(UIPathServiceRegistry.client(key).dispatcher().getMaxRequests()).isEqualTo(8);
+            Bulkhead bulkhead = UIPathServiceRegistry.bulkhead(service);
+            assertThat(bulkhead.getMaxConcurrent()).isEqualTo(8);
+            assertThat(bulkhead.getMaxQueued()).isEqualTo(4);
+        } finally {
+            System.clearProperty(ConnectorSettings.HTTP_MAX_REQUESTS + "@" + baseUrl);
+            System.clearProperty(ConnectorSettings.HTTP_MAX_QUEUED_REQUESTS);
+        }
+    }
+
+    @Test
+    void should_run_dispatchers_on_daemon_threads() throws Exception {
+        ServiceKey key = new ServiceKey("https://demo.uipath.com/", false, null, "Default");
+
+        Future<Boolean> daemon = UIPathServiceRegistry.client(key).dispatcher().executorService()
+                .submit(() -> Thread.currentThread().isDaemon());
+
+        assertThat(daemon.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void should_release_idle_clients_and_webhook_receiver() throws Exception {
+        System.setProperty(ConnectorSettings.WEBHOOK_PORT, "0");
+        System.setProperty(ConnectorSettings.WEBHOOK_SECRET, "a_secret");
+        try {
+            assertThat(WebhookReceiver.startIfConfigured()).isTrue();
+        } finally {
+            System.clearProperty(ConnectorSettings.WEBHOOK_PORT);
+            System.clearProperty(ConnectorSettings.WEBHOOK_SECRET);
+        }
+        String baseUrl = "http://localhost:" + WebhookReceiver.shared().port() + "/";
+        ServiceKey key = new ServiceKey(baseUrl, false, null, "Default");
+        UIPathService service = UIPathServiceRegistry.service(key);
+        OkHttpClient client = UIPathServiceRegistry.client(key);
+        try (Response response = client.newCall(new Request.Builder().url(baseUrl + "uipath/webhooks").build())
+                .execute()) {
+            assertThat(response.code()).isEqualTo(405);
+        }
+
+        UIPathServiceRegistry.releaseIdle();
+
+        assertThat(UIPathServiceRegistry.service(key)).isSameAs(service);
+        assertThat(WebhookReceiver.isRunning()).isTrue();
+
+        System.setProperty(ConnectorSettings.HTTP_IDLE_RELEASE, "0");
+        try {
+            UIPathServiceRegistry.releaseIdle();
+        } finally {
+            System.clearProperty(ConnectorSettings.HTTP_IDLE_RELEASE);
+        }
+
+        assertThat(client.connectionPool().connectionCount()).isZero();
+        assertThat(WebhookReceiver.isRunning()).isFalse();
+        assertThat(UIPathServiceRegistry.service(key)).isNotSameAs(service);
+    }
+
+    @Test
+    void should_create_a_new_service_after_shutdown() {
+        ServiceKey key = new ServiceKey("https://demo.uipath.com/", false, null);
+        UIPathService service = UIPathServiceRegistry.service(key);
+
+        UIPathServiceRegistry.shutdown();
+
+        assertThat(UIPathServiceRegistry.service(key)).isNotSameAs(service);
+    }
+
+}
@@ -19,6 +19,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.spy;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -27,8 +28,9 @@ import java.util.Map;
 
 import org.bonitasoft.engine.connector.ConnectorException;
 import org.bonitasoft.engine.connector.ConnectorValidationException;
+import org.bonitasoft.engine.connector.uipath.client.ConnectorMetrics;
+import org.bonitasoft.engine.connector.uipath.client.ConnectorSettings;
 import org.bonitasoft.engine.connector.uipath.model.Release;
-import org.bonitasoft.engine.connector.uipath.model.Robot;
 import org.bonitasoft.engine.connector.uipath.model.Strategy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -43,17 +45,19 @@ class UIPathStartJobsConnectorTest {
 
     @BeforeEach
     public void configureStubs() throws Exception {
+        UIPathConnector.clearCaches();
+        UIPathStartJobsConnector.clearLookupCaches();
         stubFor(WireMock.post(WireMock.urlEqualTo("/api/account/authenticate"))
                 .willReturn(WireMock.aResponse()
                         .withHeader("Content-Type", "application/json")
                         .withBodyFile("mock.authenticate.response.json")));
 
-        stubFor(WireMock.get(WireMock.urlEqualTo("/odata/Releases"))
+        stubFor(WireMock.get(WireMock.urlPathEqualTo("/odata/Releases"))
                 .willReturn(WireMock.aResponse()
                         .withHeader("Content-Type", "application/json")
                         .withBodyFile("mock.releases.response.json")));
 
-        stubFor(WireMock.get(WireMock.urlEqualTo("/odata/Robots"))
+        stubFor(WireMock.get(WireMock.urlPathEqualTo("/odata/Robots"))
                 .willReturn(WireMock.aResponse()
                         .withHeader("Content-Type", "application/json")
                         .withBodyFile("mock.robots.response.json")));
@@ -77,45 +81,66 @@ class UIPathStartJobsConnectorTest {
     void should_retrieve_releases() throws Exception {
         UIPathStartJobsConnector uiPathConnector = createConnector();
         uiPathConnector.connect();
-        List<Release> releases = uiPathConnector.releases("aToken");
+        List<Release> releases = UIPathClient.await(uiPathConnector.cachedReleasesAsync("aToken"));
 
         assertThat(releases).hasSize(1);
         Release release = releases.get(0);
         assertThat(release.getId()).isEqualTo(1);
         assertThat(release.getProcessKey()).isEqualTo("myProcessKey");
         assertThat(release.getCurrentVersion().getId()).isEqualTo(2);
+        WireMock.verify(WireMock.getRequestedFor(WireMock.urlPathEqualTo("/odata/Releases"))
+                .withQueryParam("$filter", WireMock.equalTo("ProcessKey eq 'myProcessKey'"))
+                .withQueryParam("$select", WireMock.equalTo("Id,Key,ProcessKey,ProcessVersion,CurrentVersion")));
         
-        stubFor(WireMock.get(WireMock.urlEqualTo("/odata/Releases"))
+        UIPathStartJobsConnector.clearLookupCaches();
+        stubFor(WireMock.get(WireMock.urlPathEqualTo("/odata/Releases"))
                 .willReturn(WireMock.aResponse().withStatus(500)));
         
-       assertThrows(ConnectorException.class, () -> uiPathConnector.releases("aToken"));
+       assertThrows(ConnectorException.class,
+               () -> UIPathClient.await(uiPathConnector.cachedReleasesAsync("aToken")));
     }
     
 
+    @Test
+    void should_filter_releases_on_process_key_only_when_no_version_is_given() throws Exception {
+        UIPathStartJobsConnector uiPathConnector = createConnector("Bob's process", null, Strategy.ALL, 0,
+                new ArrayList<>());
+        uiPathConnector.connect();
+
+        UIPathClient.await(uiPathConnector.cachedReleasesAsync("aToken"));
+
+        WireMock.verify(WireMock.getRequestedFor(WireMock.urlPathEqualTo("/odata/Releases"))
+                .withQueryParam("$filter", WireMock.equalTo("ProcessKey eq 'Bob''s process'")));
+    }
+
     @Test
     void should_retrieve_robots() throws Exception {
-        UIPathStartJobsConnector uiPathConnector = createConnector();
+        UIPathStartJobsConnector uiPathConnector = createConnector(Strategy.SPECIFIC, 0, Arrays.asList("string"));
         uiPathConnector.connect();
-        List<Robot> robots = uiPathConnector.robots("aToken");
+        List<Integer> robotIds = UIPathClient.await(uiPathConnector.robotIdsAsync("aToken"));
 
-        assertThat(robots).hasSize(1);
-        Robot robot = robots.get(0);
-        assertThat(robot.getId()).isEqualTo(5);
+        assertThat(robotIds).containsExactly(5);
         
-        stubFor(WireMock.get(WireMock.urlEqualTo("/odata/Robots"))
+        UIPathStartJobsConnector.clearLookupCaches();
+        stubFor(WireMock.get(WireMock.urlPathEqualTo("/odata/Robots"))
                 .willReturn(WireMock.aResponse().withStatus(500)));
-        assertThrows(ConnectorException.class, () -> uiPathConnector.robots("aToken"));
+        assertThrows(ConnectorException.class, () -> UIPathClient.await(uiPathConnector.robotIdsAsync("aToken")));
     }
     
     @Test
     void should_retrieve_specific_robots() throws Exception {
-        UIPathStartJobsConnector uiPathConnector = createConnector(Strategy.SPECIFIC,0,Arrays.asList("5"));
+        UIPathStartJobsConnector uiPathConnector = createConnector(Strategy.SPECIFIC,0,Arrays.asList("5", "string"));
         uiPathConnector.connect();
-        List<Robot> robots = uiPathConnector.robots("aToken");
+        stubFor(WireMock.get(WireMock.urlPathEqualTo("/odata/Robots"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"value\": [{\"Id\": 5, \"Name\": \"string\"}, {\"Id\": 7, \"Name\": \"5\"}]}")));
 
-        assertThat(robots).hasSize(1);
-        Robot robot = robots.get(0);
-        assertThat(robot.getId()).isEqualTo(5);
+        List<Integer> robotIds = UIPathClient.await(uiPathConnector.robotIdsAsync("aToken"));
+
+        assertThat(robotIds).containsExactly(7, 5);
+        WireMock.verify(WireMock.getRequestedFor(WireMock.urlPathEqualTo("/odata/Robots"))
+                .withQueryParam("$filter", WireMock.equalTo("Name in ('5','string')")));
     }
     
 
@@ -130,6 +155,172 @@ class UIPathStartJobsConnectorTest {
         String job = (String) ((List<?>) startedJobs).get(0);
 
         assertThat(job).contains("54");
+        WireMock.verify(0, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/odata/Robots")));
+    }
+
+    @Test
+    void should_start_jobs_on_specific_robots() throws Exception {
+        UIPathConnector uiPathConnector = createConnector(Strategy.SPECIFIC, 0, Arrays.asList("string"));
+        uiPathConnector.connect();
+        uiPathConnector.execute();
+
+        WireMock.verify(WireMock.getRequestedFor(WireMock.urlPathEqualTo("/odata/Robots"))
+                .withQueryParam("$filter", WireMock.equalTo("Name in ('string')"))
+                .withQueryParam("$select", WireMock.equalTo("Id,Name")));
+        WireMock.verify(WireMock.postRequestedFor(WireMock.urlEqualTo("/odata/Jobs/UiPath.Server.Configuration.OData.StartJobs"))
+                .withRequestBody(WireMock.matchingJsonPath("$.startInfo.RobotIds[0]", WireMock.equalTo("5"))));
+    }
+
+    @Test
+    void should_only_fetch_robots_missing_from_the_cache() throws Exception {
+        UIPathConnector firstExecution = createConnector(Strategy.SPECIFIC, 0, Arrays.asList("string"));
+        firstExecution.connect();
+        firstExecution.execute();
+        UIPathConnector secondExecution = createConnector(Strategy.SPECIFIC, 0, Arrays.asList("string"));
+        secondExecution.connect();
+        secondExecution.execute();
+
+        WireMock.verify(1, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/odata/Robots")));
+        assertThat(UIPathStartJobsConnector.robotIdCacheStatistics().getHitCount()).isPositive();
+    }
+
+    @Test
+    void should_report_unknown_robots_before_starting_jobs() throws Exception {
+        UIPathConnector uiPathConnector = createConnector(Strategy.SPECIFIC, 0, Arrays.asList("string", "optimus"));
+        uiPathConnector.connect();
+
+        ConnectorException exception = assertThrows(ConnectorException.class, uiPathConnector::execute);
+
+        assertThat(exception).hasMessageContaining("optimus");
+        WireMock.verify(0, WireMock.postRequestedFor(WireMock.urlEqualTo("/odata/Jobs/UiPath.Server.Configuration.OData.StartJobs")));
+    }
+
+    @Test
+    void should_look_up_releases_and_robots_concurrently() throws Exception {
+        stubFor(WireMock.get(WireMock.urlPathEqualTo("/odata/Releases"))
+                .willReturn(WireMock.aResponse()
+                        .withFixedDelay(1000)
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("mock.releases.response.json")));
+        stubFor(WireMock.get(WireMock.urlPathEqualTo("/odata/Robots"))
+                .willReturn(WireMock.aResponse()
+                        .withFixedDelay(1000)
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("mock.robots.response.json")));
+        ConnectorMetrics.reset();
+        UIPathConnector uiPathConnector = createConnector(Strategy.SPECIFIC, 0, Arrays.asList("string"));
+        uiPathConnector.connect();
+
+        uiPathConnector.execute();
+
+        assertThat(ConnectorMetrics.timer(UIPathStartJobsConnector.RELEASES_METRIC).getMax())
+                .isGreaterThanOrEqualTo(Duration.ofMillis(1000));
+        assertThat(ConnectorMetrics.timer(UIPathStartJobsConnector.ROBOTS_METRIC).getMax())
+                .isGreaterThanOrEqualTo(Duration.ofMillis(1000));
+        assertThat(ConnectorMetrics.timer(UIPathStartJobsConnector.LOOKUPS_METRIC).getMax())
+                .isLessThan(Duration.ofMillis(1900));
+        assertThat(ConnectorMetrics.timer(UIPathStartJobsConnector.START_METRIC).getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_time_out_lookups_that_take_too_long() throws Exception {
+        stubFor(WireMock.get(WireMock.urlPathEqualTo("/odata/Releases"))
+                .willReturn(WireMock.aResponse()
+                        .withFixedDelay(2500)
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("mock.releases.response.json")));
+        System.setProperty(ConnectorSettings.START_JOBS_LOOKUP_TIMEOUT, "1");
+        try {
+            UIPathConnector uiPathConnector = createConnector();
+            uiPathConnector.connect();
+
+            assertThrows(UIPathTimeoutException.class, uiPathConnector::execute);
+        } finally {
+            System.clearProperty(ConnectorSettings.START_JOBS_LOOKUP_TIMEOUT);
+        }
+    }
+
+    @Test
+    void should_reuse_releases_between_executions() throws Exception {
+        UIPathConnector firstExecution = createConnector();
+        firstExecution.connect();
+        firstExecution.execute();
+        UIPathConnector secondExecution = createConnector();
+        secondExecution.connect();
+        secondExecution.execute();
+
+        WireMock.verify(1, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/odata/Releases"))
+                .withQueryParam("$filter", WireMock.equalTo("ProcessKey eq 'myProcessKey'")));
+    }
+
+    @Test
+    void should_reload_releases_when_release_is_not_found() throws Exception {
+        stubFor(WireMock.post(WireMock.urlEqualTo("/odata/Jobs/UiPath.Server.Configuration.OData.StartJobs"))
+                .willReturn(WireMock.aResponse().withStatus(404)));
+        UIPathConnector failedExecution = createConnector();
+        failedExecution.connect();
+        assertThrows(ConnectorException.class, failedExecution::execute);
+
+        stubFor(WireMock.post(WireMock.urlEqualTo("/odata/Jobs/UiPath.Server.Configuration.OData.StartJobs"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("mock.jobs.response.json")));
+        UIPathConnector nextExecution = createConnector();
+        nextExecution.connect();
+        nextExecution.execute();
+
+        WireMock.verify(2, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/odata/Releases")));
+    }
+
+    @Test
+    void should_reload_cached_releases_when_the_version_is_missing() throws Exception {
+        UIPathConnector firstExecution = createConnector();
+        firstExecution.connect();
+        firstExecution.execute();
+        stubFor(WireMock.get(WireMock.urlPathEqualTo("/odata/Releases"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"value\": ["
+                                + "{\"Id\": 1, \"Key\": \"myCustomKey\", \"ProcessKey\": \"myProcessKey\", \"ProcessVersion\": \"1.0\"},"
+                                + "{\"Id\": 3, \"Key\": \"myNewKey\", \"ProcessKey\": \"myProcessKey\", \"ProcessVersion\": \"2.0\"}]}")));
+
+        UIPathStartJobsConnector nextExecution = createConnector("2.0", Strategy.ALL, 0, new ArrayList<>());
+        nextExecution.connect();
+        nextExecution.execute();
+
+        WireMock.verify(2, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/odata/Releases")));
+        WireMock.verify(WireMock.postRequestedFor(
+                WireMock.urlEqualTo("/odata/Jobs/UiPath.Server.Configuration.OData.StartJobs"))
+                .withRequestBody(WireMock.matchingJsonPath("$.startInfo.ReleaseKey", WireMock.equalTo("myNewKey"))));
+    }
+
+    @Test
+    void should_not_cache_empty_releases() throws Exception {
+        stubFor(WireMock.get(WireMock.urlPathEqualTo("/odata/Releases"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"value\": []}")));
+        UIPathConnector failedExecution = createConnector();
+        failedExecution.connect();
+        assertThrows(ConnectorException.class, failedExecution::execute);
+
+        stubFor(WireMock.get(WireMock.urlPathEqualTo("/odata/Releases"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("mock.releases.response.json")));
+        UIPathConnector nextExecution = createConnector();
+        nextExecution.connect();
+        nextExecution.execute();
+
+        WireMock.verify(2, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/odata/Releases")));
+    }
+
+    @Test
+    void should_detect_release_not_found_errors() {
+        assertThat(UIPathStartJobsConnector.isReleaseNotFound(404, null)).isTrue();
+        assertThat(UIPathStartJobsConnector.isReleaseNotFound(400,
+                "{\"message\":\"Release does not exist.\",\"errorCode\":1002}")).isTrue();
+        assertThat(UIPathStartJobsConnector.isReleaseNotFound(400, "{\"message\":\"Invalid robot\"}")).isFalse();
     }
 
     @Test
@@ -199,6 +390,16 @@ class UIPathStartJobsConnectorTest {
     }
 
     private UIPathStartJobsConnector createConnector(Strategy strategy, Integer jobCount, List<String> robotNames) throws Exception {
+        return createConnector("1.0", strategy, jobCount, robotNames);
+    }
+
+    private UIPathStartJobsConnector createConnector(String processVersion, Strategy strategy, Integer jobCount,
+            List<String> robotNames) throws Exception {
+        return createConnector("myProcessKey", processVersion, strategy, jobCount, robotNames);
+    }
+
+    private UIPathStartJobsConnector createConnector(String processName, String processVersion, Strategy strategy,
+            Integer jobCount, List<String> robotNames) throws Exception {
         UIPathStartJobsConnector uiPathConnector = spy(new UIPathStartJobsConnector());
         Map<String, Object> parameters = new HashMap<>();
         parameters.put(UIPathConnector.CLOUD, false);
@@ -206,8 +407,8 @@ class UIPathStartJobsConnectorTest {
         parameters.put(UIPathConnector.TENANT, "a_tenant");
         parameters.put(UIPathConnector.USER, "admin");
         parameters.put(UIPathConnector.PASSWORD, "somePassowrd");
-        parameters.put(UIPathStartJobsConnector.PROCESS_NAME, "myProcessKey");
-        parameters.put(UIPathStartJobsConnector.PROCESS_VERSION, "1.0");
+        parameters.put(UIPathStartJobsConnector.PROCESS_NAME, processName);
+        parameters.put(UIPathStartJobsConnector.PROCESS_VERSION, processVersion);
         parameters.put(UIPathStartJobsConnector.STRATEGY, strategy.toString());
         parameters.put(UIPathStartJobsConnector.JOBS_COUNT, jobCount);
         parameters.put(UIPathStartJobsConnector.ROBOTS_NAMES, robotNames);
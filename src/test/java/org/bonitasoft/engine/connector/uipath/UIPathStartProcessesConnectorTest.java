@@ -0,0 +1,137 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bonitasoft.engine.connector.ConnectorValidationException;
+import org.bonitasoft.engine.connector.uipath.model.Strategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+
+@WireMockTest(httpPort = 8888)
+class UIPathStartProcessesConnectorTest {
+
+    private static final String START_JOBS_URL = "/odata/Jobs/UiPath.Server.Configuration.OData.StartJobs";
+
+    @BeforeEach
+    public void configureStubs() throws Exception {
+        UIPathConnector.clearCaches();
+        stubFor(WireMock.post(WireMock.urlEqualTo("/api/account/authenticate"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("mock.authenticate.response.json")));
+        stubFor(WireMock.get(WireMock.urlPathEqualTo("/odata/Releases"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("mock.releases.response.json")));
+        stubFor(WireMock.get(WireMock.urlPathEqualTo("/odata/Robots"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("mock.robots.response.json")));
+        stubFor(WireMock.post(WireMock.urlEqualTo(START_JOBS_URL))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("mock.jobs.response.json")));
+    }
+
+    private UIPathStartProcessesConnector createConnector(List<?> processes) throws Exception {
+        UIPathStartProcessesConnector connector = new UIPathStartProcessesConnector();
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(UIPathConnector.CLOUD, false);
+        parameters.put(UIPathConnector.URL, "http://localhost:8888");
+        parameters.put(UIPathConnector.TENANT, "a_tenant");
+        parameters.put(UIPathConnector.USER, "admin");
+        parameters.put(UIPathConnector.PASSWORD, "somePassowrd");
+        parameters.put(UIPathStartProcessesConnector.PROCESSES, processes);
+        connector.setInputParameters(parameters);
+        connector.validateInputParameters();
+        return connector;
+    }
+
+    private static Map<String, Object> process(String name) {
+        Map<String, Object> process = new HashMap<>();
+        process.put(UIPathStartProcessesConnector.PROCESS_NAME, name);
+        return process;
+    }
+
+    @Test
+    void should_start_every_process_and_report_the_ones_that_failed() throws Exception {
+        Map<String, Object> specific = process("myProcessKey");
+        specific.put(UIPathStartProcessesConnector.STRATEGY, Strategy.SPECIFIC.toString());
+        specific.put(UIPathStartProcessesConnector.ROBOT_NAMES, Arrays.asList("string"));
+        specific.put(UIPathStartProcessesConnector.INPUT_ARGUMENTS, Collections.singletonMap("amount", 12));
+        UIPathStartProcessesConnector connector = createConnector(
+                Arrays.asList(process("myProcessKey"), process("unknownProcess"), specific));
+        connector.connect();
+
+        List<Map<String, Object>> results = (List<Map<String, Object>>) connector.execute()
+                .get(UIPathStartProcessesConnector.RESULTS_OUTPUT);
+
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0))
+                .containsEntry(UIPathStartProcessesConnector.PROCESS_NAME, "myProcessKey")
+                .containsEntry(UIPathStartProcessesConnector.ERROR, null);
+        assertThat((List<?>) results.get(0).get(UIPathStartProcessesConnector.STARTED_JOBS)).hasSize(1);
+        assertThat((String) results.get(1).get(UIPathStartProcessesConnector.ERROR))
+                .contains("No release found for process unknownProcess");
+        assertThat(results.get(2)).containsEntry(UIPathStartProcessesConnector.ERROR, null);
+        WireMock.verify(1, WireMock.postRequestedFor(WireMock.urlEqualTo("/api/account/authenticate")));
+        WireMock.verify(1, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/odata/Releases"))
+                .withQueryParam("$filter", WireMock.equalTo("ProcessKey in ('myProcessKey','unknownProcess')")));
+        WireMock.verify(1, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/odata/Robots"))
+                .withQueryParam("$filter", WireMock.equalTo("Name in ('string')")));
+        WireMock.verify(2, WireMock.postRequestedFor(WireMock.urlEqualTo(START_JOBS_URL)));
+        WireMock.verify(WireMock.postRequestedFor(WireMock.urlEqualTo(START_JOBS_URL))
+                .withRequestBody(WireMock.matchingJsonPath("$.startInfo.RobotIds[0]", WireMock.equalTo("5"))));
+    }
+
+    @Test
+    void should_report_the_error_of_a_failed_start() throws Exception {
+        stubFor(WireMock.post(WireMock.urlEqualTo(START_JOBS_URL))
+                .willReturn(WireMock.aResponse().withStatus(409).withBody("Not enough robots")));
+        UIPathStartProcessesConnector connector = createConnector(Arrays.asList(process("myProcessKey")));
+        connector.connect();
+
+        List<Map<String, Object>> results = (List<Map<String, Object>>) connector.execute()
+                .get(UIPathStartProcessesConnector.RESULTS_OUTPUT);
+
+        assertThat((String) results.get(0).get(UIPathStartProcessesConnector.ERROR))
+                .isEqualTo("Failed to start job: 409 - Not enough robots");
+        assertThat((List<?>) results.get(0).get(UIPathStartProcessesConnector.STARTED_JOBS)).isEmpty();
+    }
+
+    @Test
+    void should_check_processes() {
+        assertThrows(ConnectorValidationException.class, () -> createConnector(Collections.emptyList()));
+        assertThrows(ConnectorValidationException.class,
+                () -> createConnector(Arrays.asList(process(" "))));
+        Map<String, Object> specific = process("myProcessKey");
+        specific.put(UIPathStartProcessesConnector.STRATEGY, Strategy.SPECIFIC.toString());
+        assertThrows(ConnectorValidationException.class, () -> createConnector(Arrays.asList(specific)));
+    }
+
+}
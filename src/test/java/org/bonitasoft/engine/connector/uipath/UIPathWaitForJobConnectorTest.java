@@ -0,0 +1,191 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bonitasoft.engine.connector.ConnectorException;
+import org.bonitasoft.engine.connector.uipath.client.ConnectorSettings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+
+@WireMockTest(httpPort = 8888)
+class UIPathWaitForJobConnectorTest {
+
+    private static final String JOB_URL = "/odata/Jobs(268348846)";
+
+    @BeforeEach
+    public void configureStubs() throws Exception {
+        UIPathConnector.clearCaches();
+        UIPathWaitForJobConnector.clearReleaseDurations();
+        stubFor(WireMock.post(WireMock.urlEqualTo("/api/account/authenticate"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBodyFile("mock.authenticate.response.json")));
+    }
+
+    private UIPathWaitForJobConnector createConnector(Map<String, Object> extraParameters) throws Exception {
+        UIPathWaitForJobConnector connector = spy(new UIPathWaitForJobConnector());
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(UIPathConnector.CLOUD, false);
+        parameters.put(UIPathConnector.URL, "http://localhost:8888");
+        parameters.put(UIPathConnector.TENANT, "a_tenant");
+        parameters.put(UIPathConnector.USER, "admin");
+        parameters.put(UIPathConnector.PASSWORD, "somePassowrd");
+        parameters.put(UIPathGetJobConnector.JOB_ID, "268348846");
+        parameters.putAll(extraParameters);
+        connector.setInputParameters(parameters);
+        connector.validateInputParameters();
+        return connector;
+    }
+
+    private static void stubJobState(String scenarioState, String jobState, String nextScenarioState) {
+        stubFor(WireMock.get(urlPathEqualTo(JOB_URL))
+                .inScenario("job")
+                .whenScenarioStateIs(scenarioState)
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"Id\":268348846,\"State\":\"" + jobState
+                                + "\",\"OutputArguments\":\"{}\"}"))
+                .willSetStateTo(nextScenarioState));
+    }
+
+    @Test
+    void should_poll_until_job_reaches_a_terminal_state() throws Exception {
+        stubJobState(Scenario.STARTED, "Pending", "running");
+        stubJobState("running", "Running", "done");
+        stubJobState("done", "Successful", "done");
+        UIPathWaitForJobConnector connector = createConnector(new HashMap<>());
+        List<Duration> delays = new ArrayList<>();
+        doAnswer(invocation -> delays.add(invocation.getArgument(0))).when(connector).sleep(any());
+
+        connector.connect();
+        Map<String, Object> outputs = connector.execute();
+
+        assertThat(outputs)
+                .containsEntry(UIPathGetJobConnector.JOB_STATE, "Successful")
+                .containsEntry(UIPathGetJobConnector.JOB_OUTPUT_ARGS, "{}");
+        verify(3, getRequestedFor(urlPathEqualTo(JOB_URL)));
+        verify(1, WireMock.postRequestedFor(WireMock.urlEqualTo("/api/account/authenticate")));
+        assertThat(delays).hasSize(2);
+        assertThat(delays.get(0)).isBetween(Duration.ofMillis(1600), Duration.ofMillis(2400));
+        assertThat(delays.get(1)).isBetween(Duration.ofMillis(3200), Duration.ofMillis(4800));
+    }
+
+    @Test
+    void should_fail_when_job_is_not_completed_before_timeout() throws Exception {
+        stubJobState(Scenario.STARTED, "Running", Scenario.STARTED);
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(UIPathWaitForJobConnector.TIMEOUT, 10);
+        UIPathWaitForJobConnector connector = createConnector(parameters);
+        doAnswer(invocation -> {
+            connector.clock = Clock.offset(connector.clock, invocation.getArgument(0));
+            return null;
+        }).when(connector).sleep(any());
+
+        connector.connect();
+
+        assertThatThrownBy(connector::execute)
+                .isInstanceOf(ConnectorException.class)
+                .hasMessageContaining("did not complete within 10 seconds")
+                .hasMessageContaining("Running");
+    }
+
+    @Test
+    void should_wait_for_the_usual_duration_of_the_release_before_polling_again() throws Exception {
+        Instant startTime = Instant.now().minusSeconds(10);
+        stubFor(WireMock.get(urlPathEqualTo(JOB_URL))
+                .inScenario("job")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"Id\":268348846,\"State\":\"Running\",\"ReleaseName\":\"MyProcess_Env\","
+                                + "\"StartTime\":\"" + startTime + "\"}"))
+                .willSetStateTo("done"));
+        stubJobState("done", "Successful", "done");
+        stubFor(WireMock.get(urlPathEqualTo("/odata/Jobs"))
+                .withQueryParam("$filter",
+                        WireMock.equalTo("ReleaseName eq 'MyProcess_Env' and State eq 'Successful'"))
+                .withQueryParam("$orderby", WireMock.equalTo("EndTime desc"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"value\":["
+                                + "{\"StartTime\":\"2026-01-01T10:00:00Z\",\"EndTime\":\"2026-01-01T10:01:00Z\"},"
+                                + "{\"StartTime\":\"2026-01-01T09:00:00Z\",\"EndTime\":\"2026-01-01T09:01:00Z\"},"
+                                + "{\"StartTime\":\"2026-01-01T08:00:00Z\",\"EndTime\":\"2026-01-01T08:30:00Z\"}]}")));
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(UIPathWaitForJobConnector.SEED_FROM_HISTORY, true);
+        UIPathWaitForJobConnector connector = createConnector(parameters);
+        List<Duration> delays = new ArrayList<>();
+        doAnswer(invocation -> delays.add(invocation.getArgument(0))).when(connector).sleep(any());
+
+        connector.connect();
+        connector.execute();
+
+        verify(getRequestedFor(urlPathEqualTo(JOB_URL))
+                .withQueryParam("$select", WireMock.equalTo("Id,State,OutputArguments,Key,ReleaseName,StartTime")));
+        // median duration is 60s and the job started 10s ago
+        assertThat(delays).hasSize(1);
+        assertThat(delays.get(0)).isBetween(Duration.ofSeconds(45), Duration.ofSeconds(51));
+    }
+
+    @Test
+    void should_hand_the_job_over_to_the_shared_poller() throws Exception {
+        System.setProperty(ConnectorSettings.JOB_POLL_INTERVAL, "0");
+        try {
+            stubJobState(Scenario.STARTED, "Running", Scenario.STARTED);
+            stubFor(WireMock.get(urlPathEqualTo("/odata/Jobs"))
+                    .willReturn(WireMock.aResponse()
+                            .withHeader("Content-Type", "application/json")
+                            .withBody("{\"value\":[{\"Id\":268348846,\"State\":\"Faulted\","
+                                    + "\"OutputArguments\":\"{}\"}]}")));
+            Map<String, Object> parameters = new HashMap<>();
+            parameters.put(UIPathWaitForJobConnector.SHARED_POLLING, true);
+            UIPathWaitForJobConnector connector = createConnector(parameters);
+
+            connector.connect();
+            Map<String, Object> outputs = connector.execute();
+
+            assertThat(outputs).containsEntry(UIPathGetJobConnector.JOB_STATE, "Faulted");
+            verify(1, getRequestedFor(urlPathEqualTo(JOB_URL)));
+            verify(getRequestedFor(urlPathEqualTo("/odata/Jobs"))
+                    .withQueryParam("$filter", WireMock.equalTo(
+                            "Id in (268348846) and State in ('Successful','Faulted','Stopped')")));
+        } finally {
+            System.clearProperty(ConnectorSettings.JOB_POLL_INTERVAL);
+        }
+    }
+
+}
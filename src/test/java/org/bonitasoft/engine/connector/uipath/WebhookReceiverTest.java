@@ -0,0 +1,213 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.bonitasoft.engine.connector.uipath.client.ConnectorSettings;
+import org.bonitasoft.engine.connector.uipath.client.ServiceKey;
+import org.bonitasoft.engine.connector.uipath.model.Job;
+import org.bonitasoft.engine.connector.uipath.model.QueueItem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class WebhookReceiverTest {
+
+    private static final String SECRET = "webhook-secret";
+    private static final List<String> TENANT = Arrays.asList("http://localhost:8888/", "a_tenant", null);
+    private static final List<String> OTHER_TENANT = Arrays.asList("http://localhost:9999/", "a_tenant", null);
+    private static final String OTHER_SECRET = "other-webhook-secret";
+
+    private ScheduledExecutorService scheduler;
+    private JobStatusPoller poller;
+    private WebhookReceiver receiver;
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final UIPathClient uiPathClient = new UIPathClient(
+            UIPathServiceRegistry.service(new ServiceKey("http://localhost:8888/", false, null)));
+
+    @BeforeEach
+    void setUp() throws Exception {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        poller = new JobStatusPoller(() -> Duration.ofHours(1), scheduler, Runnable::run);
+        receiver = new WebhookReceiver(new InetSocketAddress("localhost", 0), "/uipath/webhooks", SECRET, poller);
+        receiver.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        receiver.stop();
+        poller.clear();
+        scheduler.shutdownNow();
+    }
+
+    private HttpResponse<Void> post(String body, String signature) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + receiver.port() + "/uipath/webhooks"))
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (signature != null) {
+            request.header(WebhookReceiver.SIGNATURE_HEADER, signature);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+    }
+
+    private static String sign(String body) throws Exception {
+        return sign(body, SECRET);
+    }
+
+    private static String sign(String body, String secret) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return Base64.getEncoder().encodeToString(mac.doFinal(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void should_complete_a_watched_job_from_a_signed_event() throws Exception {
+        CompletableFuture<Job> future = poller.watch(TENANT, uiPathClient, Collections::emptyMap, 42, "job-key");
+        String event = "{\"Type\":\"job.faulted\",\"EventId\":\"e1\","
+                + "\"Job\":{\"Id\":42,\"Key\":\"job-key\",\"State\":\"Faulted\",\"OutputArguments\":{\"out\":1}}}";
+
+        HttpResponse<Void> response = post(event, sign(event));
+
+        assertThat(response.statusCode()).isEqualTo(202);
+        Job job = future.get(5, TimeUnit.SECONDS);
+        assertThat(job.getState()).isEqualTo("Faulted");
+        assertThat(job.getOutputArgs()).isEqualTo("{\"out\":1}");
+        assertThat(poller.watchedJobs()).isZero();
+    }
+
+    @Test
+    void should_only_complete_the_job_of_the_tenant_of_the_event() throws Exception {
+        CompletableFuture<Job> watched = poller.watch(TENANT, uiPathClient, Collections::emptyMap, 42, "job-key");
+        CompletableFuture<Job> otherTenant = poller.watch(OTHER_TENANT, uiPathClient, Collections::emptyMap, 42,
+                "other-job-key");
+        String event = "{\"Type\":\"job.completed\",\"Job\":{\"Id\":42,\"Key\":\"job-key\",\"State\":\"Successful\"}}";
+
+        assertThat(post(event, sign(event)).statusCode()).isEqualTo(202);
+
+        assertThat(watched.get(5, TimeUnit.SECONDS).getState()).isEqualTo("Successful");
+        assertThat(otherTenant).isNotDone();
+        assertThat(poller.watchedJobs()).isEqualTo(1);
+    }
+
+    @Test
+    void should_only_complete_jobs_of_the_tenants_whose_secret_signed_the_event() throws Exception {
+        System.setProperty(ConnectorSettings.WEBHOOK_SECRET + "@" + OTHER_TENANT.get(0), OTHER_SECRET);
+        try {
+            CompletableFuture<Job> watched = poller.watch(TENANT, uiPathClient, Collections::emptyMap, 42, null);
+            CompletableFuture<Job> otherTenant = poller.watch(OTHER_TENANT, uiPathClient, Collections::emptyMap, 42,
+                    null);
+            String event = "{\"Type\":\"job.completed\",\"Job\":{\"Id\":42,\"State\":\"Successful\"}}";
+
+            assertThat(post(event, sign(event, OTHER_SECRET)).statusCode()).isEqualTo(202);
+
+            assertThat(otherTenant.get(5, TimeUnit.SECONDS).getState()).isEqualTo("Successful");
+            assertThat(watched).isNotDone();
+        } finally {
+            System.clearProperty(ConnectorSettings.WEBHOOK_SECRET + "@" + OTHER_TENANT.get(0));
+        }
+    }
+
+    @Test
+    void should_reject_events_with_an_invalid_signature() throws Exception {
+        CompletableFuture<Job> future = poller.watch(TENANT, uiPathClient, Collections::emptyMap, 42, null);
+        String event = "{\"Type\":\"job.completed\",\"Job\":{\"Id\":42,\"State\":\"Successful\"}}";
+
+        assertThat(post(event, null).statusCode()).isEqualTo(401);
+        assertThat(post(event, sign(event + " ")).statusCode()).isEqualTo(401);
+        assertThat(future).isNotDone();
+    }
+
+    @Test
+    void should_reject_job_events_without_a_numeric_id() throws Exception {
+        String missingId = "{\"Type\":\"job.completed\",\"Job\":{\"State\":\"Successful\"}}";
+        String textId = "{\"Type\":\"job.completed\",\"Job\":{\"Id\":\"abc\",\"State\":\"Successful\"}}";
+
+        assertThat(post(missingId, sign(missingId)).statusCode()).isEqualTo(400);
+        assertThat(post(textId, sign(textId)).statusCode()).isEqualTo(400);
+    }
+
+    @Test
+    void should_listen_on_the_loopback_address_by_default() {
+        System.setProperty(ConnectorSettings.WEBHOOK_PORT, "0");
+        System.setProperty(ConnectorSettings.WEBHOOK_SECRET, SECRET);
+        try {
+            assertThat(WebhookReceiver.startIfConfigured()).isTrue();
+
+            assertThat(WebhookReceiver.shared().address().getAddress().isLoopbackAddress()).isTrue();
+        } finally {
+            System.clearProperty(ConnectorSettings.WEBHOOK_PORT);
+            System.clearProperty(ConnectorSettings.WEBHOOK_SECRET);
+            WebhookReceiver.stopShared();
+        }
+    }
+
+    @Test
+    void should_complete_callers_waiting_for_a_queue_item_from_a_signed_event() throws Exception {
+        CompletableFuture<QueueItem> future = receiver.awaitQueueItem(TENANT, "8a7b2f6e");
+        CompletableFuture<QueueItem> otherTenant = receiver.awaitQueueItem(OTHER_TENANT, "8a7b2f6e");
+        System.setProperty(ConnectorSettings.WEBHOOK_SECRET + "@" + OTHER_TENANT.get(0), OTHER_SECRET);
+        try {
+            String event = "{\"Type\":\"queueItem.transactionCompleted\","
+                    + "\"QueueItem\":{\"Id\":7,\"Key\":\"8a7b2f6e\",\"Status\":\"Successful\"}}";
+
+            assertThat(post(event, sign(event)).statusCode()).isEqualTo(202);
+
+            QueueItem item = future.get(5, TimeUnit.SECONDS);
+            assertThat(item.getId()).isEqualTo(7L);
+            assertThat(item.getStatus()).isEqualTo("Successful");
+            assertThat(otherTenant).isNotDone();
+            assertThat(receiver.awaitedQueueItems()).isEqualTo(1);
+        } finally {
+            System.clearProperty(ConnectorSettings.WEBHOOK_SECRET + "@" + OTHER_TENANT.get(0));
+        }
+    }
+
+    @Test
+    void should_unregister_cancelled_queue_item_callers() {
+        CompletableFuture<QueueItem> future = receiver.awaitQueueItem(TENANT, "8a7b2f6e");
+
+        future.cancel(false);
+
+        assertThat(receiver.awaitedQueueItems()).isZero();
+    }
+
+    @Test
+    void should_acknowledge_other_events() throws Exception {
+        String event = "{\"Type\":\"process.created\",\"Process\":{\"Id\":7}}";
+
+        assertThat(post(event, sign(event)).statusCode()).isEqualTo(202);
+    }
+
+}
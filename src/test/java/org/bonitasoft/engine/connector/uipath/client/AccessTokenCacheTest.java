@@ -0,0 +1,166 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bonitasoft.engine.connector.ConnectorException;
+import org.bonitasoft.engine.connector.uipath.UIPathTimeoutException;
+import org.junit.jupiter.api.Test;
+
+class AccessTokenCacheTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private AccessTokenCache<String> newCache() {
+        return new AccessTokenCache<>(Duration.ofSeconds(60), Runnable::run, clock);
+    }
+
+    private AccessToken newToken() {
+        return new AccessToken("token-" + loads.incrementAndGet(), clock.instant().plusSeconds(3600));
+    }
+
+    @Test
+    void should_reuse_token_until_it_expires() throws Exception {
+        AccessTokenCache<String> cache = newCache();
+
+        assertThat(cache.get("key", this::newToken).getValue()).isEqualTo("token-1");
+        clock.advance(Duration.ofMinutes(30));
+        assertThat(cache.get("key", this::newToken).getValue()).isEqualTo("token-1");
+        clock.advance(Duration.ofMinutes(31));
+        assertThat(cache.get("key", this::newToken).getValue()).isEqualTo("token-2");
+    }
+
+    @Test
+    void should_refresh_token_ahead_of_expiry() throws Exception {
+        AccessTokenCache<String> cache = newCache();
+        cache.get("key", this::newToken);
+
+        clock.advance(Duration.ofSeconds(3570));
+
+        assertThat(cache.get("key", this::newToken).getValue()).isEqualTo("token-1");
+        assertThat(cache.get("key", this::newToken).getValue()).isEqualTo("token-2");
+    }
+
+    @Test
+    void should_not_cache_tokens_without_value() throws Exception {
+        AccessTokenCache<String> cache = newCache();
+
+        cache.get("key", () -> {
+            loads.incrementAndGet();
+            return new AccessToken(null, clock.instant().plusSeconds(3600));
+        });
+        cache.get("key", this::newToken);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void should_share_a_single_load_between_concurrent_callers() throws Exception {
+        AccessTokenCache<String> cache = newCache();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<AccessToken>> results = new ArrayList<>();
+            results.add(executor.submit(() -> cache.get("key", () -> {
+                loading.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return newToken();
+            })));
+            loading.await(5, TimeUnit.SECONDS);
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> cache.get("key", this::newToken)));
+            }
+            release.countDown();
+            for (Future<AccessToken> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).getValue()).isEqualTo("token-1");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void should_propagate_load_failures_and_retry_on_next_call() throws Exception {
+        AccessTokenCache<String> cache = newCache();
+
+        assertThrows(ConnectorException.class, () -> cache.get("key", () -> {
+            throw new ConnectorException("Authentication failed: 400 - invalid_client");
+        }));
+        assertThat(cache.get("key", this::newToken).getValue()).isEqualTo("token-1");
+    }
+
+    @Test
+    void should_stop_waiting_for_a_token_after_the_timeout_and_keep_the_loaded_one() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AccessTokenCache<String> cache = new AccessTokenCache<>(Duration.ofSeconds(60), executor, clock);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            assertThrows(UIPathTimeoutException.class, () -> cache.get("key", () -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return newToken();
+            }, Duration.ofMillis(100)));
+
+            release.countDown();
+            assertThat(cache.get("key", this::newToken, Duration.ofSeconds(5)).getValue()).isEqualTo("token-1");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void should_load_a_new_token_once_invalidated() throws Exception {
+        AccessTokenCache<String> cache = newCache();
+        cache.get("key", this::newToken);
+
+        cache.invalidate("key");
+
+        assertThat(cache.get("key", this::newToken).getValue()).isEqualTo("token-2");
+    }
+
+    @Test
+    void should_renew_a_rejected_token_only_once() throws Exception {
+        AccessTokenCache<String> cache = newCache();
+        cache.get("key", this::newToken);
+
+        assertThat(cache.renew("token-1").getValue()).isEqualTo("token-2");
+        assertThat(cache.renew("token-1").getValue()).isEqualTo("token-2");
+        assertThat(cache.renew("unknown")).isNull();
+        assertThat(loads).hasValue(2);
+    }
+
+}
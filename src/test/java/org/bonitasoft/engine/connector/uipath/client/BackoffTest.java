@@ -0,0 +1,43 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class BackoffTest {
+
+    private final Backoff backoff = new Backoff(Duration.ofSeconds(1), Duration.ofSeconds(10), 2, 0.2);
+
+    @Test
+    void should_grow_exponentially_up_to_max() {
+        assertThat(backoff.delay(0, 0.5)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(backoff.delay(1, 0.5)).isEqualTo(Duration.ofSeconds(2));
+        assertThat(backoff.delay(3, 0.5)).isEqualTo(Duration.ofSeconds(8));
+        assertThat(backoff.delay(4, 0.5)).isEqualTo(Duration.ofSeconds(10));
+        assertThat(backoff.delay(100, 0.5)).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void should_spread_delays_with_jitter() {
+        assertThat(backoff.delay(1, 0)).isEqualTo(Duration.ofMillis(1600));
+        assertThat(backoff.delay(1, 0.999999)).isEqualTo(Duration.ofMillis(2400));
+        assertThat(backoff.delay(2)).isBetween(Duration.ofMillis(3200), Duration.ofMillis(4800));
+    }
+
+}
@@ -0,0 +1,50 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class BulkheadTest {
+
+    private final Bulkhead bulkhead = new Bulkhead("tenant", 2, 1);
+
+    @Test
+    void should_admit_running_and_queued_calls_only() {
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(bulkhead.tryAcquire()).isFalse();
+
+        bulkhead.release();
+
+        assertThat(bulkhead.getInFlight()).isEqualTo(2);
+        assertThat(bulkhead.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void should_apply_new_limits_to_calls_in_flight() {
+        bulkhead.tryAcquire();
+        bulkhead.tryAcquire();
+
+        bulkhead.resize(1, 0);
+        assertThat(bulkhead.tryAcquire()).isFalse();
+
+        bulkhead.resize(4, 0);
+        assertThat(bulkhead.tryAcquire()).isTrue();
+    }
+
+}
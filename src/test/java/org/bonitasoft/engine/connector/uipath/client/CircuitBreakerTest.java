@@ -0,0 +1,117 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.bonitasoft.engine.connector.uipath.client.CircuitBreaker.State;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+    private static final Duration FAST = Duration.ofMillis(10);
+    private static final Duration SLOW = Duration.ofSeconds(6);
+
+    private final MutableClock clock = new MutableClock();
+    private final CircuitBreaker breaker = new CircuitBreaker("http://orchestrator/", 50, 80, Duration.ofSeconds(5),
+            10, 4, Duration.ofSeconds(30), 2, clock);
+
+    @Test
+    void should_open_when_the_failure_rate_is_reached() {
+        call(false, FAST);
+        call(true, FAST);
+        call(false, FAST);
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+
+        call(true, FAST);
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.getHalfOpenAt()).isEqualTo(clock.instant().plusSeconds(30));
+    }
+
+    @Test
+    void should_open_when_the_slow_call_rate_is_reached() {
+        call(false, SLOW);
+        call(false, SLOW);
+        call(false, SLOW);
+        call(false, FAST);
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+
+        call(false, SLOW);
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    void should_only_consider_the_last_calls() {
+        CircuitBreaker slidingBreaker = new CircuitBreaker("sliding", 50, 100, Duration.ofSeconds(5), 4, 4,
+                Duration.ofSeconds(30), 1, clock);
+        slidingBreaker.onResult(true, FAST);
+        for (int i = 0; i < 5; i++) {
+            slidingBreaker.onResult(false, FAST);
+        }
+        slidingBreaker.onResult(true, FAST);
+        assertThat(slidingBreaker.getState()).isEqualTo(State.CLOSED);
+
+        slidingBreaker.onResult(true, FAST);
+
+        assertThat(slidingBreaker.getState()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    void should_close_once_all_probes_succeed() {
+        openBreaker();
+        clock.advance(Duration.ofSeconds(30));
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+
+        breaker.onResult(false, FAST);
+        breaker.onResult(false, FAST);
+
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void should_open_again_when_a_probe_fails() {
+        openBreaker();
+        clock.advance(Duration.ofSeconds(30));
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onResult(true, FAST);
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    private void openBreaker() {
+        for (int i = 0; i < 4; i++) {
+            call(true, FAST);
+        }
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+    }
+
+    private void call(boolean failure, Duration duration) {
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onResult(failure, duration);
+    }
+
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConnectorMetricsTest {
+
+    @BeforeEach
+    void reset() {
+        ConnectorMetrics.reset();
+    }
+
+    @Test
+    void should_aggregate_recorded_durations() {
+        ConnectorMetrics.record("test.phase", Duration.ofMillis(10));
+        ConnectorMetrics.record("test.phase", Duration.ofMillis(30));
+
+        TimerStatistics statistics = ConnectorMetrics.timer("test.phase");
+
+        assertThat(statistics.getCount()).isEqualTo(2);
+        assertThat(statistics.getTotal()).isEqualTo(Duration.ofMillis(40));
+        assertThat(statistics.getMax()).isEqualTo(Duration.ofMillis(30));
+        assertThat(statistics.getMean()).isEqualTo(Duration.ofMillis(20));
+        assertThat(ConnectorMetrics.timers()).containsKey("test.phase");
+    }
+
+    @Test
+    void should_time_futures_until_they_complete() {
+        CompletableFuture<String> future = ConnectorMetrics.time("test.call", new CompletableFuture<>());
+        assertThat(ConnectorMetrics.timer("test.call").getCount()).isZero();
+
+        future.completeExceptionally(new IllegalStateException());
+
+        assertThat(ConnectorMetrics.timer("test.call").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_count_events() {
+        ConnectorMetrics.increment("test.event");
+        ConnectorMetrics.increment("test.event");
+
+        assertThat(ConnectorMetrics.count("test.event")).isEqualTo(2);
+        assertThat(ConnectorMetrics.count("test.other")).isZero();
+    }
+
+}
@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class ExpiringCacheTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    void should_expire_entries_after_ttl() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(Duration.ofMinutes(5), 10, clock);
+        cache.put("key", "value");
+
+        clock.advance(Duration.ofMinutes(4));
+        assertThat(cache.get("key")).isEqualTo("value");
+        clock.advance(Duration.ofMinutes(1));
+        assertThat(cache.get("key")).isNull();
+    }
+
+    @Test
+    void should_evict_least_recently_used_entry_when_full() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(Duration.ofMinutes(5), 2, clock);
+        cache.put("first", "1");
+        cache.put("second", "2");
+        cache.get("first");
+
+        cache.put("third", "3");
+
+        assertThat(cache.get("first")).isEqualTo("1");
+        assertThat(cache.get("second")).isNull();
+        assertThat(cache.get("third")).isEqualTo("3");
+    }
+
+    @Test
+    void should_not_cache_anything_with_zero_ttl() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(Duration.ZERO, 10, clock);
+        cache.put("key", "value");
+
+        assertThat(cache.get("key")).isNull();
+    }
+
+    @Test
+    void should_report_entries_to_refresh_and_count_hits_and_misses() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(Duration.ofMinutes(10), Duration.ofMinutes(5), 10,
+                clock);
+        cache.put("key", "value");
+        cache.get("key");
+        cache.get("other");
+
+        assertThat(cache.needsRefresh("key")).isFalse();
+        clock.advance(Duration.ofMinutes(6));
+        assertThat(cache.needsRefresh("key")).isTrue();
+        assertThat(cache.get("key")).isEqualTo("value");
+        assertThat(cache.statistics().getHitCount()).isEqualTo(2);
+        assertThat(cache.statistics().getMissCount()).isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,137 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class MicroBatcherTest {
+
+    private static final Duration NO_WAIT = Duration.ofMillis(10);
+
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+    private MicroBatcher<Integer, Integer> batcher(int maxBatchSize, Duration maxDelay, int capacity) {
+        return new MicroBatcher<>(maxBatchSize, maxDelay, capacity, batch -> {
+            batchSizes.add(batch.size());
+            batch.forEach(item -> item.complete(item.getItem() * 2));
+        });
+    }
+
+    @Test
+    void should_flush_as_soon_as_batch_is_full() throws Exception {
+        MicroBatcher<Integer, Integer> batcher = batcher(3, Duration.ofHours(1), 10);
+
+        CompletableFuture<Integer> first = batcher.submit(1, NO_WAIT);
+        CompletableFuture<Integer> second = batcher.submit(2, NO_WAIT);
+        CompletableFuture<Integer> third = batcher.submit(3, NO_WAIT);
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(2);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(4);
+        assertThat(third.get(5, TimeUnit.SECONDS)).isEqualTo(6);
+        assertThat(batchSizes).containsExactly(3);
+    }
+
+    @Test
+    void should_flush_pending_items_after_max_delay() throws Exception {
+        MicroBatcher<Integer, Integer> batcher = batcher(100, Duration.ofMillis(20), 10);
+
+        CompletableFuture<Integer> first = batcher.submit(1, NO_WAIT);
+        CompletableFuture<Integer> second = batcher.submit(2, NO_WAIT);
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(2);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(4);
+        assertThat(batchSizes).containsExactly(2);
+    }
+
+    @Test
+    void should_send_one_batch_at_a_time() throws Exception {
+        AtomicInteger sending = new AtomicInteger();
+        AtomicInteger maxSending = new AtomicInteger();
+        MicroBatcher<Integer, Integer> batcher = new MicroBatcher<>(1, Duration.ofHours(1), 10, batch -> {
+            maxSending.accumulateAndGet(sending.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            sending.decrementAndGet();
+            batch.forEach(item -> item.complete(item.getItem()));
+        });
+
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(batcher.submit(i, NO_WAIT));
+        }
+
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        assertThat(maxSending).hasValue(1);
+    }
+
+    @Test
+    void should_notify_idle_listener_once_nothing_is_left_to_send() throws Exception {
+        CompletableFuture<MicroBatcher<Integer, Integer>> idle = new CompletableFuture<>();
+        MicroBatcher<Integer, Integer> batcher = new MicroBatcher<>(1, Duration.ofHours(1), 10,
+                batch -> batch.forEach(item -> item.complete(item.getItem())), Duration.ofMillis(50), idle::complete);
+
+        batcher.submit(1, NO_WAIT).get(5, TimeUnit.SECONDS);
+
+        assertThat(idle.get(5, TimeUnit.SECONDS)).isSameAs(batcher);
+        assertThat(batcher.isIdle()).isTrue();
+    }
+
+    @Test
+    void should_reject_items_when_buffer_is_full() throws Exception {
+        MicroBatcher<Integer, Integer> batcher = batcher(10, Duration.ofHours(1), 1);
+        batcher.submit(1, NO_WAIT);
+
+        assertThatThrownBy(() -> batcher.submit(2, NO_WAIT)).isInstanceOf(RejectedExecutionException.class);
+        assertThat(batcher.pending()).isEqualTo(1);
+    }
+
+    @Test
+    void should_fail_all_items_of_a_batch_when_handler_fails() throws Exception {
+        MicroBatcher<Integer, Integer> batcher = new MicroBatcher<>(2, Duration.ofHours(1), 10, batch -> {
+            throw new IllegalStateException("boom");
+        });
+
+        CompletableFuture<Integer> first = batcher.submit(1, NO_WAIT);
+        CompletableFuture<Integer> second = batcher.submit(2, NO_WAIT);
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+                .hasRootCauseMessage("boom");
+        assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+    }
+
+    @Test
+    void should_fail_items_left_uncompleted_by_handler() throws Exception {
+        MicroBatcher<Integer, Integer> batcher = new MicroBatcher<>(1, Duration.ofHours(1), 10, batch -> {
+        });
+
+        CompletableFuture<Integer> result = batcher.submit(1, NO_WAIT);
+
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+}
@@ -0,0 +1,162 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+@WireMockTest(httpPort = 8888)
+class RateLimitInterceptorTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final Map<EndpointFamily, RateLimiter> limiters = new EnumMap<>(EndpointFamily.class);
+
+    @BeforeEach
+    void setUp() {
+        ConnectorMetrics.reset();
+    }
+
+    @Test
+    void should_pause_the_bucket_and_resend_when_throttled() throws Exception {
+        limiters.put(EndpointFamily.JOBS, new RateLimiter(2, Clock.systemUTC()));
+        stubFor(WireMock.get(urlPathEqualTo("/odata/Jobs")).inScenario("throttled")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(WireMock.aResponse().withStatus(429).withHeader("Retry-After", "0"))
+                .willSetStateTo("accepted"));
+        stubFor(WireMock.get(urlPathEqualTo("/odata/Jobs")).inScenario("throttled")
+                .whenScenarioStateIs("accepted")
+                .willReturn(WireMock.aResponse().withStatus(200)));
+
+        try (Response response = get("/odata/Jobs")) {
+            assertThat(response.code()).isEqualTo(200);
+        }
+        assertThat(ConnectorMetrics.count(RateLimitInterceptor.metric(EndpointFamily.JOBS, "throttled")))
+                .isEqualTo(1);
+        assertThat(ConnectorMetrics.count(RateLimitInterceptor.metric(EndpointFamily.JOBS, "delayed")))
+                .isEqualTo(1);
+        WireMock.verify(2, WireMock.getRequestedFor(urlPathEqualTo("/odata/Jobs")));
+    }
+
+    @Test
+    void should_honor_retry_after_with_the_default_settings() throws Exception {
+        stubFor(WireMock.get(urlPathEqualTo("/odata/Jobs")).inScenario("throttled")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(WireMock.aResponse().withStatus(429).withHeader("Retry-After", "1"))
+                .willSetStateTo("accepted"));
+        stubFor(WireMock.get(urlPathEqualTo("/odata/Jobs")).inScenario("throttled")
+                .whenScenarioStateIs("accepted")
+                .willReturn(WireMock.aResponse().withStatus(200)));
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(RateLimitInterceptor.fromSettings("http://localhost:8888/"))
+                .build();
+
+        long start = System.nanoTime();
+        try (Response response = get(client, "/odata/Jobs")) {
+            assertThat(response.code()).isEqualTo(200);
+        }
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(900));
+        assertThat(ConnectorMetrics.count(RateLimitInterceptor.metric(EndpointFamily.JOBS, "throttled")))
+                .isEqualTo(1);
+        WireMock.verify(2, WireMock.getRequestedFor(urlPathEqualTo("/odata/Jobs")));
+    }
+
+    @Test
+    void should_pause_every_family_of_the_tenant_when_throttled() throws Exception {
+        stubFor(WireMock.get(urlPathEqualTo("/odata/Jobs"))
+                .willReturn(WireMock.aResponse().withStatus(429).withHeader("Retry-After", "60")));
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(RateLimitInterceptor.fromSettings("http://localhost:8888/"))
+                .build();
+
+        try (Response response = get(client, "/odata/Jobs")) {
+            assertThat(response.code()).isEqualTo(429);
+        }
+
+        assertThatThrownBy(() -> get(client, "/odata/QueueItems"))
+                .isInstanceOf(RateLimitExceededException.class);
+        WireMock.verify(1, WireMock.getRequestedFor(urlPathEqualTo("/odata/Jobs")));
+        WireMock.verify(0, WireMock.getRequestedFor(urlPathEqualTo("/odata/QueueItems")));
+    }
+
+    @Test
+    void should_fail_fast_when_no_permit_is_available_in_time() throws Exception {
+        RateLimiter limiter = new RateLimiter(1, Clock.systemUTC());
+        limiter.pause(Duration.ofMinutes(1));
+        limiters.put(EndpointFamily.QUEUES, limiter);
+
+        assertThatThrownBy(() -> get("/odata/QueueItems"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("queues endpoints");
+        assertThat(ConnectorMetrics.count(RateLimitInterceptor.metric(EndpointFamily.QUEUES, "rejected")))
+                .isEqualTo(1);
+        WireMock.verify(0, WireMock.getRequestedFor(urlPathEqualTo("/odata/QueueItems")));
+    }
+
+    @Test
+    void should_not_limit_endpoints_unless_configured() {
+        String baseUrl = "http://localhost:8888/";
+        String property = ConnectorSettings.RATE_LIMIT_PREFIX + "jobs.perSecond@" + baseUrl;
+        System.setProperty(property, "5");
+        try {
+            assertThat(ConnectorSettings.rateLimit(EndpointFamily.JOBS, baseUrl)).isEqualTo(5);
+            for (EndpointFamily family : EndpointFamily.values()) {
+                assertThat(ConnectorSettings.rateLimit(family, "http://other:8888/")).isZero();
+            }
+        } finally {
+            System.clearProperty(property);
+        }
+    }
+
+    @Test
+    void should_read_retry_after_as_seconds_or_date() {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(limiters, Duration.ZERO, clock);
+
+        assertThat(interceptor.retryAfter("7")).isEqualTo(Duration.ofSeconds(7));
+        assertThat(interceptor.retryAfter("Thu, 01 Jan 2026 00:00:30 GMT")).isEqualTo(Duration.ofSeconds(30));
+        assertThat(interceptor.retryAfter("soon")).isEqualTo(RateLimitInterceptor.DEFAULT_RETRY_AFTER);
+        assertThat(interceptor.retryAfter(null)).isEqualTo(RateLimitInterceptor.DEFAULT_RETRY_AFTER);
+    }
+
+    private Response get(String path) throws IOException {
+        return get(new OkHttpClient.Builder()
+                .addInterceptor(new RateLimitInterceptor(limiters, Duration.ofSeconds(1), clock))
+                .build(), path);
+    }
+
+    private static Response get(OkHttpClient client, String path) throws IOException {
+        return client.newCall(new Request.Builder().url("http://localhost:8888" + path).build()).execute();
+    }
+
+}
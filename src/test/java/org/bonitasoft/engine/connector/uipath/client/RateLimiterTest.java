@@ -0,0 +1,71 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final RateLimiter limiter = new RateLimiter(2, clock);
+
+    @Test
+    void should_queue_callers_once_the_burst_is_consumed() {
+        assertThat(limiter.reserve(Duration.ofSeconds(1))).isZero();
+        assertThat(limiter.reserve(Duration.ofSeconds(1))).isZero();
+
+        assertThat(limiter.reserve(Duration.ofSeconds(1))).isEqualTo(Duration.ofMillis(500));
+        assertThat(limiter.reserve(Duration.ofSeconds(1))).isEqualTo(Duration.ofMillis(1000));
+        assertThat(limiter.reserve(Duration.ofSeconds(1))).isNull();
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(limiter.reserve(Duration.ofSeconds(1))).isEqualTo(Duration.ofMillis(500));
+    }
+
+    @Test
+    void should_refill_up_to_one_second_of_permits() {
+        clock.advance(Duration.ofMinutes(1));
+
+        assertThat(limiter.reserve(Duration.ZERO)).isZero();
+        assertThat(limiter.reserve(Duration.ZERO)).isZero();
+        assertThat(limiter.reserve(Duration.ZERO)).isNull();
+    }
+
+    @Test
+    void should_hand_out_no_permit_while_paused() {
+        limiter.pause(Duration.ofSeconds(3));
+
+        assertThat(limiter.reserve(Duration.ofSeconds(1))).isNull();
+        assertThat(limiter.reserve(Duration.ofSeconds(5))).isEqualTo(Duration.ofMillis(3500));
+
+        clock.advance(Duration.ofSeconds(5));
+        assertThat(limiter.reserve(Duration.ZERO)).isZero();
+    }
+
+    @Test
+    void should_classify_endpoints() {
+        assertThat(EndpointFamily.of("/api/account/authenticate")).isEqualTo(EndpointFamily.AUTH);
+        assertThat(EndpointFamily.of("/acme/identity_/connect/token")).isEqualTo(EndpointFamily.AUTH);
+        assertThat(EndpointFamily.of("/acme/prod/odata/Robots")).isEqualTo(EndpointFamily.RELEASES);
+        assertThat(EndpointFamily.of("/odata/Jobs(42)")).isEqualTo(EndpointFamily.JOBS);
+        assertThat(EndpointFamily.of("/odata/QueueItems")).isEqualTo(EndpointFamily.QUEUES);
+        assertThat(EndpointFamily.of("/odata/Settings")).isNull();
+    }
+
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class RetryBudgetTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final RetryBudget budget = new RetryBudget(0.25, 1, clock);
+
+    @Test
+    void should_grant_the_floor_to_idle_tenants() {
+        assertThat(grantedRetries()).isEqualTo(10);
+
+        clock.advance(Duration.ofSeconds(3));
+
+        assertThat(grantedRetries()).isEqualTo(3);
+    }
+
+    @Test
+    void should_grant_the_ratio_of_the_requests_of_busy_tenants() {
+        for (int i = 0; i < 1000; i++) {
+            budget.onRequest();
+        }
+
+        assertThat(budget.capacity()).isEqualTo(260);
+        assertThat(grantedRetries()).isEqualTo(260);
+    }
+
+    @Test
+    void should_forget_requests_older_than_the_window() {
+        for (int i = 0; i < 1000; i++) {
+            budget.onRequest();
+        }
+        clock.advance(Duration.ofSeconds(5));
+        for (int i = 0; i < 500; i++) {
+            budget.onRequest();
+        }
+
+        clock.advance(Duration.ofSeconds(RetryBudget.WINDOW_SECONDS - 5));
+        assertThat(budget.capacity()).isEqualTo(135);
+
+        clock.advance(Duration.ofSeconds(RetryBudget.WINDOW_SECONDS));
+        assertThat(grantedRetries()).isEqualTo(10);
+    }
+
+    private int grantedRetries() {
+        int granted = 0;
+        while (budget.tryRetry()) {
+            granted++;
+        }
+        return granted;
+    }
+
+}
@@ -0,0 +1,167 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.client;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+
+import org.bonitasoft.engine.connector.uipath.UIPathService;
+import org.bonitasoft.engine.connector.uipath.converters.JsonMappers;
+import org.bonitasoft.engine.connector.uipath.converters.WrappedAttributeConverter;
+import org.bonitasoft.engine.connector.uipath.model.AddToQueueRequest;
+import org.bonitasoft.engine.connector.uipath.model.JobRequest;
+import org.bonitasoft.engine.connector.uipath.model.QueueItemRequest;
+import org.bonitasoft.engine.connector.uipath.model.StartInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.client.MappingBuilder;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+
+import okhttp3.OkHttpClient;
+import retrofit2.Retrofit;
+import retrofit2.converter.jackson.JacksonConverterFactory;
+
+@WireMockTest(httpPort = 8888)
+class RetryInterceptorTest {
+
+    private static final String ADD_QUEUE_ITEM = "/odata/Queues/UiPathODataSvc.AddQueueItem";
+
+    @BeforeEach
+    void setUp() {
+        ConnectorMetrics.reset();
+    }
+
+    @Test
+    void should_retry_lookups_on_transient_errors() throws Exception {
+        failOnceThenSucceed(WireMock.get(urlPathEqualTo("/odata/Jobs(42)")), "{\"Id\":42}");
+
+        retrofit2.Response<?> response = service(budget(1))
+                .job(Collections.emptyMap(), 42, null).execute();
+
+        assertThat(response.code()).isEqualTo(200);
+        WireMock.verify(2, WireMock.getRequestedFor(urlPathEqualTo("/odata/Jobs(42)")));
+        assertThat(ConnectorMetrics.count("retry.jobs.retries")).isEqualTo(1);
+    }
+
+    @Test
+    void should_never_retry_job_starts_reaching_the_orchestrator() throws Exception {
+        String path = "/odata/Jobs/UiPath.Server.Configuration.OData.StartJobs";
+        failOnceThenSucceed(WireMock.post(urlPathEqualTo(path)), "{\"value\":[]}");
+
+        retrofit2.Response<?> response = service(budget(1))
+                .startJob(Collections.emptyMap(), new JobRequest().setStartInfo(new StartInfo())).execute();
+
+        assertThat(response.code()).isEqualTo(503);
+        WireMock.verify(1, WireMock.postRequestedFor(urlPathEqualTo(path)));
+    }
+
+    @Test
+    void should_only_retry_throttled_requests_when_they_are_idempotent() throws Exception {
+        String path = "/odata/Jobs/UiPath.Server.Configuration.OData.StartJobs";
+        stubFor(WireMock.post(urlPathEqualTo(path)).willReturn(WireMock.aResponse().withStatus(429)));
+
+        retrofit2.Response<?> response = service(budget(1))
+                .startJob(Collections.emptyMap(), new JobRequest().setStartInfo(new StartInfo())).execute();
+
+        assertThat(response.code()).isEqualTo(429);
+        WireMock.verify(1, WireMock.postRequestedFor(urlPathEqualTo(path)));
+    }
+
+    @Test
+    void should_wait_at_least_retry_after_before_retrying_throttled_requests() throws Exception {
+        stubFor(WireMock.get(urlPathEqualTo("/odata/Jobs(42)")).inScenario("throttled")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(WireMock.aResponse().withStatus(429).withHeader("Retry-After", "1"))
+                .willSetStateTo("accepted"));
+        stubFor(WireMock.get(urlPathEqualTo("/odata/Jobs(42)")).inScenario("throttled")
+                .whenScenarioStateIs("accepted")
+                .willReturn(WireMock.aResponse().withHeader("Content-Type", "application/json")
+                        .withBody("{\"Id\":42}")));
+
+        long start = System.nanoTime();
+        retrofit2.Response<?> response = service(budget(1))
+                .job(Collections.emptyMap(), 42, null).execute();
+
+        assertThat(response.code()).isEqualTo(200);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(900));
+        WireMock.verify(2, WireMock.getRequestedFor(urlPathEqualTo("/odata/Jobs(42)")));
+    }
+
+    @Test
+    void should_retry_queue_items_only_when_they_have_a_reference() throws Exception {
+        stubFor(WireMock.post(urlPathEqualTo(ADD_QUEUE_ITEM)).willReturn(WireMock.aResponse().withStatus(503)));
+        UIPathService service = service(budget(2));
+
+        assertThat(service.addQueueItem(Collections.emptyMap(),
+                new AddToQueueRequest(new QueueItemRequest().setName("queue"))).execute().code())
+                        .isEqualTo(503);
+        WireMock.verify(1, WireMock.postRequestedFor(urlPathEqualTo(ADD_QUEUE_ITEM)));
+
+        assertThat(service.addQueueItem(Collections.emptyMap(),
+                new AddToQueueRequest(new QueueItemRequest().setName("queue").setReference("order-1")))
+                .execute().code()).isEqualTo(503);
+        WireMock.verify(4, WireMock.postRequestedFor(urlPathEqualTo(ADD_QUEUE_ITEM)));
+        assertThat(ConnectorMetrics.count("retry.queues.retries")).isEqualTo(2);
+        assertThat(ConnectorMetrics.count("retry.queues.exhausted")).isEqualTo(1);
+    }
+
+    @Test
+    void should_stop_retrying_when_the_budget_is_exhausted() throws Exception {
+        stubFor(WireMock.get(urlPathEqualTo("/odata/Robots")).willReturn(WireMock.aResponse().withStatus(502)));
+        UIPathService service = service(budget(1));
+
+        assertThat(service.robots(Collections.emptyMap(), null, null).execute().code()).isEqualTo(502);
+        assertThat(service.robots(Collections.emptyMap(), null, null).execute().code()).isEqualTo(502);
+
+        WireMock.verify(3, WireMock.getRequestedFor(urlPathEqualTo("/odata/Robots")));
+        assertThat(ConnectorMetrics.count("retry.releases.retries")).isEqualTo(1);
+        assertThat(ConnectorMetrics.count("retry.releases.budgetExhausted")).isEqualTo(2);
+    }
+
+    private static void failOnceThenSucceed(MappingBuilder request, String body) {
+        stubFor(request.inScenario("transient").whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(WireMock.aResponse().withStatus(503))
+                .willSetStateTo("recovered"));
+        stubFor(request.inScenario("transient").whenScenarioStateIs("recovered")
+                .willReturn(WireMock.aResponse().withHeader("Content-Type", "application/json").withBody(body)));
+    }
+
+    private static RetryBudget budget(int retries) {
+        return new RetryBudget(0, retries / 10d, Clock.systemUTC());
+    }
+
+    private static UIPathService service(RetryBudget budget) {
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(new RetryInterceptor(2,
+                        new Backoff(Duration.ofMillis(10), Duration.ofMillis(10), 2, 0), budget))
+                .build();
+        return new Retrofit.Builder()
+                .client(client)
+                .addConverterFactory(new WrappedAttributeConverter())
+                .addConverterFactory(JacksonConverterFactory.create(JsonMappers.mapper()))
+                .baseUrl("http://localhost:8888/")
+                .build()
+                .create(UIPathService.class);
+    }
+
+}
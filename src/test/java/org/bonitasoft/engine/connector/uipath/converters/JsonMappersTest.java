@@ -0,0 +1,44 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.converters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.bonitasoft.engine.connector.uipath.model.Job;
+import org.junit.jupiter.api.Test;
+
+class JsonMappersTest {
+
+    @Test
+    void should_share_readers_and_writers_of_model_types() {
+        for (Class<?> type : JsonMappers.MODEL_TYPES) {
+            assertThat(JsonMappers.reader(type)).isSameAs(JsonMappers.reader(type));
+            assertThat(JsonMappers.writer(type)).isSameAs(JsonMappers.writer(type));
+        }
+    }
+
+    @Test
+    void should_round_trip_a_job() throws Exception {
+        Job job = new Job();
+        job.setId("42");
+        job.setState("Successful");
+
+        String json = JsonMappers.writer(Job.class).writeValueAsString(job);
+        Job read = JsonMappers.reader(Job.class).readValue(json);
+
+        assertThat(read).isEqualTo(job);
+    }
+
+}
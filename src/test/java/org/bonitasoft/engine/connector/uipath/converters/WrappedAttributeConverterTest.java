@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2026 Bonitasoft S.A.
+ * Bonitasoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.engine.connector.uipath.converters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.bonitasoft.engine.connector.uipath.model.Robot;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class WrappedAttributeConverterTest {
+
+    private final WrappedAttributeConverter converter = new WrappedAttributeConverter(new ObjectMapper());
+
+    @Test
+    void should_read_wrapped_list_from_stream() throws Exception {
+        String json = "{\"@odata.context\":\"string\",\"@odata.count\":2,"
+                + "\"extra\":{\"value\":[{\"Name\":\"ignored\"}]},"
+                + "\"value\":[{\"Name\":\"optimus\",\"Id\":5,\"Environments\":[{}]},{\"Name\":\"goldorak\",\"Id\":6}]}";
+
+        List<Robot> robots = converter.listFromJson(stream(json), "value", Robot.class);
+
+        assertThat(robots).extracting(Robot::getName).containsExactly("optimus", "goldorak");
+        assertThat(robots).extracting(Robot::getId).containsExactly(5, 6);
+    }
+
+    @Test
+    void should_read_empty_list() throws Exception {
+        assertThat(converter.listFromJson("{\"value\":[]}", "value", Robot.class)).isEmpty();
+    }
+
+    @Test
+    void should_fail_when_list_attribute_is_missing() {
+        assertThrows(IOException.class,
+                () -> converter.listFromJson(stream("{\"@odata.context\":\"string\"}"), "value", Robot.class));
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+}